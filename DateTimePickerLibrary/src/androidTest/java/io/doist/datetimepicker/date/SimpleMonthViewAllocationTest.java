@@ -0,0 +1,69 @@
+package io.doist.datetimepicker.date;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.view.ContextThemeWrapper;
+import android.view.View;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Calendar;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that drawing a bound {@link SimpleMonthView} again allocates nothing, on a device.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SimpleMonthViewAllocationTest {
+    private static final int SIZE = 1080;
+    private static final int WARM_UP_DRAWS = 10;
+    private static final int DRAWS = 100;
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void redrawingAllocatesNothing() {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final Context context = new ContextThemeWrapper(
+                        InstrumentationRegistry.getTargetContext(),
+                        android.support.v7.appcompat.R.style.Theme_AppCompat_Light);
+                final Calendar min = Calendar.getInstance();
+                min.set(2017, Calendar.JANUARY, 1);
+                final Calendar max = Calendar.getInstance();
+                max.set(2017, Calendar.DECEMBER, 31);
+                final SimpleMonthAdapter adapter = new SimpleMonthAdapter(context);
+                adapter.setRange(min, max);
+                adapter.setFirstDayOfWeek(Calendar.SUNDAY);
+
+                final SimpleMonthView view = adapter.createView();
+                adapter.bindView(Calendar.MAY, view);
+                view.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                             View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+                view.layout(0, 0, SIZE, SIZE);
+                final Canvas canvas =
+                        new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+                for (int i = 0; i < WARM_UP_DRAWS; i++) {
+                    view.draw(canvas);
+                }
+
+                final int formatCount = DayNumberCache.getFormatCount();
+                Debug.resetThreadAllocCount();
+                Debug.startAllocCounting();
+                for (int i = 0; i < DRAWS; i++) {
+                    view.draw(canvas);
+                }
+                Debug.stopAllocCounting();
+
+                assertEquals(0, Debug.getThreadAllocCount());
+                assertEquals(formatCount, DayNumberCache.getFormatCount());
+            }
+        });
+    }
+}
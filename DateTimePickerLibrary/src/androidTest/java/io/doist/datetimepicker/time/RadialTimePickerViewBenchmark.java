@@ -0,0 +1,209 @@
+package io.doist.datetimepicker.time;
+
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.os.SystemClock;
+import android.support.test.InstrumentationRegistry;
+import android.support.test.runner.AndroidJUnit4;
+import android.util.Log;
+import android.view.ContextThemeWrapper;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.accessibility.AccessibilityNodeProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Times the drawing and accessibility nodes of {@link RadialTimePickerView} on a device. Results
+ * are logged under {@link #TAG}, run with:
+ * <pre>
+ * ./gradlew :DateTimePickerLibrary:connectedAndroidTest \
+ *     -Pandroid.testInstrumentationRunnerArguments.class=\
+ *     io.doist.datetimepicker.time.RadialTimePickerViewBenchmark
+ * adb logcat -s RadialPickerBenchmark
+ * </pre>
+ * Views are drawn into a software canvas on the main thread, so timings include rasterization,
+ * and are meant to be compared between builds on the same device.
+ */
+@RunWith(AndroidJUnit4.class)
+public class RadialTimePickerViewBenchmark {
+    private static final String TAG = "RadialPickerBenchmark";
+
+    private static final int SIZE = 1080;
+    private static final int WARM_UP_RUNS = 10;
+    private static final int RUNS = 50;
+    private static final long FRAME_MILLIS = 16;
+
+    // A drag goes around the clock in this many frames, 2 degrees per frame.
+    private static final int DRAG_FRAMES = 180;
+    // Distance of the minute numbers from the center with the default resources.
+    private static final float MINUTES_RADIUS = SIZE / 2 * 0.82f * 0.81f;
+
+    // Virtual view ids of the hours, as made by the accessibility helper of the view.
+    private static final int HOUR_TYPE = 1;
+    private static final int VALUE_SHIFT = 8;
+
+    private RadialTimePickerView mView;
+    private Canvas mCanvas;
+
+    @Before
+    public void setUp() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final Context context = new ContextThemeWrapper(
+                        InstrumentationRegistry.getTargetContext(),
+                        android.support.v7.appcompat.R.style.Theme_AppCompat_Light);
+                mView = new RadialTimePickerView(context);
+                mView.initialize(10, 32, false);
+                mView.measure(View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY),
+                              View.MeasureSpec.makeMeasureSpec(SIZE, View.MeasureSpec.EXACTLY));
+                mView.layout(0, 0, SIZE, SIZE);
+                mCanvas = new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+            }
+        });
+    }
+
+    /**
+     * Times every frame of the transition from hours to minutes, stepping its animator by hand.
+     */
+    @Test
+    public void hoursToMinutesTransition() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                final int framesPerRun = (int) (getTransitionDuration() / FRAME_MILLIS) + 1;
+                final long[] frameNanos = new long[RUNS * framesPerRun];
+                for (int run = -WARM_UP_RUNS; run < RUNS; run++) {
+                    mView.showHours(false);
+                    mView.showMinutes(true);
+                    final ValueAnimator transition = mView.getTransition();
+                    for (int frame = 0; frame < framesPerRun; frame++) {
+                        transition.setCurrentPlayTime(frame * FRAME_MILLIS);
+                        final long start = System.nanoTime();
+                        mView.draw(mCanvas);
+                        final long duration = System.nanoTime() - start;
+                        if (run >= 0) {
+                            frameNanos[run * framesPerRun + frame] = duration;
+                        }
+                    }
+                    transition.end();
+                }
+                report("hours to minutes transition frame", frameNanos);
+            }
+        });
+    }
+
+    /**
+     * Times every frame of dragging the minutes hand around the clock: handling the move, which
+     * the view does once per frame, and drawing.
+     */
+    @Test
+    public void minutesDrag() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                mView.showMinutes(false);
+                final long[] frameNanos = new long[RUNS * DRAG_FRAMES];
+                for (int run = -WARM_UP_RUNS; run < RUNS; run++) {
+                    final long downTime = SystemClock.uptimeMillis();
+                    dispatchTouchEvent(downTime, 0, MotionEvent.ACTION_DOWN, 0);
+                    for (int frame = 0; frame < DRAG_FRAMES; frame++) {
+                        final long start = System.nanoTime();
+                        dispatchTouchEvent(downTime, (frame + 1) * FRAME_MILLIS,
+                                           MotionEvent.ACTION_MOVE, (frame + 1) * 2);
+                        mView.handlePendingMove();
+                        mView.draw(mCanvas);
+                        final long duration = System.nanoTime() - start;
+                        if (run >= 0) {
+                            frameNanos[run * DRAG_FRAMES + frame] = duration;
+                        }
+                    }
+                    dispatchTouchEvent(downTime, (DRAG_FRAMES + 1) * FRAME_MILLIS,
+                                       MotionEvent.ACTION_CANCEL, 0);
+                }
+                report("minutes drag frame", frameNanos);
+            }
+        });
+    }
+
+    /**
+     * Times populating the accessibility nodes of the 24 hours after a layout, as an accessibility
+     * service does when exploring the clock. The first node computes the bounds of all of them.
+     */
+    @Test
+    public void hourNodesPopulation() {
+        runOnMainSync(new Runnable() {
+            @Override
+            public void run() {
+                mView.initialize(10, 32, true);
+                final AccessibilityNodeProvider provider = mView.getAccessibilityNodeProvider();
+                assertNotNull(provider);
+                final long[] populationNanos = new long[RUNS];
+                for (int run = -WARM_UP_RUNS; run < RUNS; run++) {
+                    // Laying out again invalidates the bounds.
+                    mView.layout(0, 0, SIZE, SIZE);
+                    final long start = System.nanoTime();
+                    for (int hour = 0; hour < 24; hour++) {
+                        provider.createAccessibilityNodeInfo(HOUR_TYPE | hour << VALUE_SHIFT)
+                                .recycle();
+                    }
+                    final long duration = System.nanoTime() - start;
+                    if (run >= 0) {
+                        populationNanos[run] = duration;
+                    }
+                }
+                report("24 hour nodes population", populationNanos);
+            }
+        });
+    }
+
+    /**
+     * Sends a touch event on the minute numbers, at {@code degrees} clockwise from 12 o'clock.
+     */
+    private void dispatchTouchEvent(long downTime, long offsetMillis, int action, int degrees) {
+        final double radians = Math.toRadians(degrees);
+        final float x = SIZE / 2 + MINUTES_RADIUS * (float) Math.sin(radians);
+        final float y = SIZE / 2 - MINUTES_RADIUS * (float) Math.cos(radians);
+        final MotionEvent event =
+                MotionEvent.obtain(downTime, downTime + offsetMillis, action, x, y, 0);
+        mView.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    private long getTransitionDuration() {
+        mView.showMinutes(true);
+        final ValueAnimator transition = mView.getTransition();
+        transition.end();
+        mView.showHours(false);
+        return transition.getDuration();
+    }
+
+    private static void runOnMainSync(Runnable runnable) {
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(runnable);
+    }
+
+    private static void report(String name, long[] nanos) {
+        assertTrue(nanos.length > 0);
+        final long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long n : sorted) {
+            total += n;
+        }
+        Log.i(TAG, String.format("%s: median %.1f us, 90th percentile %.1f us, mean %.1f us, "
+                                         + "%d samples", name,
+                                 sorted[sorted.length / 2] / 1000f,
+                                 sorted[sorted.length * 9 / 10] / 1000f,
+                                 total / 1000f / sorted.length, sorted.length));
+    }
+}
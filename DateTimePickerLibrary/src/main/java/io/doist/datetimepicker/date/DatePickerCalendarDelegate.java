@@ -44,6 +44,7 @@ import java.util.HashSet;
 import java.util.Locale;
 
 import io.doist.datetimepicker.R;
+import io.doist.datetimepicker.util.DateMath;
 import io.doist.datetimepicker.util.DateTimeUtilsCompat;
 import io.doist.datetimepicker.util.ViewStateUtils;
 
@@ -80,7 +81,7 @@ class DatePickerCalendarDelegate extends DatePicker.AbstractDatePickerDelegate i
     private TextView mHeaderMonthTextView;
     private TextView mHeaderDayOfMonthTextView;
     private TextView mHeaderYearTextView;
-    private DayPickerView mDayPickerView;
+    private DayPicker mDayPickerView;
     private YearPickerView mYearPickerView;
 
     private boolean mIsEnabled = true;
@@ -178,14 +179,18 @@ class DatePickerCalendarDelegate extends DatePicker.AbstractDatePickerDelegate i
         mHeaderYearTextView.setTextColor(ViewStateUtils.addStateIfMissing(
                 mHeaderYearTextView.getTextColors(), android.R.attr.state_selected, headerSelectedTextColor));
 
-        mDayPickerView = new DayPickerView(mContext);
+        if (a.getBoolean(R.styleable.DatePicker_calendarUseRecyclerView, false)) {
+            mDayPickerView = new RecyclerDayPickerView(mContext);
+        } else {
+            mDayPickerView = new DayPickerView(mContext);
+        }
         mDayPickerView.setFirstDayOfWeek(mFirstDayOfWeek);
         mDayPickerView.setMinDate(mMinDate.getTimeInMillis());
         mDayPickerView.setMaxDate(mMaxDate.getTimeInMillis());
         mDayPickerView.setDate(mCurrentDate.getTimeInMillis());
-        mDayPickerView.setOnDaySelectedListener(new DayPickerView.OnDaySelectedListener() {
+        mDayPickerView.setOnDaySelectedListener(new DayPicker.OnDaySelectedListener() {
             @Override
-            public void onDaySelected(DayPickerView view, Calendar day) {
+            public void onDaySelected(DayPicker view, Calendar day) {
                 mCurrentDate.setTimeInMillis(day.getTimeInMillis());
                 onDateChanged(true, true);
             }
@@ -211,7 +216,7 @@ class DatePickerCalendarDelegate extends DatePicker.AbstractDatePickerDelegate i
         mSelectYear = res.getString(R.string.select_year);
 
         mAnimator = mainView.findViewById(R.id.animator);
-        mAnimator.addView(mDayPickerView);
+        mAnimator.addView((View) mDayPickerView);
         mAnimator.addView(mYearPickerView);
         mAnimator.setDateMillis(mCurrentDate.getTimeInMillis());
 
@@ -583,34 +588,12 @@ class DatePickerCalendarDelegate extends DatePicker.AbstractDatePickerDelegate i
     //      e.g. Switching from 2012 to 2013 when Feb 29, 2012 is selected -> Feb 28, 2013
     private void adjustDayInMonthIfNeeded(int month, int year) {
         int day = mCurrentDate.get(Calendar.DAY_OF_MONTH);
-        int daysInMonth = getDaysInMonth(month, year);
+        int daysInMonth = DateMath.getDaysInMonth(month, year);
         if (day > daysInMonth) {
             mCurrentDate.set(Calendar.DAY_OF_MONTH, daysInMonth);
         }
     }
 
-    public static int getDaysInMonth(int month, int year) {
-        switch (month) {
-            case Calendar.JANUARY:
-            case Calendar.MARCH:
-            case Calendar.MAY:
-            case Calendar.JULY:
-            case Calendar.AUGUST:
-            case Calendar.OCTOBER:
-            case Calendar.DECEMBER:
-                return 31;
-            case Calendar.APRIL:
-            case Calendar.JUNE:
-            case Calendar.SEPTEMBER:
-            case Calendar.NOVEMBER:
-                return 30;
-            case Calendar.FEBRUARY:
-                return (year % 4 == 0) ? 29 : 28;
-            default:
-                throw new IllegalArgumentException("Invalid Month");
-        }
-    }
-
     @Override
     public void registerOnDateChangedListener(OnDateChangedListener listener) {
         mListeners.add(listener);
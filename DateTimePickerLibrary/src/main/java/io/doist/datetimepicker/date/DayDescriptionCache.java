@@ -0,0 +1,57 @@
+package io.doist.datetimepicker.date;
+
+import android.text.format.DateFormat;
+import android.util.LruCache;
+
+import java.util.Calendar;
+import java.util.Locale;
+
+import io.doist.datetimepicker.util.DateMath;
+
+/**
+ * Process-wide LRU cache of the spoken descriptions of the days of a month, as announced by the
+ * accessibility support of {@link SimpleMonthView}. Descriptions are formatted once per month and
+ * locale.
+ */
+final class DayDescriptionCache {
+    private static final int MAX_SIZE = 60;
+
+    // Components are ordered by descending specificity, since the description is spoken.
+    private static final String DATE_FORMAT = "dd MMMM yyyy";
+
+    private static final LruCache<Integer, CharSequence[]> sDescriptions = new LruCache<>(MAX_SIZE);
+
+    private static Calendar sCalendar;
+    private static Locale sLocale;
+
+    private DayDescriptionCache() {
+    }
+
+    /**
+     * Returns the descriptions of the days of {@code month} of {@code year}, indexed by day
+     * (1-31). The returned array is shared and must not be modified.
+     */
+    static synchronized CharSequence[] getDescriptions(int year, int month) {
+        final Locale locale = Locale.getDefault();
+        if (!locale.equals(sLocale)) {
+            sDescriptions.evictAll();
+            sCalendar = Calendar.getInstance(locale);
+            sLocale = locale;
+        }
+
+        final Integer key = year * 12 + month;
+        CharSequence[] descriptions = sDescriptions.get(key);
+        if (descriptions == null) {
+            sCalendar.clear();
+            sCalendar.set(year, month, 1);
+            final int daysInMonth = DateMath.getDaysInMonth(month, year);
+            descriptions = new CharSequence[daysInMonth + 1];
+            for (int day = 1; day <= daysInMonth; day++) {
+                sCalendar.set(Calendar.DAY_OF_MONTH, day);
+                descriptions[day] = DateFormat.format(DATE_FORMAT, sCalendar.getTimeInMillis());
+            }
+            sDescriptions.put(key, descriptions);
+        }
+        return descriptions;
+    }
+}
@@ -0,0 +1,45 @@
+package io.doist.datetimepicker.date;
+
+import android.support.annotation.VisibleForTesting;
+
+import java.util.Locale;
+
+/**
+ * Process-wide cache of the day of month labels drawn by {@link SimpleMonthView}. The labels are
+ * formatted once per locale (which also determines the digits used), so drawing a month doesn't
+ * allocate any strings.
+ */
+final class DayNumberCache {
+    private static final int MAX_DAY_OF_MONTH = 31;
+
+    private static Locale sLocale;
+    private static String[] sDayNumbers;
+
+    // Number of labels formatted so far. Remains unchanged while drawing with a warm cache.
+    private static int sFormatCount;
+
+    private DayNumberCache() {
+    }
+
+    /**
+     * Returns the labels for the days of the month in {@code locale}, indexed by day (1-31).
+     * The returned array is shared and must not be modified.
+     */
+    static synchronized String[] getDayNumbers(Locale locale) {
+        if (sDayNumbers == null || !locale.equals(sLocale)) {
+            final String[] dayNumbers = new String[MAX_DAY_OF_MONTH + 1];
+            for (int day = 1; day <= MAX_DAY_OF_MONTH; day++) {
+                dayNumbers[day] = String.format(locale, "%d", day);
+            }
+            sFormatCount += MAX_DAY_OF_MONTH;
+            sLocale = locale;
+            sDayNumbers = dayNumbers;
+        }
+        return sDayNumbers;
+    }
+
+    @VisibleForTesting
+    static synchronized int getFormatCount() {
+        return sFormatCount;
+    }
+}
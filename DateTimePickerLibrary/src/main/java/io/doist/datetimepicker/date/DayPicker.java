@@ -0,0 +1,58 @@
+package io.doist.datetimepicker.date;
+
+import android.content.res.ColorStateList;
+
+import java.util.Calendar;
+
+/**
+ * A scrolling list of months with selectable days, as used by {@link DatePickerCalendarDelegate}.
+ * Implementations are views.
+ *
+ * @see DayPickerView
+ * @see RecyclerDayPickerView
+ */
+interface DayPicker {
+    /**
+     * Sets the currently selected date to the specified timestamp, and jumps immediately to it.
+     */
+    void setDate(long timeInMillis);
+
+    long getDate();
+
+    void setFirstDayOfWeek(int firstDayOfWeek);
+
+    int getFirstDayOfWeek();
+
+    void setMinDate(long timeInMillis);
+
+    long getMinDate();
+
+    void setMaxDate(long timeInMillis);
+
+    long getMaxDate();
+
+    /**
+     * Sets the listener to call when the user selects a day.
+     *
+     * @param listener The listener to call.
+     */
+    void setOnDaySelectedListener(OnDaySelectedListener listener);
+
+    void setCalendarTextColor(ColorStateList colors);
+
+    void setCalendarTextAppearance(int resId);
+
+    /**
+     * Gets the position of the month that is most prominently displayed.
+     */
+    int getMostVisiblePosition();
+
+    /**
+     * Jumps to the month at {@code position} once laid out.
+     */
+    void postSetSelection(int position);
+
+    interface OnDaySelectedListener {
+        void onDaySelected(DayPicker view, Calendar day);
+    }
+}
@@ -34,12 +34,13 @@ import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Locale;
 
+import io.doist.datetimepicker.util.DateMath;
 import io.doist.datetimepicker.util.MathUtils;
 
 /**
  * This displays a list of months in a calendar format with selectable days.
  */
-class DayPickerView extends ListView implements AbsListView.OnScrollListener {
+class DayPickerView extends ListView implements DayPicker, AbsListView.OnScrollListener {
     private static final String TAG = "DayPickerView";
 
     // How long the GoTo fling animation should last
@@ -65,6 +66,10 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
 
     private Calendar mTempCalendar;
 
+    // range as epoch months, see DateMath#toEpochMonth
+    private int mMinEpochMonth;
+    private int mMaxEpochMonth;
+
     private OnDaySelectedListener mOnDaySelectedListener;
 
     // which month should be displayed/highlighted [0-11]
@@ -76,6 +81,10 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
 
     private boolean mPerformingScroll;
 
+    // used for prefetching the months in the direction of the scroll
+    private int mPreviousFirstVisibleItem = -1;
+    private int mScrollDirection;
+
     public DayPickerView(Context context) {
         super(context);
 
@@ -94,6 +103,7 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
      * immediately to the new date. To animate to the new date, use
      * {@link #setDate(long, boolean, boolean)}.
      */
+    @Override
     public void setDate(long timeInMillis) {
         setDate(timeInMillis, false, true);
     }
@@ -102,32 +112,39 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
         goTo(timeInMillis, animate, true, forceScroll);
     }
 
+    @Override
     public long getDate() {
         return mSelectedDay.getTimeInMillis();
     }
 
+    @Override
     public void setFirstDayOfWeek(int firstDayOfWeek) {
         mAdapter.setFirstDayOfWeek(firstDayOfWeek);
     }
 
+    @Override
     public int getFirstDayOfWeek() {
         return mAdapter.getFirstDayOfWeek();
     }
 
+    @Override
     public void setMinDate(long timeInMillis) {
         mMinDate.setTimeInMillis(timeInMillis);
         onRangeChanged();
     }
 
+    @Override
     public long getMinDate() {
         return mMinDate.getTimeInMillis();
     }
 
+    @Override
     public void setMaxDate(long timeInMillis) {
         mMaxDate.setTimeInMillis(timeInMillis);
         onRangeChanged();
     }
 
+    @Override
     public long getMaxDate() {
         return mMaxDate.getTimeInMillis();
     }
@@ -137,6 +154,10 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
      */
     public void onRangeChanged() {
         mAdapter.setRange(mMinDate, mMaxDate);
+        mMinEpochMonth = DateMath.toEpochMonth(
+                mMinDate.get(Calendar.YEAR), mMinDate.get(Calendar.MONTH));
+        mMaxEpochMonth = DateMath.toEpochMonth(
+                mMaxDate.get(Calendar.YEAR), mMaxDate.get(Calendar.MONTH));
 
         // Changing the min/max date changes the selection position since we
         // don't really have stable IDs. Jumps immediately to the new position.
@@ -148,10 +169,30 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
      *
      * @param listener The listener to call.
      */
+    @Override
     public void setOnDaySelectedListener(OnDaySelectedListener listener) {
         mOnDaySelectedListener = listener;
     }
 
+    /**
+     * Sets how many months ahead of the scroll direction are prepared on a background thread.
+     * Defaults to {@value MonthPrefetcher#DEFAULT_DEPTH}, 0 disables prefetching.
+     */
+    public void setPrefetchDepth(int depth) {
+        mAdapter.setPrefetchDepth(depth);
+    }
+
+    public int getPrefetchDepth() {
+        return mAdapter.getPrefetchDepth();
+    }
+
+    /**
+     * Returns the fraction of months that were already prepared when scrolled on screen.
+     */
+    public float getPrefetchHitRate() {
+        return mAdapter.getPrefetchHitRate();
+    }
+
     /*
      * Sets all the required fields for the list view. Override this method to
      * set a different list view behavior.
@@ -172,16 +213,11 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
         setFriction(ViewConfiguration.getScrollFriction());
     }
 
-    private int getDiffMonths(Calendar start, Calendar end) {
-        final int diffYears = end.get(Calendar.YEAR) - start.get(Calendar.YEAR);
-        final int diffMonths = end.get(Calendar.MONTH) - start.get(Calendar.MONTH) + 12 * diffYears;
-        return diffMonths;
-    }
-
     private int getPositionFromDay(long timeInMillis) {
-        final int diffMonthMax = getDiffMonths(mMinDate, mMaxDate);
-        final int diffMonth = getDiffMonths(mMinDate, getTempCalendarForTime(timeInMillis));
-        return MathUtils.constrain(diffMonth, 0, diffMonthMax);
+        final Calendar day = getTempCalendarForTime(timeInMillis);
+        final int epochMonth =
+                DateMath.toEpochMonth(day.get(Calendar.YEAR), day.get(Calendar.MONTH));
+        return MathUtils.constrain(epochMonth - mMinEpochMonth, 0, mMaxEpochMonth - mMinEpochMonth);
     }
 
     private Calendar getTempCalendarForTime(long timeInMillis) {
@@ -259,6 +295,7 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
         return false;
     }
 
+    @Override
     public void postSetSelection(final int position) {
         clearFocus();
         post(new Runnable() {
@@ -284,6 +321,21 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
         }
 
         mPreviousScrollState = mCurrentScrollState;
+
+        // Prefetch the months about to appear whenever a new one does.
+        if (mPreviousFirstVisibleItem != -1 && firstVisibleItem != mPreviousFirstVisibleItem) {
+            mScrollDirection = firstVisibleItem > mPreviousFirstVisibleItem ? 1 : -1;
+            prefetch(firstVisibleItem, visibleItemCount);
+        }
+        mPreviousFirstVisibleItem = firstVisibleItem;
+    }
+
+    private void prefetch(int firstVisibleItem, int visibleItemCount) {
+        if (mScrollDirection > 0) {
+            mAdapter.prefetch(firstVisibleItem + visibleItemCount - 1, mScrollDirection);
+        } else if (mScrollDirection < 0) {
+            mAdapter.prefetch(firstVisibleItem, mScrollDirection);
+        }
     }
 
     /**
@@ -304,11 +356,13 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
         mScrollStateChangedRunnable.doScrollStateChange(view, scrollState);
     }
 
-    void setCalendarTextColor(ColorStateList colors) {
+    @Override
+    public void setCalendarTextColor(ColorStateList colors) {
         mAdapter.setCalendarTextColor(colors);
     }
 
-    void setCalendarTextAppearance(int resId) {
+    @Override
+    public void setCalendarTextAppearance(int resId) {
         mAdapter.setCalendarTextAppearance(resId);
     }
 
@@ -336,6 +390,10 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
         @Override
         public void run() {
             mCurrentScrollState = mNewState;
+            if (mNewState == OnScrollListener.SCROLL_STATE_FLING) {
+                // A fling is about to go through several months, get them ready right away.
+                prefetch(getFirstVisiblePosition(), getChildCount());
+            }
             if (Log.isLoggable(TAG, Log.DEBUG)) {
                 Log.d(TAG,
                       "new scroll state: " + mNewState + " old state: " + mPreviousScrollState);
@@ -376,6 +434,7 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
     /**
      * Gets the position of the view that is most prominently displayed within the list view.
      */
+    @Override
     public int getMostVisiblePosition() {
         final int firstPosition = getFirstVisiblePosition();
         final int height = getHeight();
@@ -504,11 +563,10 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
         }
 
         // Figure out what month is showing.
-        final int firstVisiblePosition = getFirstVisiblePosition();
-        final int month = firstVisiblePosition % 12;
-        final int year = firstVisiblePosition / 12 + mMinDate.get(Calendar.YEAR);
+        final int epochMonth = mMinEpochMonth + getFirstVisiblePosition();
         final Calendar day = Calendar.getInstance();
-        day.set(year, month, 1);
+        day.set(DateMath.getYearOfEpochMonth(epochMonth), DateMath.getMonthOfEpochMonth(epochMonth),
+                1);
 
         // Scroll either forward or backward one month.
         if (action == AccessibilityNodeInfo.ACTION_SCROLL_FORWARD) {
@@ -539,10 +597,6 @@ class DayPickerView extends ListView implements AbsListView.OnScrollListener {
         return true;
     }
 
-    public interface OnDaySelectedListener {
-        void onDaySelected(DayPickerView view, Calendar day);
-    }
-
     private final SimpleMonthAdapter.OnDaySelectedListener
             mProxyOnDaySelectedListener = new SimpleMonthAdapter.OnDaySelectedListener() {
         @Override
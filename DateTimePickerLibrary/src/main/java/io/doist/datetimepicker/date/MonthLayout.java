@@ -0,0 +1,52 @@
+package io.doist.datetimepicker.date;
+
+/**
+ * Immutable grid layout of a month, as displayed by {@link SimpleMonthView}. Instances are created
+ * and memoized by {@link MonthLayoutEngine}.
+ */
+final class MonthLayout {
+    /** The year. */
+    final int year;
+
+    /** The month, {@link java.util.Calendar#JANUARY} through {@link java.util.Calendar#DECEMBER}. */
+    final int month;
+
+    /** The first day of the week, {@link java.util.Calendar#SUNDAY} through {@link java.util.Calendar#SATURDAY}. */
+    final int weekStart;
+
+    /** The day of the week of the first day of the month. */
+    final int dayOfWeekStart;
+
+    /** The number of empty cells before the first day of the month. */
+    final int dayOffset;
+
+    /** The number of rows (weeks) needed to display the month. */
+    final int numRows;
+
+    /** The number of days in the month. */
+    final int daysInMonth;
+
+    /** The day of the month that is today, or -1 if today is not in this month. */
+    final int today;
+
+    /** The first enabled day of the month. */
+    final int enabledDayStart;
+
+    /** The last enabled day of the month. */
+    final int enabledDayEnd;
+
+    MonthLayout(int year, int month, int weekStart, int dayOfWeekStart, int daysInMonth, int today,
+                int enabledDayStart, int enabledDayEnd) {
+        this.year = year;
+        this.month = month;
+        this.weekStart = weekStart;
+        this.dayOfWeekStart = dayOfWeekStart;
+        this.daysInMonth = daysInMonth;
+        this.today = today;
+        this.enabledDayStart = enabledDayStart;
+        this.enabledDayEnd = enabledDayEnd;
+
+        dayOffset = (dayOfWeekStart < weekStart ? (dayOfWeekStart + 7) : dayOfWeekStart) - weekStart;
+        numRows = (dayOffset + daysInMonth + 6) / 7;
+    }
+}
@@ -0,0 +1,167 @@
+package io.doist.datetimepicker.date;
+
+import java.util.Calendar;
+
+import io.doist.datetimepicker.util.DateMath;
+
+/**
+ * Computes and memoizes the {@link MonthLayout} of each month within a date range, per first day
+ * of the week. Only uses plain Java, and is thread-safe so layouts can be computed ahead of time
+ * off the UI thread.
+ */
+final class MonthLayoutEngine {
+    private final Calendar mCalendar = Calendar.getInstance();
+
+    private int mMinYear;
+    private int mMinMonth;
+    private int mMinDay;
+    private int mMaxYear;
+    private int mMaxMonth;
+    private int mMaxDay;
+
+    // Today's date, and when it stops being today.
+    private int mTodayYear;
+    private int mTodayMonth;
+    private int mTodayDay;
+    private long mTodayEndMillis;
+
+    // Memoized layouts indexed by first day of the week, then by month offset from the minimum.
+    private final MonthLayout[][] mLayouts = new MonthLayout[Calendar.SATURDAY + 1][];
+
+    MonthLayoutEngine() {
+        setRange(1900, Calendar.JANUARY, 1, 2100, Calendar.DECEMBER, 31);
+    }
+
+    /**
+     * Sets the range of selectable dates, dropping all memoized layouts.
+     */
+    synchronized void setRange(int minYear, int minMonth, int minDay,
+                               int maxYear, int maxMonth, int maxDay) {
+        mMinYear = minYear;
+        mMinMonth = minMonth;
+        mMinDay = minDay;
+        mMaxYear = maxYear;
+        mMaxMonth = maxMonth;
+        mMaxDay = maxDay;
+        clear();
+    }
+
+    /**
+     * Returns the layout of {@code month} of {@code year}.
+     *
+     * @param weekStart which day the week should start on. {@link Calendar#SUNDAY} through
+     *        {@link Calendar#SATURDAY}, or any other value to use the locale's default.
+     */
+    synchronized MonthLayout get(int year, int month, int weekStart) {
+        weekStart = resolveWeekStart(weekStart);
+
+        final long now = System.currentTimeMillis();
+        if (now >= mTodayEndMillis) {
+            updateToday(now);
+        }
+
+        final int index = getIndex(year, month);
+        final int count = getCount();
+        if (index < 0 || index >= count) {
+            return computeLayout(year, month, weekStart);
+        }
+
+        MonthLayout[] layouts = mLayouts[weekStart];
+        if (layouts == null) {
+            layouts = new MonthLayout[count];
+            mLayouts[weekStart] = layouts;
+        }
+        MonthLayout layout = layouts[index];
+        if (layout == null) {
+            layout = computeLayout(year, month, weekStart);
+            layouts[index] = layout;
+        }
+        return layout;
+    }
+
+    /**
+     * Returns whether {@code month} of {@code year} is within the range.
+     */
+    synchronized boolean isInRange(int year, int month) {
+        final int index = getIndex(year, month);
+        return index >= 0 && index < getCount();
+    }
+
+    /**
+     * Returns whether the layout of {@code month} of {@code year} is already computed, i.e. if
+     * {@link #get(int, int, int)} would return immediately.
+     */
+    synchronized boolean isMemoized(int year, int month, int weekStart) {
+        if (System.currentTimeMillis() >= mTodayEndMillis) {
+            return false;
+        }
+        final MonthLayout[] layouts = mLayouts[resolveWeekStart(weekStart)];
+        final int index = getIndex(year, month);
+        return layouts != null && index >= 0 && index < layouts.length && layouts[index] != null;
+    }
+
+    private int resolveWeekStart(int weekStart) {
+        if (weekStart < Calendar.SUNDAY || weekStart > Calendar.SATURDAY) {
+            return mCalendar.getFirstDayOfWeek();
+        }
+        return weekStart;
+    }
+
+    private int getIndex(int year, int month) {
+        return DateMath.getMonthsBetween(mMinYear, mMinMonth, year, month);
+    }
+
+    private int getCount() {
+        return DateMath.getMonthsBetween(mMinYear, mMinMonth, mMaxYear, mMaxMonth) + 1;
+    }
+
+    private MonthLayout computeLayout(int year, int month, int weekStart) {
+        final int dayOfWeekStart = DateMath.getDayOfWeekOfFirst(month, year);
+        final int daysInMonth = DateMath.getDaysInMonth(month, year);
+
+        final int today;
+        if (year == mTodayYear && month == mTodayMonth) {
+            today = mTodayDay;
+        } else {
+            today = -1;
+        }
+
+        final int enabledDayStart;
+        if (year == mMinYear && month == mMinMonth) {
+            enabledDayStart = mMinDay;
+        } else {
+            enabledDayStart = 1;
+        }
+
+        final int enabledDayEnd;
+        if (year == mMaxYear && month == mMaxMonth) {
+            enabledDayEnd = mMaxDay;
+        } else {
+            enabledDayEnd = 31;
+        }
+
+        return new MonthLayout(year, month, weekStart, dayOfWeekStart, daysInMonth, today,
+                               enabledDayStart, enabledDayEnd);
+    }
+
+    private void updateToday(long now) {
+        mCalendar.setTimeInMillis(now);
+        mTodayYear = mCalendar.get(Calendar.YEAR);
+        mTodayMonth = mCalendar.get(Calendar.MONTH);
+        mTodayDay = mCalendar.get(Calendar.DAY_OF_MONTH);
+
+        mCalendar.clear();
+        mCalendar.set(mTodayYear, mTodayMonth, mTodayDay);
+        mCalendar.add(Calendar.DAY_OF_MONTH, 1);
+        mTodayEndMillis = mCalendar.getTimeInMillis();
+
+        // The layouts of the months containing the previous and new today are stale.
+        clear();
+    }
+
+    private void clear() {
+        for (int i = 0; i < mLayouts.length; i++) {
+            mLayouts[i] = null;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package io.doist.datetimepicker.date;
+
+import android.content.Context;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Computes the layout, title and accessibility descriptions of the months about to be scrolled to
+ * on a background thread, so that {@link SimpleMonthAdapter} can bind them without formatting or
+ * calendar math on the UI thread.
+ */
+final class MonthPrefetcher {
+    static final int DEFAULT_DEPTH = 3;
+
+    // Shared by all pickers. Prefetching is cheap, so a single low priority thread is enough.
+    private static final ExecutorService sExecutor =
+            Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    final Thread thread = new Thread(r, "MonthPrefetcher");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+
+    private final Context mContext;
+    private final MonthLayoutEngine mLayoutEngine;
+
+    private int mDepth = DEFAULT_DEPTH;
+
+    // Incremented on every request, so that superseded prefetches stop early.
+    private volatile int mGeneration;
+
+    // Months whose layout was computed by the executor, and months already bound once, keyed by
+    // getKey(). Only the first bind of each month counts towards the hit rate.
+    private final Set<Integer> mPrefetched = new HashSet<>();
+    private final Set<Integer> mBound = new HashSet<>();
+
+    private int mHitCount;
+    private int mMissCount;
+
+    MonthPrefetcher(Context context, MonthLayoutEngine layoutEngine) {
+        mContext = context.getApplicationContext();
+        mLayoutEngine = layoutEngine;
+    }
+
+    /**
+     * Sets how many months ahead of the scroll direction are prefetched. 0 disables prefetching.
+     */
+    void setDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Prefetch depth must be >= 0");
+        }
+        mDepth = depth;
+    }
+
+    int getDepth() {
+        return mDepth;
+    }
+
+    /**
+     * Prefetches the {@link #getDepth()} months following {@code year} and {@code month} in
+     * {@code direction}, cancelling any previous prefetch still pending.
+     *
+     * @param direction 1 to prefetch the following months, -1 for the previous ones.
+     */
+    void prefetch(final int year, final int month, final int weekStart, final int direction) {
+        final int generation = ++mGeneration;
+        final int depth = mDepth;
+        if (depth == 0 || direction == 0) {
+            return;
+        }
+
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                final int start = year * 12 + month;
+                for (int i = 1; i <= depth && generation == mGeneration; i++) {
+                    final int current = start + i * direction;
+                    final int currentYear = current / 12;
+                    final int currentMonth = current % 12;
+                    if (!mLayoutEngine.isInRange(currentYear, currentMonth)) {
+                        break;
+                    }
+                    if (!mLayoutEngine.isMemoized(currentYear, currentMonth, weekStart)) {
+                        mLayoutEngine.get(currentYear, currentMonth, weekStart);
+                        synchronized (mPrefetched) {
+                            mPrefetched.add(getKey(currentYear, currentMonth, weekStart));
+                        }
+                    }
+                    MonthTitleCache.getTitle(mContext, currentYear, currentMonth);
+                    DayDescriptionCache.getDescriptions(currentYear, currentMonth);
+                }
+            }
+        });
+    }
+
+    /**
+     * Records whether the layout of the month being bound for the first time was prefetched, to
+     * track the hit rate.
+     */
+    void onBind(int year, int month, int weekStart) {
+        final int key = getKey(year, month, weekStart);
+        if (!mBound.add(key)) {
+            return;
+        }
+        final boolean prefetched;
+        synchronized (mPrefetched) {
+            prefetched = mPrefetched.remove(key);
+        }
+        if (prefetched && mLayoutEngine.isMemoized(year, month, weekStart)) {
+            mHitCount++;
+        } else {
+            mMissCount++;
+        }
+    }
+
+    /**
+     * Returns the fraction of bound months whose layout was computed ahead of time, or 0 if no
+     * month was bound yet.
+     */
+    float getHitRate() {
+        final int total = mHitCount + mMissCount;
+        return total > 0 ? (float) mHitCount / total : 0f;
+    }
+
+    /**
+     * Forgets all prefetched and bound months. Called whenever the memoized layouts are dropped,
+     * i.e. when the range or the first day of the week changes.
+     */
+    void resetHitRate() {
+        synchronized (mPrefetched) {
+            mPrefetched.clear();
+        }
+        mBound.clear();
+        mHitCount = 0;
+        mMissCount = 0;
+    }
+
+    private static int getKey(int year, int month, int weekStart) {
+        return (year * 12 + month) * 8 + (weekStart & 7);
+    }
+}
@@ -0,0 +1,57 @@
+package io.doist.datetimepicker.date;
+
+import android.content.Context;
+import android.text.format.DateUtils;
+import android.text.format.Time;
+import android.util.LruCache;
+
+import java.util.Calendar;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * Process-wide LRU cache of the month and year titles shown by {@link SimpleMonthView}. Titles are
+ * formatted once per month and locale, so recycled month views can reuse them when rebound.
+ */
+final class MonthTitleCache {
+    private static final int MAX_SIZE = 60;
+
+    private static final int FLAGS = DateUtils.FORMAT_SHOW_DATE | DateUtils.FORMAT_SHOW_YEAR
+            | DateUtils.FORMAT_NO_MONTH_DAY;
+
+    private static final LruCache<Integer, String> sTitles = new LruCache<>(MAX_SIZE);
+
+    private static final StringBuilder sStringBuilder = new StringBuilder(50);
+    private static Formatter sFormatter;
+    private static Calendar sCalendar;
+    private static Locale sLocale;
+
+    private MonthTitleCache() {
+    }
+
+    /**
+     * Returns the title for {@code month} of {@code year}, formatted in the default locale.
+     */
+    static synchronized String getTitle(Context context, int year, int month) {
+        final Locale locale = Locale.getDefault();
+        if (!locale.equals(sLocale)) {
+            sTitles.evictAll();
+            sFormatter = new Formatter(sStringBuilder, locale);
+            sCalendar = Calendar.getInstance(locale);
+            sLocale = locale;
+        }
+
+        final Integer key = year * 12 + month;
+        String title = sTitles.get(key);
+        if (title == null) {
+            sCalendar.clear();
+            sCalendar.set(year, month, 1);
+            final long millis = sCalendar.getTimeInMillis();
+            sStringBuilder.setLength(0);
+            title = DateUtils.formatDateRange(context, sFormatter, millis, millis, FLAGS,
+                                              Time.getCurrentTimezone()).toString();
+            sTitles.put(key, title);
+        }
+        return title;
+    }
+}
@@ -0,0 +1,487 @@
+package io.doist.datetimepicker.date;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.ColorStateList;
+import android.database.DataSetObserver;
+import android.os.Build;
+import android.os.Bundle;
+import android.support.annotation.NonNull;
+import android.support.v7.widget.LinearLayoutManager;
+import android.support.v7.widget.LinearSmoothScroller;
+import android.support.v7.widget.LinearSnapHelper;
+import android.support.v7.widget.OrientationHelper;
+import android.support.v7.widget.RecyclerView;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import java.util.Calendar;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import io.doist.datetimepicker.util.DateMath;
+import io.doist.datetimepicker.util.MathUtils;
+
+/**
+ * A {@link RecyclerView} based alternative to {@link DayPickerView}. Months snap to the top after
+ * scrolling, are bound ahead of time while scrolling, and their views are recycled through a pool
+ * shared by all the pickers inflated with the same themed context, so a picker recreated in the
+ * same window doesn't create any month view.
+ */
+class RecyclerDayPickerView extends RecyclerView implements DayPicker {
+    // Enough to fill a tall picker while scrolling.
+    private static final int MAX_RECYCLED_MONTH_VIEWS = 6;
+
+    // Month view pools, by the themed context the pickers were inflated with. Month views keep
+    // the context and theme they were created with, so they can't be shared across contexts.
+    // Only contexts of an activity get a shared pool, dropped when that activity is destroyed.
+    // Keys are weak so the map itself never keeps a context alive, but pooled views reference
+    // their context, so the lifecycle callback is what releases the pools.
+    private static final Map<Context, RecycledViewPool> sPools = new WeakHashMap<>();
+    private static boolean sLifecycleCallbacksRegistered;
+
+    private final SimpleMonthAdapter mAdapter = new SimpleMonthAdapter(getContext());
+
+    private final LinearLayoutManager mLayoutManager;
+
+    // highlighted time
+    private final Calendar mSelectedDay = Calendar.getInstance();
+    private final Calendar mMinDate = Calendar.getInstance();
+    private final Calendar mMaxDate = Calendar.getInstance();
+    private final Calendar mTempCalendar = Calendar.getInstance();
+
+    // range as epoch months, see DateMath#toEpochMonth
+    private int mMinEpochMonth;
+    private int mMaxEpochMonth;
+
+    private OnDaySelectedListener mOnDaySelectedListener;
+
+    // used for prefetching the months in the direction of the scroll
+    private int mPreviousFirstVisiblePosition = NO_POSITION;
+
+    public RecyclerDayPickerView(Context context) {
+        super(context);
+
+        mLayoutManager = new LinearLayoutManager(context);
+        // Return the month views to the shared pool when the picker goes away.
+        mLayoutManager.setRecycleChildrenOnDetach(true);
+        setLayoutManager(mLayoutManager);
+        setRecycledViewPool(getSharedPool(context));
+        setAdapter(new MonthAdapter());
+        new MonthSnapHelper().attachToRecyclerView(this);
+
+        setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT));
+        setVerticalScrollBarEnabled(false);
+        setOverScrollMode(OVER_SCROLL_NEVER);
+
+        goTo(mSelectedDay.getTimeInMillis(), false, false, true);
+
+        mAdapter.setOnDaySelectedListener(mProxyOnDaySelectedListener);
+    }
+
+    @Override
+    public void setDate(long timeInMillis) {
+        goTo(timeInMillis, false, true, true);
+    }
+
+    @Override
+    public long getDate() {
+        return mSelectedDay.getTimeInMillis();
+    }
+
+    @Override
+    public void setFirstDayOfWeek(int firstDayOfWeek) {
+        mAdapter.setFirstDayOfWeek(firstDayOfWeek);
+    }
+
+    @Override
+    public int getFirstDayOfWeek() {
+        return mAdapter.getFirstDayOfWeek();
+    }
+
+    @Override
+    public void setMinDate(long timeInMillis) {
+        mMinDate.setTimeInMillis(timeInMillis);
+        onRangeChanged();
+    }
+
+    @Override
+    public long getMinDate() {
+        return mMinDate.getTimeInMillis();
+    }
+
+    @Override
+    public void setMaxDate(long timeInMillis) {
+        mMaxDate.setTimeInMillis(timeInMillis);
+        onRangeChanged();
+    }
+
+    @Override
+    public long getMaxDate() {
+        return mMaxDate.getTimeInMillis();
+    }
+
+    /**
+     * Handles changes to date range.
+     */
+    private void onRangeChanged() {
+        mAdapter.setRange(mMinDate, mMaxDate);
+        mMinEpochMonth = DateMath.toEpochMonth(
+                mMinDate.get(Calendar.YEAR), mMinDate.get(Calendar.MONTH));
+        mMaxEpochMonth = DateMath.toEpochMonth(
+                mMaxDate.get(Calendar.YEAR), mMaxDate.get(Calendar.MONTH));
+
+        // Changing the min/max date changes the selection position since we
+        // don't really have stable IDs. Jumps immediately to the new position.
+        goTo(mSelectedDay.getTimeInMillis(), false, false, true);
+    }
+
+    @Override
+    public void setOnDaySelectedListener(OnDaySelectedListener listener) {
+        mOnDaySelectedListener = listener;
+    }
+
+    @Override
+    public void setCalendarTextColor(ColorStateList colors) {
+        mAdapter.setCalendarTextColor(colors);
+    }
+
+    @Override
+    public void setCalendarTextAppearance(int resId) {
+        mAdapter.setCalendarTextAppearance(resId);
+    }
+
+    @Override
+    public int getMostVisiblePosition() {
+        final int height = getHeight();
+
+        int maxDisplayedHeight = 0;
+        int mostVisiblePosition = 0;
+        final int childCount = getChildCount();
+        for (int i = 0; i < childCount; i++) {
+            final View child = getChildAt(i);
+            final int displayedHeight =
+                    Math.min(child.getBottom(), height) - Math.max(0, child.getTop());
+            if (displayedHeight > maxDisplayedHeight) {
+                mostVisiblePosition = getChildAdapterPosition(child);
+                maxDisplayedHeight = displayedHeight;
+            }
+        }
+        return mostVisiblePosition;
+    }
+
+    @Override
+    public void postSetSelection(int position) {
+        // Applied on the next layout pass.
+        mLayoutManager.scrollToPositionWithOffset(position, 0);
+    }
+
+    private int getPositionFromDay(long timeInMillis) {
+        mTempCalendar.setTimeInMillis(timeInMillis);
+        final int epochMonth = DateMath.toEpochMonth(
+                mTempCalendar.get(Calendar.YEAR), mTempCalendar.get(Calendar.MONTH));
+        return MathUtils.constrain(epochMonth - mMinEpochMonth, 0, mMaxEpochMonth - mMinEpochMonth);
+    }
+
+    /**
+     * This moves to the specified time in the view. If the new time is already in view the list
+     * will not be scrolled unless forceScroll is true.
+     *
+     * @see DayPickerView
+     */
+    private void goTo(long day, boolean animate, boolean setSelected, boolean forceScroll) {
+        if (setSelected) {
+            mSelectedDay.setTimeInMillis(day);
+            mAdapter.setSelectedDay(mSelectedDay);
+        }
+
+        final int position = getPositionFromDay(day);
+        if (position != mLayoutManager.findFirstCompletelyVisibleItemPosition() || forceScroll) {
+            if (animate) {
+                final LinearSmoothScroller scroller = new LinearSmoothScroller(getContext()) {
+                    @Override
+                    protected int getVerticalSnapPreference() {
+                        return SNAP_TO_START;
+                    }
+                };
+                scroller.setTargetPosition(position);
+                mLayoutManager.startSmoothScroll(scroller);
+            } else {
+                postSetSelection(position);
+            }
+        }
+    }
+
+    @Override
+    public void onScrolled(int dx, int dy) {
+        super.onScrolled(dx, dy);
+
+        // Prefetch the content of the months about to appear whenever a new one does. Their views
+        // are bound ahead by the layout manager.
+        final int firstVisiblePosition = mLayoutManager.findFirstVisibleItemPosition();
+        if (mPreviousFirstVisiblePosition != NO_POSITION
+                && firstVisiblePosition != mPreviousFirstVisiblePosition) {
+            if (dy > 0) {
+                mAdapter.prefetch(mLayoutManager.findLastVisibleItemPosition(), 1);
+            } else if (dy < 0) {
+                mAdapter.prefetch(firstVisiblePosition, -1);
+            }
+        }
+        mPreviousFirstVisiblePosition = firstVisiblePosition;
+    }
+
+    /**
+     * Necessary for accessibility, to ensure we support "scrolling" forward and backward
+     * in the month list.
+     */
+    @SuppressWarnings("deprecation")
+    @Override
+    public void onInitializeAccessibilityNodeInfo(@NonNull AccessibilityNodeInfo info) {
+        super.onInitializeAccessibilityNodeInfo(info);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            info.addAction(AccessibilityNodeInfo.AccessibilityAction.ACTION_SCROLL_FORWARD);
+            info.addAction(AccessibilityNodeInfo.AccessibilityAction.ACTION_SCROLL_BACKWARD);
+        } else {
+            info.addAction(AccessibilityNodeInfo.ACTION_SCROLL_FORWARD);
+            info.addAction(AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD);
+        }
+    }
+
+    /**
+     * When scroll forward/backward events are received, announce the newly scrolled-to month.
+     */
+    @Override
+    public boolean performAccessibilityAction(int action, Bundle arguments) {
+        if (action != AccessibilityNodeInfo.ACTION_SCROLL_FORWARD &&
+                action != AccessibilityNodeInfo.ACTION_SCROLL_BACKWARD) {
+            return super.performAccessibilityAction(action, arguments);
+        }
+
+        // Figure out what month is showing, and scroll either forward or backward one month.
+        int position = mLayoutManager.findFirstVisibleItemPosition();
+        if (action == AccessibilityNodeInfo.ACTION_SCROLL_FORWARD) {
+            position++;
+        } else if (position == mLayoutManager.findFirstCompletelyVisibleItemPosition()) {
+            // If the month is fully visible, jump one month back. Otherwise, we'll just jump
+            // to the first day of the first visible month.
+            position--;
+        }
+        position = MathUtils.constrain(position, 0, mAdapter.getCount() - 1);
+
+        // Go to that month.
+        final int epochMonth = mMinEpochMonth + position;
+        final int year = DateMath.getYearOfEpochMonth(epochMonth);
+        final int month = DateMath.getMonthOfEpochMonth(epochMonth);
+        mTempCalendar.clear();
+        mTempCalendar.set(year, month, 1);
+        announceForAccessibility(MonthTitleCache.getTitle(getContext(), year, month));
+        goTo(mTempCalendar.getTimeInMillis(), true, false, true);
+        return true;
+    }
+
+    private final SimpleMonthAdapter.OnDaySelectedListener
+            mProxyOnDaySelectedListener = new SimpleMonthAdapter.OnDaySelectedListener() {
+        @Override
+        public void onDaySelected(SimpleMonthAdapter adapter, Calendar day) {
+            if (mOnDaySelectedListener != null) {
+                mOnDaySelectedListener.onDaySelected(RecyclerDayPickerView.this, day);
+            }
+        }
+    };
+
+    /**
+     * Returns the month view pool of {@code context}, or a new pool if it doesn't belong to an
+     * activity.
+     */
+    private static RecycledViewPool getSharedPool(Context context) {
+        final Activity activity = findActivity(context);
+        if (activity == null) {
+            return newPool();
+        }
+
+        synchronized (sPools) {
+            if (!sLifecycleCallbacksRegistered) {
+                activity.getApplication().registerActivityLifecycleCallbacks(sLifecycleCallbacks);
+                sLifecycleCallbacksRegistered = true;
+            }
+
+            RecycledViewPool pool = sPools.get(context);
+            if (pool == null) {
+                pool = newPool();
+                sPools.put(context, pool);
+            }
+            return pool;
+        }
+    }
+
+    private static RecycledViewPool newPool() {
+        final RecycledViewPool pool = new RecycledViewPool();
+        pool.setMaxRecycledViews(0, MAX_RECYCLED_MONTH_VIEWS);
+        return pool;
+    }
+
+    private static Activity findActivity(Context context) {
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity) {
+                return (Activity) context;
+            }
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
+    }
+
+    private static final Application.ActivityLifecycleCallbacks sLifecycleCallbacks =
+            new Application.ActivityLifecycleCallbacks() {
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {
+        }
+
+        @Override
+        public void onActivityStarted(Activity activity) {
+        }
+
+        @Override
+        public void onActivityResumed(Activity activity) {
+        }
+
+        @Override
+        public void onActivityPaused(Activity activity) {
+        }
+
+        @Override
+        public void onActivityStopped(Activity activity) {
+        }
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {
+        }
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {
+            synchronized (sPools) {
+                final Iterator<Context> it = sPools.keySet().iterator();
+                while (it.hasNext()) {
+                    if (findActivity(it.next()) == activity) {
+                        it.remove();
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * Exposes the months of {@link SimpleMonthAdapter} to the recycler view.
+     */
+    private class MonthAdapter extends Adapter<ViewHolder> {
+        MonthAdapter() {
+            setHasStableIds(true);
+            mAdapter.registerDataSetObserver(new DataSetObserver() {
+                @Override
+                public void onChanged() {
+                    notifyDataSetChanged();
+                }
+
+                @Override
+                public void onInvalidated() {
+                    notifyDataSetChanged();
+                }
+            });
+        }
+
+        @Override
+        public ViewHolder onCreateViewHolder(ViewGroup parent, int viewType) {
+            final SimpleMonthView v = mAdapter.createView();
+            v.setLayoutParams(new RecyclerView.LayoutParams(
+                    ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+            return new ViewHolder(v) {
+            };
+        }
+
+        @Override
+        public void onBindViewHolder(ViewHolder holder, int position) {
+            mAdapter.bindView(position, (SimpleMonthView) holder.itemView);
+        }
+
+        @Override
+        public int getItemCount() {
+            return mAdapter.getCount();
+        }
+
+        @Override
+        public long getItemId(int position) {
+            return mAdapter.getItemId(position);
+        }
+    }
+
+    /**
+     * Snaps the top of the nearest month to the top of the list, like {@link DayPickerView} does
+     * after a fling. A fling lands on the month whose top is nearest to the top of the list where
+     * the fling would stop, so it is measured from the same edge as a slow drag.
+     */
+    private static class MonthSnapHelper extends LinearSnapHelper {
+        private OrientationHelper mHelper;
+        private LayoutManager mHelperLayoutManager;
+
+        @Override
+        public int[] calculateDistanceToFinalSnap(@NonNull LayoutManager layoutManager,
+                                                  @NonNull View targetView) {
+            final OrientationHelper helper = getHelper(layoutManager);
+            return new int[] {
+                    0, helper.getDecoratedStart(targetView) - helper.getStartAfterPadding()};
+        }
+
+        @Override
+        public View findSnapView(LayoutManager layoutManager) {
+            final OrientationHelper helper = getHelper(layoutManager);
+            final int start = helper.getStartAfterPadding();
+
+            View closestChild = null;
+            int closestDistance = Integer.MAX_VALUE;
+            final int childCount = layoutManager.getChildCount();
+            for (int i = 0; i < childCount; i++) {
+                final View child = layoutManager.getChildAt(i);
+                final int distance = Math.abs(helper.getDecoratedStart(child) - start);
+                if (distance < closestDistance) {
+                    closestChild = child;
+                    closestDistance = distance;
+                }
+            }
+            return closestChild;
+        }
+
+        @Override
+        public int findTargetSnapPosition(LayoutManager layoutManager, int velocityX,
+                                          int velocityY) {
+            final int itemCount = layoutManager.getItemCount();
+            final View snapView = findSnapView(layoutManager);
+            if (itemCount == 0 || snapView == null) {
+                return RecyclerView.NO_POSITION;
+            }
+
+            final OrientationHelper helper = getHelper(layoutManager);
+            final int height = helper.getDecoratedMeasurement(snapView);
+            if (height <= 0) {
+                return RecyclerView.NO_POSITION;
+            }
+            // Where the top of the list would be after the fling, relative to the top of the month
+            // nearest to it now, in months.
+            final int offset = helper.getStartAfterPadding() - helper.getDecoratedStart(snapView)
+                    + calculateScrollDistance(velocityX, velocityY)[1];
+            final int position = layoutManager.getPosition(snapView)
+                    + Math.round((float) offset / height);
+            return MathUtils.constrain(position, 0, itemCount - 1);
+        }
+
+        private OrientationHelper getHelper(LayoutManager layoutManager) {
+            if (mHelperLayoutManager != layoutManager) {
+                mHelper = OrientationHelper.createVerticalHelper(layoutManager);
+                mHelperLayoutManager = layoutManager;
+            }
+            return mHelper;
+        }
+    }
+}
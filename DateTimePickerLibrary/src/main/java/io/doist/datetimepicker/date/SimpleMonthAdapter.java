@@ -28,17 +28,26 @@ import android.widget.BaseAdapter;
 import java.util.Calendar;
 
 import io.doist.datetimepicker.R;
+import io.doist.datetimepicker.util.DateMath;
 
 /**
  * An adapter for a list of {@link SimpleMonthView} items.
  */
 class SimpleMonthAdapter extends BaseAdapter {
-    private final Calendar mMinDate = Calendar.getInstance();
-    private final Calendar mMaxDate = Calendar.getInstance();
+    // Range and selection as packed dates, see DateMath#packDate.
+    private int mMinDate;
+    private int mMaxDate;
+    private int mSelectedDate;
+
+    // Range as epoch months, see DateMath#toEpochMonth.
+    private int mMinEpochMonth;
+    private int mMaxEpochMonth;
+
+    private final MonthLayoutEngine mLayoutEngine = new MonthLayoutEngine();
+    private final MonthPrefetcher mPrefetcher;
 
     private final Context mContext;
 
-    private Calendar mSelectedDay = Calendar.getInstance();
     private ColorStateList mCalendarTextColors = ColorStateList.valueOf(Color.BLACK);
     private OnDaySelectedListener mOnDaySelectedListener;
 
@@ -46,17 +55,32 @@ class SimpleMonthAdapter extends BaseAdapter {
 
     public SimpleMonthAdapter(Context context) {
         mContext = context;
+        mPrefetcher = new MonthPrefetcher(context, mLayoutEngine);
+
+        final Calendar today = Calendar.getInstance();
+        setRange(today, today);
+        mSelectedDate = DateMath.packDate(today);
     }
 
     public void setRange(Calendar min, Calendar max) {
-        mMinDate.setTimeInMillis(min.getTimeInMillis());
-        mMaxDate.setTimeInMillis(max.getTimeInMillis());
+        mMinDate = DateMath.packDate(min);
+        mMaxDate = DateMath.packDate(max);
+        mMinEpochMonth = DateMath.getEpochMonthOfPackedDate(mMinDate);
+        mMaxEpochMonth = DateMath.getEpochMonthOfPackedDate(mMaxDate);
+        mLayoutEngine.setRange(DateMath.getYearOfEpochMonth(mMinEpochMonth),
+                               DateMath.getMonthOfEpochMonth(mMinEpochMonth),
+                               DateMath.getDayOfPackedDate(mMinDate),
+                               DateMath.getYearOfEpochMonth(mMaxEpochMonth),
+                               DateMath.getMonthOfEpochMonth(mMaxEpochMonth),
+                               DateMath.getDayOfPackedDate(mMaxDate));
+        mPrefetcher.resetHitRate();
 
         notifyDataSetInvalidated();
     }
 
     public void setFirstDayOfWeek(int firstDayOfWeek) {
         mFirstDayOfWeek = firstDayOfWeek;
+        mPrefetcher.resetHitRate();
 
         notifyDataSetInvalidated();
     }
@@ -65,13 +89,37 @@ class SimpleMonthAdapter extends BaseAdapter {
         return mFirstDayOfWeek;
     }
 
+    /**
+     * Prefetches the months following the one at {@code position} in {@code direction} on a
+     * background thread, so they are ready before being scrolled on screen.
+     *
+     * @param direction 1 when scrolling towards later months, -1 towards earlier ones.
+     */
+    void prefetch(int position, int direction) {
+        final int epochMonth = mMinEpochMonth + position;
+        mPrefetcher.prefetch(DateMath.getYearOfEpochMonth(epochMonth),
+                             DateMath.getMonthOfEpochMonth(epochMonth), mFirstDayOfWeek, direction);
+    }
+
+    void setPrefetchDepth(int depth) {
+        mPrefetcher.setDepth(depth);
+    }
+
+    int getPrefetchDepth() {
+        return mPrefetcher.getDepth();
+    }
+
+    float getPrefetchHitRate() {
+        return mPrefetcher.getHitRate();
+    }
+
     /**
      * Updates the selected day and related parameters.
      *
      * @param day The day to highlight
      */
     public void setSelectedDay(Calendar day) {
-        mSelectedDay = day;
+        mSelectedDate = DateMath.packDate(day);
 
         notifyDataSetChanged();
     }
@@ -109,9 +157,7 @@ class SimpleMonthAdapter extends BaseAdapter {
 
     @Override
     public int getCount() {
-        final int diffYear = mMaxDate.get(Calendar.YEAR) - mMinDate.get(Calendar.YEAR);
-        final int diffMonth = mMaxDate.get(Calendar.MONTH) - mMinDate.get(Calendar.MONTH);
-        return diffMonth + 12 * diffYear + 1;
+        return mMaxEpochMonth - mMinEpochMonth + 1;
     }
 
     @Override
@@ -136,28 +182,44 @@ class SimpleMonthAdapter extends BaseAdapter {
         if (convertView != null) {
             v = (SimpleMonthView) convertView;
         } else {
-            v = new SimpleMonthView(mContext);
+            v = createView();
 
             // Set up the new view
             final AbsListView.LayoutParams params = new AbsListView.LayoutParams(
                     AbsListView.LayoutParams.MATCH_PARENT, AbsListView.LayoutParams.MATCH_PARENT);
             v.setLayoutParams(params);
-            v.setClickable(true);
-            v.setOnDayClickListener(mOnDayClickListener);
+        }
 
-            if (mCalendarTextColors != null) {
-                v.setTextColor(mCalendarTextColors);
-            }
+        bindView(position, v);
+
+        return v;
+    }
+
+    /**
+     * Creates a month view, without binding it to any month.
+     */
+    SimpleMonthView createView() {
+        final SimpleMonthView v = new SimpleMonthView(mContext);
+        v.setClickable(true);
+        return v;
+    }
+
+    /**
+     * Binds {@code v} to the month at {@code position}. The view may have been created by
+     * another adapter, as long as it uses the same context.
+     */
+    void bindView(int position, SimpleMonthView v) {
+        v.setOnDayClickListener(mOnDayClickListener);
+        if (mCalendarTextColors != null) {
+            v.setTextColor(mCalendarTextColors);
         }
 
-        final int minMonth = mMinDate.get(Calendar.MONTH);
-        final int minYear = mMinDate.get(Calendar.YEAR);
-        final int currentMonth = position + minMonth;
-        final int month = currentMonth % 12;
-        final int year = currentMonth / 12 + minYear;
+        final int epochMonth = mMinEpochMonth + position;
+        final int month = DateMath.getMonthOfEpochMonth(epochMonth);
+        final int year = DateMath.getYearOfEpochMonth(epochMonth);
         final int selectedDay;
-        if (isSelectedDayInMonth(year, month)) {
-            selectedDay = mSelectedDay.get(Calendar.DAY_OF_MONTH);
+        if (DateMath.getEpochMonthOfPackedDate(mSelectedDate) == epochMonth) {
+            selectedDay = DateMath.getDayOfPackedDate(mSelectedDate);
         } else {
             selectedDay = -1;
         }
@@ -166,33 +228,14 @@ class SimpleMonthAdapter extends BaseAdapter {
         // height/number of weeks before being displayed.
         v.reuse();
 
-        final int enabledDayRangeStart;
-        if (minMonth == month && minYear == year) {
-            enabledDayRangeStart = mMinDate.get(Calendar.DAY_OF_MONTH);
-        } else {
-            enabledDayRangeStart = 1;
-        }
-
-        final int enabledDayRangeEnd;
-        if (mMaxDate.get(Calendar.MONTH) == month && mMaxDate.get(Calendar.YEAR) == year) {
-            enabledDayRangeEnd = mMaxDate.get(Calendar.DAY_OF_MONTH);
-        } else {
-            enabledDayRangeEnd = 31;
-        }
-
-        v.setMonthParams(selectedDay, month, year, mFirstDayOfWeek,
-                         enabledDayRangeStart, enabledDayRangeEnd);
+        mPrefetcher.onBind(year, month, mFirstDayOfWeek);
+        v.setMonthParams(selectedDay, mLayoutEngine.get(year, month, mFirstDayOfWeek));
         v.invalidate();
-
-        return v;
-    }
-
-    private boolean isSelectedDayInMonth(int year, int month) {
-        return mSelectedDay.get(Calendar.YEAR) == year && mSelectedDay.get(Calendar.MONTH) == month;
     }
 
     private boolean isCalendarInRange(Calendar value) {
-        return value.compareTo(mMinDate) >= 0 && value.compareTo(mMaxDate) <= 0;
+        final int date = DateMath.packDate(value);
+        return date >= mMinDate && date <= mMaxDate;
     }
 
     private final SimpleMonthView.OnDayClickListener mOnDayClickListener = new SimpleMonthView.OnDayClickListener() {
@@ -26,25 +26,18 @@ import android.graphics.Paint.Align;
 import android.graphics.Paint.Style;
 import android.graphics.Rect;
 import android.graphics.Typeface;
-import android.os.Build;
 import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
 import android.support.v4.widget.ExploreByTouchHelper;
-import android.text.format.DateFormat;
-import android.text.format.DateUtils;
-import android.text.format.Time;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 
-import java.text.DateFormatSymbols;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
-import java.util.Formatter;
 import java.util.List;
 import java.util.Locale;
 
@@ -68,19 +61,16 @@ class SimpleMonthView extends View {
 
     private static final int DAY_SEPARATOR_WIDTH = 1;
 
-    private final Formatter mFormatter;
-    private final StringBuilder mStringBuilder;
-
     private final int mMiniDayNumberTextSize;
     private final int mMonthLabelTextSize;
     private final int mMonthDayLabelTextSize;
     private final int mMonthHeaderSize;
     private final int mDaySelectedCircleSize;
 
-    /** Single-letter (when available) formatter for the day of week label. */
-    private SimpleDateFormat mDayFormatter = new SimpleDateFormat("EEEEE", Locale.getDefault());
-    // For compat single-letter day of week label.
-    private DateFormatSymbols mDateFormatSymbols = new DateFormatSymbols();
+    private ColorStateList mTextColors;
+
+    // Labels for the days of the month, indexed by day.
+    private String[] mDayNumbers = DayNumberCache.getDayNumbers(Locale.getDefault());
 
     // affects the padding on the sides of this view
     private int mPadding = 0;
@@ -98,6 +88,9 @@ class SimpleMonthView extends View {
     private int mMonth;
     private int mYear;
 
+    // Title for the displayed month, cached in MonthTitleCache
+    private String mMonthTitle;
+
     // Quick reference to the width of this view, matches parent
     private int mWidth;
 
@@ -116,13 +109,17 @@ class SimpleMonthView extends View {
     // Which day of the week to start on [0-6]
     private int mWeekStart = DEFAULT_WEEK_START;
 
+    // Day of week labels in column order, shared through WeekDayLabelCache
+    private String[] mDayLabels = WeekDayLabelCache.getLabels(DEFAULT_WEEK_START);
+
     // How many days to display
     private int mNumDays = DEFAULT_NUM_DAYS;
 
     // The number of days + a spot for week number if it is displayed
     private int mNumCells = mNumDays;
 
-    private int mDayOfWeekStart = 0;
+    // Number of empty cells before the first day of the month
+    private int mDayOffset = 0;
 
     // First enabled day
     private int mEnabledDayStart = 1;
@@ -130,9 +127,6 @@ class SimpleMonthView extends View {
     // Last enabled day
     private int mEnabledDayEnd = 31;
 
-    private final Calendar mCalendar = Calendar.getInstance();
-    private final Calendar mDayLabelCalendar = Calendar.getInstance();
-
     private final MonthViewTouchHelper mTouchHelper;
 
     private int mNumRows = DEFAULT_NUM_ROWS;
@@ -162,9 +156,6 @@ class SimpleMonthView extends View {
         mDayOfWeekTypeface = res.getString(R.string.day_of_week_label_typeface);
         mMonthTitleTypeface = res.getString(R.string.sans_serif);
 
-        mStringBuilder = new StringBuilder(50);
-        mFormatter = new Formatter(mStringBuilder, Locale.getDefault());
-
         mMiniDayNumberTextSize = res.getDimensionPixelSize(R.dimen.datepicker_day_number_size);
         mMonthLabelTextSize = res.getDimensionPixelSize(R.dimen.datepicker_month_label_size);
         mMonthDayLabelTextSize = res.getDimensionPixelSize(
@@ -191,10 +182,20 @@ class SimpleMonthView extends View {
     protected void onConfigurationChanged(Configuration newConfig) {
         super.onConfigurationChanged(newConfig);
 
-        mDayFormatter = new SimpleDateFormat("EEEEE", newConfig.locale);
+        WeekDayLabelCache.onLocaleChanged(newConfig.locale);
+        mDayLabels = WeekDayLabelCache.getLabels(mWeekStart);
+        mDayNumbers = DayNumberCache.getDayNumbers(newConfig.locale);
+        if (mMonthTitle != null) {
+            mMonthTitle = MonthTitleCache.getTitle(getContext(), mYear, mMonth);
+        }
     }
 
     void setTextColor(ColorStateList colors) {
+        if (colors == mTextColors) {
+            return;
+        }
+        mTextColors = colors;
+
         final Resources res = getContext().getResources();
 
         mNormalTextColor = colors.getColorForState(
@@ -297,119 +298,46 @@ class SimpleMonthView extends View {
         drawDays(canvas);
     }
 
-    private static boolean isValidDayOfWeek(int day) {
-        return day >= Calendar.SUNDAY && day <= Calendar.SATURDAY;
-    }
-
-    private static boolean isValidMonth(int month) {
-        return month >= Calendar.JANUARY && month <= Calendar.DECEMBER;
-    }
-
     /**
-     * Sets all the parameters for displaying this week. Parameters have a default value and
-     * will only update if a new value is included, except for focus month, which will always
-     * default to no focus month if no value is passed in. The only required parameter is the
-     * week start.
+     * Sets all the parameters for displaying this month. The layout is computed ahead by
+     * {@link MonthLayoutEngine}, so binding a month only copies its fields.
      *
      * @param selectedDay the selected day of the month, or -1 for no selection.
-     * @param month the month.
-     * @param year the year.
-     * @param weekStart which day the week should start on. {@link Calendar#SUNDAY} through
-     *        {@link Calendar#SATURDAY}.
-     * @param enabledDayStart the first enabled day.
-     * @param enabledDayEnd the last enabled day.
+     * @param layout the layout of the month.
      */
-    void setMonthParams(int selectedDay, int month, int year, int weekStart, int enabledDayStart,
-                        int enabledDayEnd) {
+    void setMonthParams(int selectedDay, MonthLayout layout) {
         if (mRowHeight < MIN_HEIGHT) {
             mRowHeight = MIN_HEIGHT;
         }
 
         mSelectedDay = selectedDay;
 
-        if (isValidMonth(month)) {
-            mMonth = month;
-        }
-        mYear = year;
-
-        // Figure out what day today is
-        final Time today = new Time(Time.getCurrentTimezone());
-        today.setToNow();
-        mHasToday = false;
-        mToday = -1;
-
-        mCalendar.set(Calendar.MONTH, mMonth);
-        mCalendar.set(Calendar.YEAR, mYear);
-        mCalendar.set(Calendar.DAY_OF_MONTH, 1);
-        mDayOfWeekStart = mCalendar.get(Calendar.DAY_OF_WEEK);
-
-        if (isValidDayOfWeek(weekStart)) {
-            mWeekStart = weekStart;
-        } else {
-            mWeekStart = mCalendar.getFirstDayOfWeek();
-        }
+        mMonth = layout.month;
+        mYear = layout.year;
+        mMonthTitle = MonthTitleCache.getTitle(getContext(), mYear, mMonth);
 
-        if (enabledDayStart > 0 && enabledDayEnd < 32) {
-            mEnabledDayStart = enabledDayStart;
-        }
-        if (enabledDayEnd > 0 && enabledDayEnd < 32 && enabledDayEnd >= enabledDayStart) {
-            mEnabledDayEnd = enabledDayEnd;
+        if (mWeekStart != layout.weekStart) {
+            mWeekStart = layout.weekStart;
+            mDayLabels = WeekDayLabelCache.getLabels(mWeekStart);
         }
 
-        mNumCells = getDaysInMonth(mMonth, mYear);
-        for (int i = 0; i < mNumCells; i++) {
-            final int day = i + 1;
-            if (sameDay(day, today)) {
-                mHasToday = true;
-                mToday = day;
-            }
-        }
-        mNumRows = calculateNumRows();
+        mDayOffset = layout.dayOffset;
+        mNumCells = layout.daysInMonth;
+        mNumRows = layout.numRows;
+        mHasToday = layout.today != -1;
+        mToday = layout.today;
+        mEnabledDayStart = layout.enabledDayStart;
+        mEnabledDayEnd = layout.enabledDayEnd;
 
         // Invalidate cached accessibility information.
         mTouchHelper.invalidateRoot();
     }
 
-    private static int getDaysInMonth(int month, int year) {
-        switch (month) {
-            case Calendar.JANUARY:
-            case Calendar.MARCH:
-            case Calendar.MAY:
-            case Calendar.JULY:
-            case Calendar.AUGUST:
-            case Calendar.OCTOBER:
-            case Calendar.DECEMBER:
-                return 31;
-            case Calendar.APRIL:
-            case Calendar.JUNE:
-            case Calendar.SEPTEMBER:
-            case Calendar.NOVEMBER:
-                return 30;
-            case Calendar.FEBRUARY:
-                return (year % 4 == 0) ? 29 : 28;
-            default:
-                throw new IllegalArgumentException("Invalid Month");
-        }
-    }
-
     public void reuse() {
         mNumRows = DEFAULT_NUM_ROWS;
         requestLayout();
     }
 
-    private int calculateNumRows() {
-        int offset = findDayOffset();
-        int dividend = (offset + mNumCells) / mNumDays;
-        int remainder = (offset + mNumCells) % mNumDays;
-        return (dividend + (remainder > 0 ? 1 : 0));
-    }
-
-    private boolean sameDay(int day, Time today) {
-        return mYear == today.year &&
-                mMonth == today.month &&
-                day == today.monthDay;
-    }
-
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         setMeasuredDimension(MeasureSpec.getSize(widthMeasureSpec), mRowHeight * mNumRows
@@ -424,19 +352,12 @@ class SimpleMonthView extends View {
         mTouchHelper.invalidateRoot();
     }
 
-    private String getMonthAndYearString() {
-        int flags = DateUtils.FORMAT_SHOW_DATE | DateUtils.FORMAT_SHOW_YEAR
-                | DateUtils.FORMAT_NO_MONTH_DAY;
-        mStringBuilder.setLength(0);
-        long millis = mCalendar.getTimeInMillis();
-        return DateUtils.formatDateRange(getContext(), mFormatter, millis, millis, flags,
-                                         Time.getCurrentTimezone()).toString();
-    }
-
     private void drawMonthTitle(Canvas canvas) {
         final float x = (mWidth + 2 * mPadding) / 2f;
         final float y = (mMonthHeaderSize - mMonthDayLabelTextSize) / 2f;
-        canvas.drawText(getMonthAndYearString(), x, y, mMonthTitlePaint);
+        if (mMonthTitle != null) {
+            canvas.drawText(mMonthTitle, x, y, mMonthTitlePaint);
+        }
     }
 
     private void drawWeekDayLabels(Canvas canvas) {
@@ -444,30 +365,11 @@ class SimpleMonthView extends View {
         final int dayWidthHalf = (mWidth - mPadding * 2) / (mNumDays * 2);
 
         for (int i = 0; i < mNumDays; i++) {
-            final int calendarDay = (i + mWeekStart) % mNumDays;
-            mDayLabelCalendar.set(Calendar.DAY_OF_WEEK, calendarDay);
-
-            final String dayLabel;
-            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
-                dayLabel = getDayLabel(mDayLabelCalendar);
-            } else {
-                dayLabel = getDayLabelCompat(mDayLabelCalendar);
-            }
             final int x = (2 * i + 1) * dayWidthHalf + mPadding;
-            canvas.drawText(dayLabel, x, y, mMonthDayLabelPaint);
+            canvas.drawText(mDayLabels[i], x, y, mMonthDayLabelPaint);
         }
     }
 
-    private String getDayLabel(Calendar calendar) {
-        return mDayFormatter.format(calendar.getTime());
-    }
-
-    private String getDayLabelCompat(Calendar calendar) {
-        return mDateFormatSymbols
-                .getShortWeekdays()[calendar.get(Calendar.DAY_OF_WEEK)]
-                .toUpperCase(Locale.getDefault());
-    }
-
     /**
      * Draws the month days.
      */
@@ -475,7 +377,7 @@ class SimpleMonthView extends View {
         int y = (((mRowHeight + mMiniDayNumberTextSize) / 2) - DAY_SEPARATOR_WIDTH)
                 + mMonthHeaderSize;
         int dayWidthHalf = (mWidth - mPadding * 2) / (mNumDays * 2);
-        int j = findDayOffset();
+        int j = mDayOffset;
         for (int day = 1; day <= mNumCells; day++) {
             int x = (2 * j + 1) * dayWidthHalf + mPadding;
             if (mSelectedDay == day) {
@@ -490,7 +392,7 @@ class SimpleMonthView extends View {
             }
             final Paint paint = (day < mEnabledDayStart || day > mEnabledDayEnd) ?
                                 mDayNumberDisabledPaint : mDayNumberPaint;
-            canvas.drawText(String.format("%d", day), x, y, paint);
+            canvas.drawText(mDayNumbers[day], x, y, paint);
             j++;
             if (j == mNumDays) {
                 j = 0;
@@ -499,11 +401,6 @@ class SimpleMonthView extends View {
         }
     }
 
-    private int findDayOffset() {
-        return (mDayOfWeekStart < mWeekStart ? (mDayOfWeekStart + mNumDays) : mDayOfWeekStart)
-                - mWeekStart;
-    }
-
     /**
      * Calculates the day that the given x position is in, accounting for week
      * number. Returns the day or -1 if the position wasn't in a day.
@@ -520,7 +417,7 @@ class SimpleMonthView extends View {
         int row = (int) (y - mMonthHeaderSize) / mRowHeight;
         int column = (int) ((x - dayStart) * mNumDays / (mWidth - dayStart - mPadding));
 
-        int day = column - findDayOffset() + 1;
+        int day = column - mDayOffset + 1;
         day += row * mNumDays;
         if (day < 1 || day > mNumCells) {
             return -1;
@@ -588,10 +485,7 @@ class SimpleMonthView extends View {
      * service.
      */
     private class MonthViewTouchHelper extends ExploreByTouchHelper {
-        private static final String DATE_FORMAT = "dd MMMM yyyy";
-
         private final Rect mTempRect = new Rect();
-        private final Calendar mTempCalendar = Calendar.getInstance();
 
         public MonthViewTouchHelper(View host) {
             super(host);
@@ -669,7 +563,7 @@ class SimpleMonthView extends View {
             final int offsetY = mMonthHeaderSize;
             final int cellHeight = mRowHeight;
             final int cellWidth = ((mWidth - (2 * mPadding)) / mNumDays);
-            final int index = ((day - 1) + findDayOffset());
+            final int index = ((day - 1) + mDayOffset);
             final int row = (index / mNumDays);
             final int column = (index % mNumDays);
             final int x = (offsetX + (column * cellWidth));
@@ -687,9 +581,7 @@ class SimpleMonthView extends View {
          * @return A description of the time object
          */
         private CharSequence getItemDescription(int day) {
-            mTempCalendar.set(mYear, mMonth, day);
-            final CharSequence date = DateFormat.format(DATE_FORMAT,
-                                                        mTempCalendar.getTimeInMillis());
+            final CharSequence date = DayDescriptionCache.getDescriptions(mYear, mMonth)[day];
 
             if (day == mSelectedDay) {
                 return getContext().getString(R.string.item_is_selected, date);
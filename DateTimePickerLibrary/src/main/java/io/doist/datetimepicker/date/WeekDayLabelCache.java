@@ -0,0 +1,82 @@
+package io.doist.datetimepicker.date;
+
+import android.os.Build;
+
+import java.text.DateFormatSymbols;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Locale;
+
+/**
+ * Process-wide cache of the day of week labels shown by {@link SimpleMonthView}. Labels are built
+ * once per first day of week for the current locale and shared by all month views.
+ */
+final class WeekDayLabelCache {
+    private static final int DAYS_IN_WEEK = 7;
+
+    private static Locale sLocale;
+
+    // Labels in display order, indexed by the first day of the week.
+    private static final String[][] sLabels = new String[Calendar.SATURDAY + 1][];
+
+    private WeekDayLabelCache() {
+    }
+
+    /**
+     * Returns the labels for each column of a month, starting with {@code weekStart}.
+     * The returned array is shared and must not be modified.
+     *
+     * @param weekStart the first day of the week, {@link Calendar#SUNDAY} through
+     *        {@link Calendar#SATURDAY}.
+     */
+    static synchronized String[] getLabels(int weekStart) {
+        if (sLocale == null) {
+            sLocale = Locale.getDefault();
+        }
+
+        String[] labels = sLabels[weekStart];
+        if (labels == null) {
+            labels = createLabels(sLocale, weekStart);
+            sLabels[weekStart] = labels;
+        }
+        return labels;
+    }
+
+    /**
+     * Drops the cached labels if {@code locale} differs from the one they were built for.
+     */
+    static synchronized void onLocaleChanged(Locale locale) {
+        if (!locale.equals(sLocale)) {
+            sLocale = locale;
+            Arrays.fill(sLabels, null);
+        }
+    }
+
+    private static String[] createLabels(Locale locale, int weekStart) {
+        final Calendar calendar = Calendar.getInstance(locale);
+        final String[] labels = new String[DAYS_IN_WEEK];
+        final SimpleDateFormat dayFormatter;
+        final String[] shortWeekdays;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            // Single-letter (when available) formatter for the day of week label.
+            dayFormatter = new SimpleDateFormat("EEEEE", locale);
+            shortWeekdays = null;
+        } else {
+            // For compat single-letter day of week label.
+            dayFormatter = null;
+            shortWeekdays = new DateFormatSymbols(locale).getShortWeekdays();
+        }
+
+        for (int i = 0; i < DAYS_IN_WEEK; i++) {
+            final int dayOfWeek = (i + weekStart - 1) % DAYS_IN_WEEK + 1;
+            if (dayFormatter != null) {
+                calendar.set(Calendar.DAY_OF_WEEK, dayOfWeek);
+                labels[i] = dayFormatter.format(calendar.getTime());
+            } else {
+                labels[i] = shortWeekdays[dayOfWeek].toUpperCase(locale);
+            }
+        }
+        return labels;
+    }
+}
@@ -0,0 +1,103 @@
+package io.doist.datetimepicker.time;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+import android.os.Build;
+import android.util.LruCache;
+import android.widget.TextView;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+
+/**
+ * Process-wide LRU cache of the widest digit of the header fonts of {@link TimePickerClockDelegate},
+ * keyed by typeface, text size and the digits of the locale. Lets the header size its hour and
+ * minute views to fit any value without measuring the views for each of them.
+ */
+final class HeaderWidthCache {
+    private static final int MAX_SIZE = 8;
+
+    private static final LruCache<Key, Float> sWidths = new LruCache<>(MAX_SIZE);
+
+    private static final float[] sDigitWidths = new float[10];
+
+    private HeaderWidthCache() {
+    }
+
+    /**
+     * Returns the width {@code v} needs to show any two-digit number of {@code locale}, including
+     * its padding.
+     */
+    static int getStableWidth(TextView v, Locale locale) {
+        final char zeroDigit = DecimalFormatSymbols.getInstance(locale).getZeroDigit();
+        final float widestDigit = getWidestDigitWidth(v.getPaint(), zeroDigit);
+        return (int) Math.ceil(2 * widestDigit)
+                + v.getCompoundPaddingLeft() + v.getCompoundPaddingRight();
+    }
+
+    private static synchronized float getWidestDigitWidth(Paint paint, char zeroDigit) {
+        final Key key = new Key(paint, zeroDigit);
+        Float width = sWidths.get(key);
+        if (width == null) {
+            final char[] digits = new char[10];
+            for (int i = 0; i < 10; i++) {
+                digits[i] = (char) (zeroDigit + i);
+            }
+            paint.getTextWidths(digits, 0, 10, sDigitWidths);
+
+            float widest = 0;
+            for (float digitWidth : sDigitWidths) {
+                widest = Math.max(widest, digitWidth);
+            }
+            width = widest;
+            sWidths.put(key, width);
+        }
+        return width;
+    }
+
+    private static final class Key {
+        private final Typeface mTypeface;
+        private final float mTextSize;
+        private final float mTextScaleX;
+        private final float mLetterSpacing;
+        private final char mZeroDigit;
+
+        Key(Paint paint, char zeroDigit) {
+            mTypeface = paint.getTypeface();
+            mTextSize = paint.getTextSize();
+            mTextScaleX = paint.getTextScaleX();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                mLetterSpacing = paint.getLetterSpacing();
+            } else {
+                mLetterSpacing = 0;
+            }
+            mZeroDigit = zeroDigit;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return (mTypeface != null ? mTypeface.equals(key.mTypeface) : key.mTypeface == null)
+                    && mTextSize == key.mTextSize
+                    && mTextScaleX == key.mTextScaleX
+                    && mLetterSpacing == key.mLetterSpacing
+                    && mZeroDigit == key.mZeroDigit;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mTypeface != null ? mTypeface.hashCode() : 0;
+            result = 31 * result + Float.floatToIntBits(mTextSize);
+            result = 31 * result + Float.floatToIntBits(mTextScaleX);
+            result = 31 * result + Float.floatToIntBits(mLetterSpacing);
+            result = 31 * result + mZeroDigit;
+            return result;
+        }
+    }
+}
@@ -16,21 +16,18 @@
 
 package io.doist.datetimepicker.time;
 
-import android.animation.Animator;
-import android.animation.AnimatorSet;
-import android.animation.Keyframe;
-import android.animation.ObjectAnimator;
-import android.animation.PropertyValuesHolder;
 import android.animation.ValueAnimator;
 import android.content.Context;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.os.Bundle;
+import android.support.annotation.VisibleForTesting;
 import android.support.v4.content.ContextCompat;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
@@ -41,17 +38,18 @@ import android.util.TypedValue;
 import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.animation.LinearInterpolator;
 import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 import android.widget.TextView;
 
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Locale;
 
 import io.doist.datetimepicker.R;
 import io.doist.datetimepicker.util.MathUtils;
+import io.doist.datetimepicker.util.NumeralTable;
 
 /**
  * View to show a clock circle picker (with one or two picking circles)
@@ -88,20 +86,43 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
     private static final float COSINE_30_DEGREES = ((float) Math.sqrt(3)) * 0.5f;
     private static final float SINE_30_DEGREES = 0.5f;
 
+    // Offsets of the 12 numbers from the center of a ring, relative to its radius, clockwise from
+    // 12 o'clock.
+    private static final float[] TEXT_X_MULTIPLIERS = {
+            0, SINE_30_DEGREES, COSINE_30_DEGREES, 1, COSINE_30_DEGREES, SINE_30_DEGREES,
+            0, -SINE_30_DEGREES, -COSINE_30_DEGREES, -1, -COSINE_30_DEGREES, -SINE_30_DEGREES};
+    private static final float[] TEXT_Y_MULTIPLIERS = {
+            -1, -COSINE_30_DEGREES, -SINE_30_DEGREES, 0, SINE_30_DEGREES, COSINE_30_DEGREES,
+            1, COSINE_30_DEGREES, SINE_30_DEGREES, 0, -SINE_30_DEGREES, -COSINE_30_DEGREES};
+
     private static final int DEGREES_FOR_ONE_HOUR = 30;
     private static final int DEGREES_FOR_ONE_MINUTE = 6;
 
+    // Visible minutes get a range of 14 degrees and the others 4 when every minute can be picked.
+    private static final int DEFAULT_VISIBLE_MINUTE_WEIGHT = 14;
+    private static final int DEFAULT_HIDDEN_MINUTE_WEIGHT = 4;
+
     private static final int[] HOURS_NUMBERS = {12, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11};
     private static final int[] HOURS_NUMBERS_24 = {0, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23};
     private static final int[] MINUTES_NUMBERS = {0, 5, 10, 15, 20, 25, 30, 35, 40, 45, 50, 55};
 
     private static final int CENTER_RADIUS = 2;
 
-    private static int[] sSnapPrefer30sMap = new int[361];
-
-    private final InvalidateUpdateListener mInvalidateUpdateListener =
-            new InvalidateUpdateListener();
-
+    // Timing of the transition between hours and minutes. The appearing numbers start after a
+    // delay, so the whole transition lasts 1.25 times the duration.
+    private static final int TRANSITION_DURATION = 500;
+    private static final int TRANSITION_TOTAL_DURATION = (int) (TRANSITION_DURATION * 1.25f);
+    private static final float TRANSITION_DELAY_POINT =
+            (0.25f * TRANSITION_DURATION) / TRANSITION_TOTAL_DURATION;
+    private static final float TRANSITION_DISAPPEAR_MIDWAY_POINT = 0.2f;
+    private static final float TRANSITION_REAPPEAR_MIDWAY_POINT =
+            1 - (TRANSITION_DISAPPEAR_MIDWAY_POINT * (1 - TRANSITION_DELAY_POINT));
+
+    private final TransitionUpdateListener mTransitionUpdateListener =
+            new TransitionUpdateListener();
+
+    // The locale whose digits the numbers are drawn with.
+    private Locale mLocale = Locale.getDefault();
     private final String[] mHours12Texts = new String[12];
     private final String[] mOuterHours24Texts = new String[12];
     private final String[] mInnerHours24Texts = new String[12];
@@ -126,11 +147,24 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
 
     private final float[] mTextSize = new float[2];
 
-    private final float[][] mTextGridHeights = new float[2][7];
-    private final float[][] mTextGridWidths = new float[2][7];
-
-    private final float[] mInnerTextGridHeights = new float[7];
-    private final float[] mInnerTextGridWidths = new float[7];
+    // Positions of the numbers of the outer hours, inner hours and minutes rings.
+    private final float[][] mTextX = new float[3][12];
+    private final float[][] mTextY = new float[3][12];
+
+    // Whether the text grids must be recalculated before drawing.
+    private boolean mHoursGridDirty = true;
+    private boolean mMinutesGridDirty = true;
+
+    // The numbers, drawn once and reused while only the selector moves. Both rings use the same
+    // color, so only their coverage is cached, over the square bounding the clock's circle, and
+    // the cache is tinted with the color when drawn.
+    private Bitmap mNumbersCache;
+    private Canvas mNumbersCacheCanvas;
+    private int mNumbersCacheLeft;
+    private int mNumbersCacheTop;
+    private boolean mNumbersCacheDirty = true;
+    private final int[] mNumbersCacheAlpha = new int[2];
+    private final Paint mNumbersCachePaint = new Paint();
 
     private final float[] mCircleRadiusMultiplier = new float[2];
     private final float[] mNumbersRadiusMultiplier = new float[3];
@@ -147,9 +181,6 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
     private final float mSelectionRadiusMultiplier;
     private final int[] mSelectionDegrees = new int[3];
 
-    private final ArrayList<Animator> mHoursToMinutesAnims = new ArrayList<>();
-    private final ArrayList<Animator> mMinuteToHoursAnims = new ArrayList<>();
-
     private final RadialPickerTouchHelper mTouchHelper;
 
     private float mInnerTextSize;
@@ -166,18 +197,24 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
     private int mXCenter;
     private int mYCenter;
 
-    private int mMinHypotenuseForInnerNumber;
-    private int mMaxHypotenuseForOuterNumber;
-    private int mHalfwayHypotenusePoint;
+    private final RadialTouchEngine mTouchEngine = new RadialTouchEngine();
 
     private String[] mOuterTextHours;
     private String[] mInnerTextHours;
     private String[] mOuterTextMinutes;
-    private AnimatorSet mTransition;
+    private ValueAnimator mTransition;
+    private boolean mTransitionToMinutes;
 
     private int mAmOrPm;
     private int mDisabledAlpha;
 
+    // The layer type and paint set on the view from outside. While input is disabled the view is
+    // drawn through a layer composited with the disabled alpha, and they are applied again when
+    // input is enabled.
+    private boolean mLayerTypeTracked;
+    private int mLayerType;
+    private Paint mLayerPaint;
+
     private OnValueSelectedListener mListener;
 
     private boolean mInputEnabled = true;
@@ -186,108 +223,6 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         void onValueSelected(int pickerIndex, int newValue, boolean autoAdvance);
     }
 
-    static {
-        // Prepare mapping to snap touchable degrees to selectable degrees.
-        preparePrefer30sMap();
-    }
-
-    /**
-     * Split up the 360 degrees of the circle among the 60 selectable values. Assigns a larger
-     * selectable area to each of the 12 visible values, such that the ratio of space apportioned
-     * to a visible value : space apportioned to a non-visible value will be 14 : 4.
-     * E.g. the output of 30 degrees should have a higher range of input associated with it than
-     * the output of 24 degrees, because 30 degrees corresponds to a visible number on the clock
-     * circle (5 on the minutes, 1 or 13 on the hours).
-     */
-    private static void preparePrefer30sMap() {
-        // We'll split up the visible output and the non-visible output such that each visible
-        // output will correspond to a range of 14 associated input degrees, and each non-visible
-        // output will correspond to a range of 4 associate input degrees, so visible numbers
-        // are more than 3 times easier to get than non-visible numbers:
-        // {354-359,0-7}:0, {8-11}:6, {12-15}:12, {16-19}:18, {20-23}:24, {24-37}:30, etc.
-        //
-        // If an output of 30 degrees should correspond to a range of 14 associated degrees, then
-        // we'll need any input between 24 - 37 to snap to 30. Working out from there, 20-23 should
-        // snap to 24, while 38-41 should snap to 36. This is somewhat counter-intuitive, that you
-        // can be touching 36 degrees but have the selection snapped to 30 degrees; however, this
-        // inconsistency isn't noticeable at such fine-grained degrees, and it affords us the
-        // ability to aggressively prefer the visible values by a factor of more than 3:1, which
-        // greatly contributes to the selectability of these values.
-
-        // The first output is 0, and each following output will increment by 6 {0, 6, 12, ...}.
-        int snappedOutputDegrees = 0;
-        // Count of how many inputs we've designated to the specified output.
-        int count = 1;
-        // How many input we expect for a specified output. This will be 14 for output divisible
-        // by 30, and 4 for the remaining output. We'll special case the outputs of 0 and 360, so
-        // the caller can decide which they need.
-        int expectedCount = 8;
-        // Iterate through the input.
-        for (int degrees = 0; degrees < 361; degrees++) {
-            // Save the input-output mapping.
-            sSnapPrefer30sMap[degrees] = snappedOutputDegrees;
-            // If this is the last input for the specified output, calculate the next output and
-            // the next expected count.
-            if (count == expectedCount) {
-                snappedOutputDegrees += 6;
-                if (snappedOutputDegrees == 360) {
-                    expectedCount = 7;
-                } else if (snappedOutputDegrees % 30 == 0) {
-                    expectedCount = 14;
-                } else {
-                    expectedCount = 4;
-                }
-                count = 1;
-            } else {
-                count++;
-            }
-        }
-    }
-
-    /**
-     * Returns mapping of any input degrees (0 to 360) to one of 60 selectable output degrees,
-     * where the degrees corresponding to visible numbers (i.e. those divisible by 30) will be
-     * weighted heavier than the degrees corresponding to non-visible numbers.
-     * See {@link #preparePrefer30sMap()} documentation for the rationale and generation of the
-     * mapping.
-     */
-    private static int snapPrefer30s(int degrees) {
-        if (sSnapPrefer30sMap == null) {
-            return -1;
-        }
-        return sSnapPrefer30sMap[degrees];
-    }
-
-    /**
-     * Returns mapping of any input degrees (0 to 360) to one of 12 visible output degrees (all
-     * multiples of 30), where the input will be "snapped" to the closest visible degrees.
-     * @param degrees The input degrees
-     * @param forceHigherOrLower The output may be forced to either the higher or lower step, or may
-     * be allowed to snap to whichever is closer. Use 1 to force strictly higher, -1 to force
-     * strictly lower, and 0 to snap to the closer one.
-     * @return output degrees, will be a multiple of 30
-     */
-    private static int snapOnly30s(int degrees, int forceHigherOrLower) {
-        final int stepSize = DEGREES_FOR_ONE_HOUR;
-        int floor = (degrees / stepSize) * stepSize;
-        final int ceiling = floor + stepSize;
-        if (forceHigherOrLower == 1) {
-            degrees = ceiling;
-        } else if (forceHigherOrLower == -1) {
-            if (degrees == floor) {
-                floor -= stepSize;
-            }
-            degrees = floor;
-        } else {
-            if ((degrees - floor) < (ceiling - degrees)) {
-                degrees = floor;
-            } else {
-                degrees = ceiling;
-            }
-        }
-        return degrees;
-    }
-
     @SuppressWarnings("unused")
     public RadialTimePickerView(Context context)  {
         this(context, null);
@@ -305,6 +240,10 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         context.getTheme().resolveAttribute(android.R.attr.disabledAlpha, outValue, true);
         mDisabledAlpha = (int) (outValue.getFloat() * 255 + 0.5f);
 
+        // The View constructor may have set a layer type from the layout, keep it.
+        mLayerType = super.getLayerType();
+        mLayerTypeTracked = true;
+
         // process style attributes
         final Resources res = getResources();
         final TypedArray a = getContext().obtainStyledAttributes(
@@ -328,13 +267,18 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         mPaint[HOURS] = new Paint();
         mPaint[HOURS].setAntiAlias(true);
         mPaint[HOURS].setTextAlign(Paint.Align.CENTER);
+        mPaint[HOURS].setTypeface(mTypeface);
         mColor[HOURS] = numbersTextColor;
 
         mPaint[MINUTES] = new Paint();
         mPaint[MINUTES].setAntiAlias(true);
         mPaint[MINUTES].setTextAlign(Paint.Align.CENTER);
+        mPaint[MINUTES].setTypeface(mTypeface);
         mColor[MINUTES] = numbersTextColor;
 
+        // The alpha of the color is already part of the cached coverage.
+        mNumbersCachePaint.setColor(numbersTextColor | 0xFF000000);
+
         mPaintCenter.setColor(numbersTextColor);
         mPaintCenter.setAntiAlias(true);
         mPaintCenter.setTextAlign(Paint.Align.CENTER);
@@ -409,9 +353,6 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         mTransitionEndRadiusMultiplier = Float.parseFloat(
                 res.getString(R.string.timepicker_transition_end_radius_multiplier));
 
-        mTextGridHeights[HOURS] = new float[7];
-        mTextGridHeights[MINUTES] = new float[7];
-
         mSelectionRadiusMultiplier = Float.parseFloat(
                 res.getString(R.string.timepicker_selection_radius_multiplier));
 
@@ -456,6 +397,19 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         setCurrentMinuteInternal(minute, false);
     }
 
+    /**
+     * Sets the locale whose digits the numbers are drawn with, the default locale initially.
+     */
+    public void setLocale(Locale locale) {
+        if (locale.equals(mLocale)) {
+            return;
+        }
+        mLocale = locale;
+        initHoursAndMinutesText();
+        mNumbersCacheDirty = true;
+        invalidate();
+    }
+
     public void setCurrentItemShowing(int item, boolean animate) {
         switch (item){
             case HOURS:
@@ -572,6 +526,30 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         }
     }
 
+    /**
+     * Sets the minutes that can be picked by touch to every {@code minuteStep} minutes, with the
+     * numbers drawn on the clock being easier to pick than the others.
+     *
+     * @param minuteStep the minutes between selectable values, a divisor of 60.
+     */
+    public void setMinuteStep(int minuteStep) {
+        setMinuteStep(minuteStep, DEFAULT_VISIBLE_MINUTE_WEIGHT, DEFAULT_HIDDEN_MINUTE_WEIGHT);
+    }
+
+    /**
+     * Sets the minutes that can be picked by touch to every {@code minuteStep} minutes. Each of them
+     * gets a share of the circle proportional to its weight: {@code visibleWeight} for the numbers
+     * drawn on the clock and {@code hiddenWeight} for the others.
+     *
+     * @param minuteStep the minutes between selectable values, a divisor of 60.
+     * @param visibleWeight the weight of the minutes drawn on the clock, positive.
+     * @param hiddenWeight the weight of the other minutes, positive.
+     */
+    public void setMinuteStep(int minuteStep, int visibleWeight, int hiddenWeight) {
+        mTouchEngine.setMinuteSnapTable(
+                RadialTouchEngine.getSnapTable(minuteStep, visibleWeight, hiddenWeight));
+    }
+
     // Returns minutes in 0-59 range
     public int getCurrentMinute() {
         return getMinuteForDegrees(mSelectionDegrees[MINUTES]);
@@ -618,12 +596,13 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
     }
 
     private void initHoursAndMinutesText() {
-        // Initialize the hours and minutes numbers.
+        // Initialize the hours and minutes numbers from the shared table of the locale.
+        final NumeralTable numerals = NumeralTable.get(mLocale);
         for (int i = 0; i < 12; i++) {
-            mHours12Texts[i] = String.format("%d", HOURS_NUMBERS[i]);
-            mOuterHours24Texts[i] = String.format("%02d", HOURS_NUMBERS_24[i]);
-            mInnerHours24Texts[i] = String.format("%d", HOURS_NUMBERS[i]);
-            mMinutesTexts[i] = String.format("%02d", MINUTES_NUMBERS[i]);
+            mHours12Texts[i] = numerals.getUnpadded(HOURS_NUMBERS[i]);
+            mOuterHours24Texts[i] = numerals.getPadded(HOURS_NUMBERS_24[i]);
+            mInnerHours24Texts[i] = numerals.getUnpadded(HOURS_NUMBERS[i]);
+            mMinutesTexts[i] = numerals.getPadded(MINUTES_NUMBERS[i]);
         }
     }
 
@@ -673,6 +652,11 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         mAnimationRadiusMultiplier[HOURS] = 1;
         mAnimationRadiusMultiplier[HOURS_INNER] = 1;
         mAnimationRadiusMultiplier[MINUTES] = 1;
+        mHoursGridDirty = true;
+        mMinutesGridDirty = true;
+        mNumbersCacheDirty = true;
+        updateTouchEngine();
+        mTouchHelper.invalidateBounds();
 
         mAlpha[HOURS].setValue(mShowHours ? ALPHA_OPAQUE : ALPHA_TRANSPARENT);
         mAlpha[MINUTES].setValue(mShowHours ? ALPHA_TRANSPARENT : ALPHA_OPAQUE);
@@ -714,58 +698,148 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
             mInnerTextSize = mCircleRadius[HOURS] * mTextSizeMultiplier[HOURS_INNER];
         }
 
-        calculateGridSizesHours();
-        calculateGridSizesMinutes();
+        mHoursGridDirty = true;
+        mMinutesGridDirty = true;
+        mNumbersCacheDirty = true;
 
         mSelectionRadius[HOURS] = (int) (mCircleRadius[HOURS] * mSelectionRadiusMultiplier);
         mSelectionRadius[HOURS_INNER] = mSelectionRadius[HOURS];
         mSelectionRadius[MINUTES] = (int) (mCircleRadius[MINUTES] * mSelectionRadiusMultiplier);
 
-        mMinHypotenuseForInnerNumber = (int) (mCircleRadius[HOURS]
-                * mNumbersRadiusMultiplier[HOURS_INNER]) - mSelectionRadius[HOURS];
-        mMaxHypotenuseForOuterNumber = (int) (mCircleRadius[HOURS]
-                * mNumbersRadiusMultiplier[HOURS]) + mSelectionRadius[HOURS];
-        mHalfwayHypotenusePoint = (int) (mCircleRadius[HOURS]
-                * ((mNumbersRadiusMultiplier[HOURS] + mNumbersRadiusMultiplier[HOURS_INNER]) / 2));
+        updateTouchEngine();
+        mTouchHelper.invalidateBounds();
 
         mTouchHelper.invalidateRoot();
     }
 
+    private void updateTouchEngine() {
+        mTouchEngine.setMode(mShowHours, mIs24HourMode);
+        mTouchEngine.setDisk(mXCenter, mYCenter, mCircleRadius[HOURS]);
+
+        final int index = mShowHours ? HOURS : MINUTES;
+        mTouchEngine.setRing(mCircleRadius[index] * mNumbersRadiusMultiplier[index],
+                (int) (mCircleRadius[index] * (1 - mNumbersRadiusMultiplier[index])));
+
+        mTouchEngine.setDualRings(
+                (int) (mCircleRadius[HOURS] * mNumbersRadiusMultiplier[HOURS_INNER])
+                        - mSelectionRadius[HOURS],
+                (int) (mCircleRadius[HOURS] * ((mNumbersRadiusMultiplier[HOURS]
+                        + mNumbersRadiusMultiplier[HOURS_INNER]) / 2)),
+                (int) (mCircleRadius[HOURS] * mNumbersRadiusMultiplier[HOURS])
+                        + mSelectionRadius[HOURS]);
+    }
+
     @Override
     public void onDraw(Canvas canvas) {
-        if (!mInputEnabled) {
-            canvas.saveLayerAlpha(0, 0, getWidth(), getHeight(), mDisabledAlpha, Canvas.ALL_SAVE_FLAG);
-        } else {
-            canvas.save();
+        // The grids only change on layout and while animating the radius of the numbers.
+        if (mHoursGridDirty) {
+            calculateGridSizesHours();
+            mHoursGridDirty = false;
+        }
+        if (mMinutesGridDirty) {
+            calculateGridSizesMinutes();
+            mMinutesGridDirty = false;
         }
-
-        calculateGridSizesHours();
-        calculateGridSizesMinutes();
 
         drawCircleBackground(canvas);
         drawSelector(canvas);
 
-        drawTextElements(canvas, mTextSize[HOURS], mTypeface, mOuterTextHours,
-                mTextGridWidths[HOURS], mTextGridHeights[HOURS], mPaint[HOURS],
-                mColor[HOURS], mAlpha[HOURS].getValue());
-
-        if (mIs24HourMode && mInnerTextHours != null) {
-            drawTextElements(canvas, mInnerTextSize, mTypeface, mInnerTextHours,
-                    mInnerTextGridWidths, mInnerTextGridHeights, mPaint[HOURS],
-                    mColor[HOURS], mAlpha[HOURS].getValue());
+        if (mTransition != null && mTransition.isRunning()) {
+            // The numbers change on every frame, caching them would only add work.
+            drawNumbers(canvas);
+        } else {
+            drawNumbersCache(canvas);
         }
 
-        drawTextElements(canvas, mTextSize[MINUTES], mTypeface, mOuterTextMinutes,
-                mTextGridWidths[MINUTES], mTextGridHeights[MINUTES], mPaint[MINUTES],
-                mColor[MINUTES], mAlpha[MINUTES].getValue());
-
         drawCenter(canvas);
 
         if (DEBUG) {
             drawDebug(canvas);
         }
+    }
+
+    private void drawNumbers(Canvas canvas) {
+        // Rings faded out entirely are skipped, and both hours rings share the same paint.
+        final int hoursAlpha = mAlpha[HOURS].getValue();
+        if (hoursAlpha != ALPHA_TRANSPARENT) {
+            final Paint paint = mPaint[HOURS];
+            paint.setColor(mColor[HOURS]);
+            paint.setAlpha(getMultipliedAlpha(mColor[HOURS], hoursAlpha));
+
+            drawTextElements(canvas, paint, mTextSize[HOURS], mOuterTextHours,
+                    mTextX[HOURS], mTextY[HOURS]);
+            if (mIs24HourMode && mInnerTextHours != null) {
+                drawTextElements(canvas, paint, mInnerTextSize, mInnerTextHours,
+                        mTextX[HOURS_INNER], mTextY[HOURS_INNER]);
+            }
+        }
+
+        final int minutesAlpha = mAlpha[MINUTES].getValue();
+        if (minutesAlpha != ALPHA_TRANSPARENT) {
+            final Paint paint = mPaint[MINUTES];
+            paint.setColor(mColor[MINUTES]);
+            paint.setAlpha(getMultipliedAlpha(mColor[MINUTES], minutesAlpha));
+
+            drawTextElements(canvas, paint, mTextSize[MINUTES], mOuterTextMinutes,
+                    mTextX[MINUTES], mTextY[MINUTES]);
+        }
+    }
+
+    /**
+     * Draws the numbers from a bitmap, only redrawing them into it when they changed. Since the
+     * selector is drawn beneath the numbers, only the numbers are cached, not the background.
+     */
+    private void drawNumbersCache(Canvas canvas) {
+        // The numbers are within the circle of the clock when not animating.
+        final int size = 2 * (int) Math.ceil(
+                Math.max(mCircleRadius[HOURS], mCircleRadius[MINUTES]));
+        if (size <= 0) {
+            return;
+        }
+
+        if (mNumbersCache == null || mNumbersCache.getWidth() != size) {
+            // The previous cache may still be referenced by a display list, so it is left to the
+            // garbage collector rather than recycled.
+            mNumbersCache = Bitmap.createBitmap(size, size, Bitmap.Config.ALPHA_8);
+            mNumbersCacheCanvas = new Canvas(mNumbersCache);
+            mNumbersCacheDirty = true;
+        }
+        final int left = mXCenter - size / 2;
+        final int top = mYCenter - size / 2;
+        if (left != mNumbersCacheLeft || top != mNumbersCacheTop) {
+            mNumbersCacheLeft = left;
+            mNumbersCacheTop = top;
+            mNumbersCacheDirty = true;
+        }
+
+        // The fade animators change the alphas directly, so they are checked too.
+        final int hoursAlpha = mAlpha[HOURS].getValue();
+        final int minutesAlpha = mAlpha[MINUTES].getValue();
+        if (mNumbersCacheDirty || mNumbersCacheAlpha[HOURS] != hoursAlpha
+                || mNumbersCacheAlpha[MINUTES] != minutesAlpha) {
+            mNumbersCacheAlpha[HOURS] = hoursAlpha;
+            mNumbersCacheAlpha[MINUTES] = minutesAlpha;
+            mNumbersCache.eraseColor(Color.TRANSPARENT);
+            mNumbersCacheCanvas.save();
+            mNumbersCacheCanvas.translate(-left, -top);
+            drawNumbers(mNumbersCacheCanvas);
+            mNumbersCacheCanvas.restore();
+            mNumbersCacheDirty = false;
+        }
+
+        canvas.drawBitmap(mNumbersCache, left, top, mNumbersCachePaint);
+    }
 
-        canvas.restore();
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        cancelPendingMove();
+
+        // Release the cache, it is redrawn if the view is attached again. It isn't recycled, since
+        // the last display list may still draw it, e.g. during a window exit animation.
+        mNumbersCache = null;
+        mNumbersCacheCanvas = null;
     }
 
     private void drawCircleBackground(Canvas canvas) {
@@ -790,10 +864,12 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         mLineLength[index] = (int) (mCircleRadius[index]
                 * mNumbersRadiusMultiplier[index] * mAnimationRadiusMultiplier[index]);
 
-        double selectionRadians = Math.toRadians(mSelectionDegrees[index]);
+        final int position = RadialTouchEngine.getPositionForDegrees(mSelectionDegrees[index]);
+        final double sine = RadialTouchEngine.SINES[position];
+        final double cosine = RadialTouchEngine.COSINES[position];
 
-        int pointX = mXCenter + (int) (mLineLength[index] * Math.sin(selectionRadians));
-        int pointY = mYCenter - (int) (mLineLength[index] * Math.cos(selectionRadians));
+        int pointX = mXCenter + (int) (mLineLength[index] * sine);
+        int pointY = mYCenter - (int) (mLineLength[index] * cosine);
 
         int color;
         int alpha;
@@ -820,8 +896,8 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
             // We're not drawing the dot, so shorten the line to only go as far as the edge of the
             // selection circle
             int lineLength = mLineLength[index] - mSelectionRadius[index];
-            pointX = mXCenter + (int) (lineLength * Math.sin(selectionRadians));
-            pointY = mYCenter - (int) (lineLength * Math.cos(selectionRadians));
+            pointX = mXCenter + (int) (lineLength * sine);
+            pointY = mYCenter - (int) (lineLength * cosine);
         }
 
         // Draw the line
@@ -889,8 +965,8 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
                 * mNumbersRadiusMultiplier[HOURS] * mAnimationRadiusMultiplier[HOURS];
 
         // Calculate the positions for the 12 numbers in the main circle.
-        calculateGridSizes(mPaint[HOURS], numbersRadius, mXCenter, mYCenter,
-                mTextSize[HOURS], mTextGridHeights[HOURS], mTextGridWidths[HOURS]);
+        calculateTextPositions(mPaint[HOURS], numbersRadius, mXCenter, mYCenter,
+                mTextSize[HOURS], mTextX[HOURS], mTextY[HOURS]);
 
         // If we have an inner circle, calculate those positions too.
         if (mIs24HourMode) {
@@ -898,8 +974,8 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
                     * mNumbersRadiusMultiplier[HOURS_INNER]
                     * mAnimationRadiusMultiplier[HOURS_INNER];
 
-            calculateGridSizes(mPaint[HOURS], innerNumbersRadius, mXCenter, mYCenter,
-                    mInnerTextSize, mInnerTextGridHeights, mInnerTextGridWidths);
+            calculateTextPositions(mPaint[HOURS], innerNumbersRadius, mXCenter, mYCenter,
+                    mInnerTextSize, mTextX[HOURS_INNER], mTextY[HOURS_INNER]);
         }
     }
 
@@ -909,294 +985,207 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
                 * mNumbersRadiusMultiplier[MINUTES] * mAnimationRadiusMultiplier[MINUTES];
 
         // Calculate the positions for the 12 numbers in the main circle.
-        calculateGridSizes(mPaint[MINUTES], numbersRadius, mXCenter, mYCenter,
-                mTextSize[MINUTES], mTextGridHeights[MINUTES], mTextGridWidths[MINUTES]);
+        calculateTextPositions(mPaint[MINUTES], numbersRadius, mXCenter, mYCenter,
+                mTextSize[MINUTES], mTextX[MINUTES], mTextY[MINUTES]);
     }
 
-
     /**
-     * Using the trigonometric Unit Circle, calculate the positions that the text will need to be
-     * drawn at based on the specified circle radius. Place the values in the textGridHeights and
-     * textGridWidths parameters.
+     * Using the trigonometric Unit Circle, calculate the positions that the 12 text values will
+     * need to be drawn at based on the specified circle radius, vertically centered on their
+     * baseline. Place the values in the textX and textY parameters.
      */
-    private static void calculateGridSizes(Paint paint, float numbersRadius, float xCenter,
-            float yCenter, float textSize, float[] textGridHeights, float[] textGridWidths) {
-        /*
-         * The numbers need to be drawn in a 7x7 grid, representing the points on the Unit Circle.
-         */
-        final float offset1 = numbersRadius;
-        // cos(30) = a / r => r * cos(30)
-        final float offset2 = numbersRadius * COSINE_30_DEGREES;
-        // sin(30) = o / r => r * sin(30)
-        final float offset3 = numbersRadius * SINE_30_DEGREES;
-
+    private static void calculateTextPositions(Paint paint, float numbersRadius, float xCenter,
+            float yCenter, float textSize, float[] textX, float[] textY) {
         paint.setTextSize(textSize);
         // We'll need yTextBase to be slightly lower to account for the text's baseline.
         yCenter -= (paint.descent() + paint.ascent()) / 2;
 
-        textGridHeights[0] = yCenter - offset1;
-        textGridWidths[0] = xCenter - offset1;
-        textGridHeights[1] = yCenter - offset2;
-        textGridWidths[1] = xCenter - offset2;
-        textGridHeights[2] = yCenter - offset3;
-        textGridWidths[2] = xCenter - offset3;
-        textGridHeights[3] = yCenter;
-        textGridWidths[3] = xCenter;
-        textGridHeights[4] = yCenter + offset3;
-        textGridWidths[4] = xCenter + offset3;
-        textGridHeights[5] = yCenter + offset2;
-        textGridWidths[5] = xCenter + offset2;
-        textGridHeights[6] = yCenter + offset1;
-        textGridWidths[6] = xCenter + offset1;
+        for (int i = 0; i < 12; i++) {
+            textX[i] = xCenter + numbersRadius * TEXT_X_MULTIPLIERS[i];
+            textY[i] = yCenter + numbersRadius * TEXT_Y_MULTIPLIERS[i];
+        }
     }
 
     /**
-     * Draw the 12 text values at the positions specified by the textGrid parameters.
+     * Draw the 12 text values at the positions specified by the textX and textY parameters. The
+     * paint's color and alpha must already be set.
      */
-    private void drawTextElements(Canvas canvas, float textSize, Typeface typeface, String[] texts,
-            float[] textGridWidths, float[] textGridHeights, Paint paint, int color, int alpha) {
+    private static void drawTextElements(Canvas canvas, Paint paint, float textSize,
+            String[] texts, float[] textX, float[] textY) {
         paint.setTextSize(textSize);
-        paint.setTypeface(typeface);
-        paint.setColor(color);
-        paint.setAlpha(getMultipliedAlpha(color, alpha));
-        canvas.drawText(texts[0], textGridWidths[3], textGridHeights[0], paint);
-        canvas.drawText(texts[1], textGridWidths[4], textGridHeights[1], paint);
-        canvas.drawText(texts[2], textGridWidths[5], textGridHeights[2], paint);
-        canvas.drawText(texts[3], textGridWidths[6], textGridHeights[3], paint);
-        canvas.drawText(texts[4], textGridWidths[5], textGridHeights[4], paint);
-        canvas.drawText(texts[5], textGridWidths[4], textGridHeights[5], paint);
-        canvas.drawText(texts[6], textGridWidths[3], textGridHeights[6], paint);
-        canvas.drawText(texts[7], textGridWidths[2], textGridHeights[5], paint);
-        canvas.drawText(texts[8], textGridWidths[1], textGridHeights[4], paint);
-        canvas.drawText(texts[9], textGridWidths[0], textGridHeights[3], paint);
-        canvas.drawText(texts[10], textGridWidths[1], textGridHeights[2], paint);
-        canvas.drawText(texts[11], textGridWidths[2], textGridHeights[1], paint);
-    }
-
-    // Used for animating the hours by changing their radius
-    @SuppressWarnings("unused")
+        for (int i = 0; i < 12; i++) {
+            canvas.drawText(texts[i], textX[i], textY[i], paint);
+        }
+    }
+
     private void setAnimationRadiusMultiplierHours(float animationRadiusMultiplier) {
         mAnimationRadiusMultiplier[HOURS] = animationRadiusMultiplier;
         mAnimationRadiusMultiplier[HOURS_INNER] = animationRadiusMultiplier;
+        mHoursGridDirty = true;
+        mNumbersCacheDirty = true;
     }
 
-    // Used for animating the minutes by changing their radius
-    @SuppressWarnings("unused")
     private void setAnimationRadiusMultiplierMinutes(float animationRadiusMultiplier) {
         mAnimationRadiusMultiplier[MINUTES] = animationRadiusMultiplier;
+        mMinutesGridDirty = true;
+        mNumbersCacheDirty = true;
     }
 
-    private static ObjectAnimator getRadiusDisappearAnimator(Object target,
-            String radiusPropertyName, InvalidateUpdateListener updateListener,
-            float midRadiusMultiplier, float endRadiusMultiplier) {
-        Keyframe kf0, kf1, kf2;
-        float midwayPoint = 0.2f;
-        int duration = 500;
-
-        kf0 = Keyframe.ofFloat(0f, 1);
-        kf1 = Keyframe.ofFloat(midwayPoint, midRadiusMultiplier);
-        kf2 = Keyframe.ofFloat(1f, endRadiusMultiplier);
-        PropertyValuesHolder radiusDisappear = PropertyValuesHolder.ofKeyframe(
-                radiusPropertyName, kf0, kf1, kf2);
-
-        ObjectAnimator animator = ObjectAnimator.ofPropertyValuesHolder(
-                target, radiusDisappear).setDuration(duration);
-        animator.addUpdateListener(updateListener);
-        return animator;
-    }
-
-    private static ObjectAnimator getRadiusReappearAnimator(Object target,
-            String radiusPropertyName, InvalidateUpdateListener updateListener,
-            float midRadiusMultiplier, float endRadiusMultiplier) {
-        Keyframe kf0, kf1, kf2, kf3;
-        float midwayPoint = 0.2f;
-        int duration = 500;
-
-        // Set up animator for reappearing.
-        float delayMultiplier = 0.25f;
-        float transitionDurationMultiplier = 1f;
-        float totalDurationMultiplier = transitionDurationMultiplier + delayMultiplier;
-        int totalDuration = (int) (duration * totalDurationMultiplier);
-        float delayPoint = (delayMultiplier * duration) / totalDuration;
-        midwayPoint = 1 - (midwayPoint * (1 - delayPoint));
-
-        kf0 = Keyframe.ofFloat(0f, endRadiusMultiplier);
-        kf1 = Keyframe.ofFloat(delayPoint, endRadiusMultiplier);
-        kf2 = Keyframe.ofFloat(midwayPoint, midRadiusMultiplier);
-        kf3 = Keyframe.ofFloat(1f, 1);
-        PropertyValuesHolder radiusReappear = PropertyValuesHolder.ofKeyframe(
-                radiusPropertyName, kf0, kf1, kf2, kf3);
-
-        ObjectAnimator animator = ObjectAnimator.ofPropertyValuesHolder(
-                target, radiusReappear).setDuration(totalDuration);
-        animator.addUpdateListener(updateListener);
-        return animator;
-    }
-
-    private static ObjectAnimator getFadeOutAnimator(IntHolder target, int startAlpha, int endAlpha,
-                InvalidateUpdateListener updateListener) {
-        int duration = 500;
-        ObjectAnimator animator = ObjectAnimator.ofInt(target, "value", startAlpha, endAlpha);
-        animator.setDuration(duration);
-        animator.addUpdateListener(updateListener);
-
-        return animator;
-    }
-
-    private static ObjectAnimator getFadeInAnimator(IntHolder target, int startAlpha, int endAlpha,
-                InvalidateUpdateListener updateListener) {
-        Keyframe kf0, kf1, kf2;
-        int duration = 500;
-
-        // Set up animator for reappearing.
-        float delayMultiplier = 0.25f;
-        float transitionDurationMultiplier = 1f;
-        float totalDurationMultiplier = transitionDurationMultiplier + delayMultiplier;
-        int totalDuration = (int) (duration * totalDurationMultiplier);
-        float delayPoint = (delayMultiplier * duration) / totalDuration;
-
-        kf0 = Keyframe.ofInt(0f, startAlpha);
-        kf1 = Keyframe.ofInt(delayPoint, startAlpha);
-        kf2 = Keyframe.ofInt(1f, endAlpha);
-        PropertyValuesHolder fadeIn = PropertyValuesHolder.ofKeyframe("value", kf0, kf1, kf2);
-
-        ObjectAnimator animator = ObjectAnimator.ofPropertyValuesHolder(
-                target, fadeIn).setDuration(totalDuration);
-        animator.addUpdateListener(updateListener);
-        return animator;
-    }
-
-    private class InvalidateUpdateListener implements ValueAnimator.AnimatorUpdateListener {
+    /**
+     * Drives the transition between hours and minutes from a single animator, computing the values
+     * of both the disappearing and the appearing sides on each frame.
+     */
+    private class TransitionUpdateListener implements ValueAnimator.AnimatorUpdateListener {
         @Override
         public void onAnimationUpdate(ValueAnimator animation) {
-            RadialTimePickerView.this.invalidate();
+            final float playTime = animation.getAnimatedFraction() * TRANSITION_TOTAL_DURATION;
+            final float outFraction =
+                    getInterpolation(Math.min(playTime / TRANSITION_DURATION, 1f));
+            final float inFraction = getInterpolation(playTime / TRANSITION_TOTAL_DURATION);
+
+            final int out = mTransitionToMinutes ? HOURS : MINUTES;
+            final int in = mTransitionToMinutes ? MINUTES : HOURS;
+
+            final float outRadius = getDisappearRadius(outFraction);
+            final float inRadius = getReappearRadius(inFraction);
+            if (mTransitionToMinutes) {
+                setAnimationRadiusMultiplierHours(outRadius);
+                setAnimationRadiusMultiplierMinutes(inRadius);
+            } else {
+                setAnimationRadiusMultiplierMinutes(outRadius);
+                setAnimationRadiusMultiplierHours(inRadius);
+            }
+
+            mAlpha[out].setValue(getFadeOutAlpha(ALPHA_OPAQUE, outFraction));
+            mAlphaSelector[out][SELECTOR_CIRCLE].setValue(
+                    getFadeOutAlpha(ALPHA_SELECTOR, outFraction));
+            mAlphaSelector[out][SELECTOR_DOT].setValue(getFadeOutAlpha(ALPHA_OPAQUE, outFraction));
+            mAlphaSelector[out][SELECTOR_LINE].setValue(
+                    getFadeOutAlpha(ALPHA_SELECTOR, outFraction));
+
+            mAlpha[in].setValue(getFadeInAlpha(ALPHA_OPAQUE, inFraction));
+            mAlphaSelector[in][SELECTOR_CIRCLE].setValue(
+                    getFadeInAlpha(ALPHA_SELECTOR, inFraction));
+            mAlphaSelector[in][SELECTOR_DOT].setValue(getFadeInAlpha(ALPHA_OPAQUE, inFraction));
+            mAlphaSelector[in][SELECTOR_LINE].setValue(getFadeInAlpha(ALPHA_SELECTOR, inFraction));
+
+            invalidate();
         }
-    }
 
-    private void startHoursToMinutesAnimation() {
-        if (mHoursToMinutesAnims.size() == 0) {
-            mHoursToMinutesAnims.add(getRadiusDisappearAnimator(this,
-                    "animationRadiusMultiplierHours", mInvalidateUpdateListener,
-                    mTransitionMidRadiusMultiplier, mTransitionEndRadiusMultiplier));
-            mHoursToMinutesAnims.add(getFadeOutAnimator(mAlpha[HOURS],
-                    ALPHA_OPAQUE, ALPHA_TRANSPARENT, mInvalidateUpdateListener));
-            mHoursToMinutesAnims.add(getFadeOutAnimator(mAlphaSelector[HOURS][SELECTOR_CIRCLE],
-                    ALPHA_SELECTOR, ALPHA_TRANSPARENT, mInvalidateUpdateListener));
-            mHoursToMinutesAnims.add(getFadeOutAnimator(mAlphaSelector[HOURS][SELECTOR_DOT],
-                    ALPHA_OPAQUE, ALPHA_TRANSPARENT, mInvalidateUpdateListener));
-            mHoursToMinutesAnims.add(getFadeOutAnimator(mAlphaSelector[HOURS][SELECTOR_LINE],
-                    ALPHA_SELECTOR, ALPHA_TRANSPARENT, mInvalidateUpdateListener));
-
-            mHoursToMinutesAnims.add(getRadiusReappearAnimator(this,
-                    "animationRadiusMultiplierMinutes", mInvalidateUpdateListener,
-                    mTransitionMidRadiusMultiplier, mTransitionEndRadiusMultiplier));
-            mHoursToMinutesAnims.add(getFadeInAnimator(mAlpha[MINUTES],
-                    ALPHA_TRANSPARENT, ALPHA_OPAQUE, mInvalidateUpdateListener));
-            mHoursToMinutesAnims.add(getFadeInAnimator(mAlphaSelector[MINUTES][SELECTOR_CIRCLE],
-                    ALPHA_TRANSPARENT, ALPHA_SELECTOR, mInvalidateUpdateListener));
-            mHoursToMinutesAnims.add(getFadeInAnimator(mAlphaSelector[MINUTES][SELECTOR_DOT],
-                    ALPHA_TRANSPARENT, ALPHA_OPAQUE, mInvalidateUpdateListener));
-            mHoursToMinutesAnims.add(getFadeInAnimator(mAlphaSelector[MINUTES][SELECTOR_LINE],
-                    ALPHA_TRANSPARENT, ALPHA_SELECTOR, mInvalidateUpdateListener));
+        // Same curve as AccelerateDecelerateInterpolator, the default of ValueAnimator.
+        private float getInterpolation(float input) {
+            return (float) (Math.cos((input + 1) * Math.PI) / 2.0f) + 0.5f;
         }
 
-        if (mTransition != null && mTransition.isRunning()) {
-            mTransition.end();
+        private float getDisappearRadius(float fraction) {
+            if (fraction <= TRANSITION_DISAPPEAR_MIDWAY_POINT) {
+                return interpolate(1, mTransitionMidRadiusMultiplier,
+                        fraction / TRANSITION_DISAPPEAR_MIDWAY_POINT);
+            }
+            return interpolate(mTransitionMidRadiusMultiplier, mTransitionEndRadiusMultiplier,
+                    (fraction - TRANSITION_DISAPPEAR_MIDWAY_POINT)
+                            / (1 - TRANSITION_DISAPPEAR_MIDWAY_POINT));
         }
-        mTransition = new AnimatorSet();
-        mTransition.playTogether(mHoursToMinutesAnims);
-        mTransition.start();
+
+        private float getReappearRadius(float fraction) {
+            if (fraction <= TRANSITION_DELAY_POINT) {
+                return mTransitionEndRadiusMultiplier;
+            } else if (fraction <= TRANSITION_REAPPEAR_MIDWAY_POINT) {
+                return interpolate(mTransitionEndRadiusMultiplier, mTransitionMidRadiusMultiplier,
+                        (fraction - TRANSITION_DELAY_POINT)
+                                / (TRANSITION_REAPPEAR_MIDWAY_POINT - TRANSITION_DELAY_POINT));
+            }
+            return interpolate(mTransitionMidRadiusMultiplier, 1,
+                    (fraction - TRANSITION_REAPPEAR_MIDWAY_POINT)
+                            / (1 - TRANSITION_REAPPEAR_MIDWAY_POINT));
+        }
+
+        private int getFadeOutAlpha(int startAlpha, float fraction) {
+            return (int) (startAlpha - fraction * startAlpha);
+        }
+
+        private int getFadeInAlpha(int endAlpha, float fraction) {
+            if (fraction <= TRANSITION_DELAY_POINT) {
+                return ALPHA_TRANSPARENT;
+            }
+            return (int) (endAlpha * (fraction - TRANSITION_DELAY_POINT)
+                    / (1 - TRANSITION_DELAY_POINT));
+        }
+
+        private float interpolate(float start, float end, float fraction) {
+            return start + fraction * (end - start);
+        }
+    }
+
+    private void startHoursToMinutesAnimation() {
+        startTransition(true);
     }
 
     private void startMinutesToHoursAnimation() {
-        if (mMinuteToHoursAnims.size() == 0) {
-            mMinuteToHoursAnims.add(getRadiusDisappearAnimator(this,
-                    "animationRadiusMultiplierMinutes", mInvalidateUpdateListener,
-                    mTransitionMidRadiusMultiplier, mTransitionEndRadiusMultiplier));
-            mMinuteToHoursAnims.add(getFadeOutAnimator(mAlpha[MINUTES],
-                    ALPHA_OPAQUE, ALPHA_TRANSPARENT, mInvalidateUpdateListener));
-            mMinuteToHoursAnims.add(getFadeOutAnimator(mAlphaSelector[MINUTES][SELECTOR_CIRCLE],
-                    ALPHA_SELECTOR, ALPHA_TRANSPARENT, mInvalidateUpdateListener));
-            mMinuteToHoursAnims.add(getFadeOutAnimator(mAlphaSelector[MINUTES][SELECTOR_DOT],
-                    ALPHA_OPAQUE, ALPHA_TRANSPARENT, mInvalidateUpdateListener));
-            mMinuteToHoursAnims.add(getFadeOutAnimator(mAlphaSelector[MINUTES][SELECTOR_LINE],
-                    ALPHA_SELECTOR, ALPHA_TRANSPARENT, mInvalidateUpdateListener));
-
-            mMinuteToHoursAnims.add(getRadiusReappearAnimator(this,
-                    "animationRadiusMultiplierHours", mInvalidateUpdateListener,
-                    mTransitionMidRadiusMultiplier, mTransitionEndRadiusMultiplier));
-            mMinuteToHoursAnims.add(getFadeInAnimator(mAlpha[HOURS],
-                    ALPHA_TRANSPARENT, ALPHA_OPAQUE, mInvalidateUpdateListener));
-            mMinuteToHoursAnims.add(getFadeInAnimator(mAlphaSelector[HOURS][SELECTOR_CIRCLE],
-                    ALPHA_TRANSPARENT, ALPHA_SELECTOR, mInvalidateUpdateListener));
-            mMinuteToHoursAnims.add(getFadeInAnimator(mAlphaSelector[HOURS][SELECTOR_DOT],
-                    ALPHA_TRANSPARENT, ALPHA_OPAQUE, mInvalidateUpdateListener));
-            mMinuteToHoursAnims.add(getFadeInAnimator(mAlphaSelector[HOURS][SELECTOR_LINE],
-                    ALPHA_TRANSPARENT, ALPHA_SELECTOR, mInvalidateUpdateListener));
-        }
+        startTransition(false);
+    }
 
-        if (mTransition != null && mTransition.isRunning()) {
+    private void startTransition(boolean toMinutes) {
+        if (mTransition == null) {
+            // Built once and replayed, in either direction.
+            mTransition = ValueAnimator.ofFloat(0f, 1f);
+            mTransition.setDuration(TRANSITION_TOTAL_DURATION);
+            mTransition.setInterpolator(new LinearInterpolator());
+            mTransition.addUpdateListener(mTransitionUpdateListener);
+        } else if (mTransition.isRunning()) {
             mTransition.end();
         }
-        mTransition = new AnimatorSet();
-        mTransition.playTogether(mMinuteToHoursAnims);
+        mTransitionToMinutes = toMinutes;
         mTransition.start();
     }
 
-    private int getDegreesFromXY(float x, float y) {
-        final double hypotenuse = Math.sqrt(
-                (y - mYCenter) * (y - mYCenter) + (x - mXCenter) * (x - mXCenter));
+    /**
+     * Returns the animator of the transition between hours and minutes, or null if it never ran.
+     */
+    @VisibleForTesting
+    ValueAnimator getTransition() {
+        return mTransition;
+    }
 
-        // Basic check if we're outside the range of the disk
-        if (hypotenuse > mCircleRadius[HOURS]) {
-            return -1;
-        }
-        // Check
-        if (mIs24HourMode && mShowHours) {
-            if (hypotenuse >= mMinHypotenuseForInnerNumber
-                    && hypotenuse <= mHalfwayHypotenusePoint) {
-                mIsOnInnerCircle = true;
-            } else if (hypotenuse <= mMaxHypotenuseForOuterNumber
-                    && hypotenuse >= mHalfwayHypotenusePoint) {
-                mIsOnInnerCircle = false;
-            } else {
-                return -1;
-            }
-        } else {
-            final int index =  (mShowHours) ? HOURS : MINUTES;
-            final float length = (mCircleRadius[index] * mNumbersRadiusMultiplier[index]);
-            final int distanceToNumber = (int) Math.abs(hypotenuse - length);
-            final int maxAllowedDistance =
-                    (int) (mCircleRadius[index] * (1 - mNumbersRadiusMultiplier[index]));
-            if (distanceToNumber > maxAllowedDistance) {
-                return -1;
-            }
+    private int getDegreesFromXY(float x, float y) {
+        final int degrees = mTouchEngine.getDegrees(x, y);
+        if (degrees != -1) {
+            updateIsOnInnerCircle();
         }
+        return degrees;
+    }
 
-        final float opposite = Math.abs(y - mYCenter);
-        int degrees = (int) (Math.toDegrees(Math.asin(opposite / hypotenuse)) + 0.5);
+    private int getValueFromXY(float x, float y) {
+        final int value = mTouchEngine.getValue(x, y);
+        if (value != -1) {
+            updateIsOnInnerCircle();
+        }
+        return value;
+    }
 
-        // Now we have to translate to the correct quadrant.
-        final boolean rightSide = (x > mXCenter);
-        final boolean topSide = (y < mYCenter);
-        if (rightSide) {
-            if (topSide) {
-                degrees = 90 - degrees;
-            } else {
-                degrees = 90 + degrees;
-            }
-        } else {
-            if (topSide) {
-                degrees = 270 + degrees;
-            } else {
-                degrees = 270 - degrees;
-            }
+    private void updateIsOnInnerCircle() {
+        if (mIs24HourMode && mShowHours) {
+            mIsOnInnerCircle = mTouchEngine.isOnInnerCircle();
         }
-        return degrees;
     }
 
     boolean mChangedDuringTouch = false;
 
+    // The last position moved to, handled on the next frame.
+    private boolean mMovePending;
+    private float mPendingMoveX;
+    private float mPendingMoveY;
+
+    private int mHandledTouchEventCount;
+    private int mCoalescedTouchEventCount;
+
+    private final Runnable mPendingMoveRunnable = new Runnable() {
+        @Override
+        public void run() {
+            handlePendingMove();
+        }
+    };
+
     @Override
     public boolean onTouch(View v, MotionEvent event) {
         if (!mInputEnabled) {
@@ -1204,9 +1193,28 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         }
 
         final int action = event.getActionMasked();
-        if (action == MotionEvent.ACTION_MOVE
-                || action == MotionEvent.ACTION_UP
+        if (action == MotionEvent.ACTION_MOVE) {
+            // Touch panels may report several moves per frame, handling each one would notify the
+            // listener and invalidate as many times. Only the latest sample on a value is kept, and
+            // handled once per frame.
+            if (!setPendingMove(event)) {
+                // No sample touches a value, so handling the event would change nothing.
+                mCoalescedTouchEventCount += event.getHistorySize() + 1;
+            } else {
+                mCoalescedTouchEventCount += event.getHistorySize();
+                if (mMovePending) {
+                    mCoalescedTouchEventCount++;
+                } else {
+                    mMovePending = true;
+                    ViewCompat.postOnAnimation(this, mPendingMoveRunnable);
+                }
+            }
+        } else if (action == MotionEvent.ACTION_UP
                 || action == MotionEvent.ACTION_DOWN) {
+            // Moves preceding this event must be handled first, as they affect whether the value
+            // changed during the touch.
+            handlePendingMove();
+
             boolean forceSelection = false;
             boolean autoAdvance = false;
 
@@ -1225,18 +1233,79 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
 
             mChangedDuringTouch |= handleTouchInput(
                     event.getX(), event.getY(), forceSelection, autoAdvance);
+            mHandledTouchEventCount++;
+        } else if (action == MotionEvent.ACTION_CANCEL) {
+            // The gesture was taken away, so its last move isn't a selection.
+            cancelPendingMove();
         }
 
         return true;
     }
 
+    /**
+     * Keeps the latest sample of {@code event}, historical ones included, that touches a value as
+     * the pending move. A move ending off the numbers still settles on the last value it went
+     * over. Returns false if no sample touches a value.
+     */
+    private boolean setPendingMove(MotionEvent event) {
+        final int historySize = event.getHistorySize();
+        for (int i = historySize; i >= 0; i--) {
+            final float x = i == historySize ? event.getX() : event.getHistoricalX(i);
+            final float y = i == historySize ? event.getY() : event.getHistoricalY(i);
+            if (mTouchEngine.getDegrees(x, y) != -1) {
+                mPendingMoveX = x;
+                mPendingMoveY = y;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void cancelPendingMove() {
+        if (mMovePending) {
+            mMovePending = false;
+            removeCallbacks(mPendingMoveRunnable);
+        }
+    }
+
+    /**
+     * Handles the latest move of the current touch, if not handled yet.
+     */
+    @VisibleForTesting
+    void handlePendingMove() {
+        if (mMovePending) {
+            mMovePending = false;
+            removeCallbacks(mPendingMoveRunnable);
+
+            mChangedDuringTouch |= handleTouchInput(mPendingMoveX, mPendingMoveY, false, false);
+            mHandledTouchEventCount++;
+        }
+    }
+
+    /**
+     * Returns the number of touch events and samples handled, at most one move per frame.
+     */
+    @VisibleForTesting
+    int getHandledTouchEventCount() {
+        return mHandledTouchEventCount;
+    }
+
+    /**
+     * Returns the number of move events and historical samples that were skipped, because a more
+     * recent one was handled in the same frame or they touched no value.
+     */
+    @VisibleForTesting
+    int getCoalescedTouchEventCount() {
+        return mCoalescedTouchEventCount;
+    }
+
     private boolean handleTouchInput(
             float x, float y, boolean forceSelection, boolean autoAdvance) {
-        // Calling getDegreesFromXY has side effects, so cache
+        // Calling getValueFromXY has side effects, so cache
         // whether we used to be on the inner circle.
         final boolean wasOnInnerCircle = mIsOnInnerCircle;
-        final int degrees = getDegreesFromXY(x, y);
-        if (degrees == -1) {
+        final int value = getValueFromXY(x, y);
+        if (value == -1) {
             return false;
         }
 
@@ -1246,7 +1315,7 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         final boolean valueChanged;
 
         if (mShowHours) {
-            final int snapDegrees = snapOnly30s(degrees, 0) % 360;
+            final int snapDegrees = value * DEGREES_FOR_ONE_HOUR;
             valueChanged = selectionDegrees[HOURS] != snapDegrees
                     || selectionDegrees[HOURS_INNER] != snapDegrees
                     || wasOnInnerCircle != mIsOnInnerCircle;
@@ -1256,7 +1325,7 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
             type = HOURS;
             newValue = getCurrentHour();
         } else {
-            final int snapDegrees = snapPrefer30s(degrees) % 360;
+            final int snapDegrees = value * DEGREES_FOR_ONE_MINUTE;
             valueChanged = selectionDegrees[MINUTES] != snapDegrees;
 
             selectionDegrees[MINUTES] = snapDegrees;
@@ -1290,10 +1359,53 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
     }
 
     public void setInputEnabled(boolean inputEnabled) {
+        if (mInputEnabled == inputEnabled) {
+            return;
+        }
         mInputEnabled = inputEnabled;
+        updateLayer();
         invalidate();
     }
 
+    /**
+     * Keeps the layer type and paint set on the view, to apply them as is while input is enabled,
+     * and with the disabled alpha while it is disabled.
+     */
+    @Override
+    public void setLayerType(int layerType, Paint paint) {
+        if (!mLayerTypeTracked) {
+            // Called by the View constructor, the layer type is read back once it returns.
+            super.setLayerType(layerType, paint);
+            return;
+        }
+        mLayerType = layerType;
+        mLayerPaint = paint;
+        updateLayer();
+    }
+
+    /**
+     * Returns the layer type set on the view, not the one used to draw it while input is disabled.
+     */
+    @Override
+    public int getLayerType() {
+        return mLayerTypeTracked ? mLayerType : super.getLayerType();
+    }
+
+    private void updateLayer() {
+        if (mInputEnabled) {
+            super.setLayerType(mLayerType, mLayerPaint);
+        } else {
+            // Instead of drawing into an offscreen buffer with the disabled alpha on every frame,
+            // let the view be rendered into a layer that is only redrawn when invalidated, and
+            // composited with the disabled alpha. The output is the same as blending the whole
+            // view at once. A layer set from outside is kept, with the alpha of its paint scaled.
+            final Paint paint = mLayerPaint != null ? new Paint(mLayerPaint) : new Paint();
+            paint.setAlpha(paint.getAlpha() * mDisabledAlpha / 255);
+            super.setLayerType(
+                    mLayerType != LAYER_TYPE_NONE ? mLayerType : LAYER_TYPE_HARDWARE, paint);
+        }
+    }
+
     private class RadialPickerTouchHelper extends ExploreByTouchHelper {
         private final Rect mTempRect = new Rect();
 
@@ -1309,6 +1421,13 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
         /** Increment in which virtual views are exposed for minutes. */
         private final int MINUTE_INCREMENT = 5;
 
+        /**
+         * Bounds of the virtual views, 4 values per hour (0 to 23) followed by 4 per minute. Only
+         * computed when a node is populated, i.e. when an accessibility service is running.
+         */
+        private final int[] mBounds = new int[(24 + 60) * 4];
+        private boolean mBoundsDirty = true;
+
         public RadialPickerTouchHelper() {
             super(RadialTimePickerView.this);
         }
@@ -1363,7 +1482,8 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
                 minValue = 0;
             }
 
-            final int steppedValue = snapOnly30s(initialValue * stepSize, step) / stepSize;
+            final int steppedValue =
+                    RadialTouchEngine.snapOnly30s(initialValue * stepSize, step) / stepSize;
             final int clampedValue = MathUtils.constrain(steppedValue, minValue, maxValue);
             if (mShowHours) {
                 setCurrentHour(clampedValue);
@@ -1384,7 +1504,7 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
             mIsOnInnerCircle = wasOnInnerCircle;
 
             if (degrees != -1) {
-                final int snapDegrees = snapOnly30s(degrees, 0) % 360;
+                final int snapDegrees = RadialTouchEngine.snapOnly30s(degrees, 0) % 360;
                 if (mShowHours) {
                     final int hour24 = getHourForDegrees(snapDegrees, isOnInnerCircle);
                     final int hour = mIs24HourMode ? hour24 : hour24To12(hour24);
@@ -1527,12 +1647,47 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
             }
         }
 
+        /**
+         * Marks the bounds of the virtual views as changed, to be recomputed when next needed.
+         */
+        void invalidateBounds() {
+            mBoundsDirty = true;
+        }
+
+        private void computeBounds() {
+            for (int hour = 0; hour < 24; hour++) {
+                computeBounds(TYPE_HOUR, hour, hour * 4);
+            }
+            for (int minute = 0; minute < 60; minute++) {
+                computeBounds(TYPE_MINUTE, minute, (24 + minute) * 4);
+            }
+        }
+
         private void getBoundsForVirtualView(int virtualViewId, Rect bounds) {
-            final float radius;
+            if (mBoundsDirty) {
+                computeBounds();
+                mBoundsDirty = false;
+            }
+
             final int type = getTypeFromId(virtualViewId);
             final int value = getValueFromId(virtualViewId);
+            final int index;
+            if (type == TYPE_HOUR && value < 24) {
+                index = value * 4;
+            } else if (type == TYPE_MINUTE && value < 60) {
+                index = (24 + value) * 4;
+            } else {
+                // This should never happen.
+                bounds.setEmpty();
+                return;
+            }
+            bounds.set(mBounds[index], mBounds[index + 1], mBounds[index + 2], mBounds[index + 3]);
+        }
+
+        private void computeBounds(int type, int value, int index) {
+            final float radius;
             final float centerRadius;
-            final float degrees;
+            final int degrees;
             if (type == TYPE_HOUR) {
                 final boolean innerCircle = mIs24HourMode && value > 0 && value <= 12;
                 if (innerCircle) {
@@ -1555,12 +1710,8 @@ public class RadialTimePickerView extends View implements View.OnTouchListener {
                 radius = 0;
             }
 
-            final double radians = Math.toRadians(degrees);
-            final float xCenter = mXCenter + centerRadius * (float) Math.sin(radians);
-            final float yCenter = mYCenter - centerRadius * (float) Math.cos(radians);
-
-            bounds.set((int) (xCenter - radius), (int) (yCenter - radius),
-                    (int) (xCenter + radius), (int) (yCenter + radius));
+            RadialTouchEngine.getCircleBounds(
+                    mXCenter, mYCenter, centerRadius, radius, degrees, mBounds, index);
         }
 
         private CharSequence getVirtualViewDescription(int type, int value) {
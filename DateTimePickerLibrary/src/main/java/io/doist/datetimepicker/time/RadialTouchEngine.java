@@ -0,0 +1,397 @@
+package io.doist.datetimepicker.time;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps touches on {@link RadialTimePickerView} to the selected hour or minute. Distances are
+ * compared squared against precomputed ring radii, and angles are found by searching a table of
+ * tangents within the touched octant, so no square roots or trigonometric functions are evaluated
+ * per touch. Also lays out the touch targets exposed to accessibility services around the clock.
+ * Only uses plain Java, and is not thread-safe.
+ */
+final class RadialTouchEngine {
+    private static final int DEGREES_FOR_ONE_HOUR = 30;
+    private static final int DEGREES_FOR_ONE_MINUTE = 6;
+
+    // Snap tables by configuration, shared by all engines.
+    private static final ConcurrentHashMap<SnapConfig, int[]> sSnapTables =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Maps touchable degrees to the 60 selectable minutes, giving each of the 12 visible values a
+     * range of 14 input degrees and each non-visible value a range of 4, so visible numbers are
+     * more than 3 times easier to get than non-visible numbers.
+     */
+    private static final int[] sSnapPrefer30sMap = getSnapTable(1, 14, 4);
+
+    // Tangents of the rounding boundaries between whole degrees, 0.5 through 44.5.
+    private static final float[] TAN_HALF_DEGREES = new float[45];
+
+    static {
+        for (int i = 0; i < TAN_HALF_DEGREES.length; i++) {
+            TAN_HALF_DEGREES[i] = (float) Math.tan(Math.toRadians(i + 0.5));
+        }
+    }
+
+    // Sines and cosines of the 60 positions of the hand, clockwise from 12 o'clock. Hours use every
+    // fifth position.
+    static final double[] SINES = new double[60];
+    static final double[] COSINES = new double[60];
+
+    static {
+        for (int i = 0; i < 60; i++) {
+            final double radians = Math.toRadians(i * DEGREES_FOR_ONE_MINUTE);
+            SINES[i] = Math.sin(radians);
+            COSINES[i] = Math.cos(radians);
+        }
+    }
+
+    /**
+     * Returns the mapping of any input degrees (0 to 360) to the output degrees of the minutes
+     * selectable every {@code minuteStep} minutes. The tables are built once per configuration and
+     * shared, so they must not be modified.
+     * <p>
+     * The 360 degrees of the circle are split up among the outputs in proportion to their weights:
+     * {@code visibleWeight} for visible values (those divisible by 30 degrees, i.e. the numbers
+     * drawn on the clock) and {@code hiddenWeight} for the others. With 1 minute steps and weights
+     * of 14 and 4, each output of 30 degrees gets a range of 14 associated input degrees, and the
+     * others a range of 4: {354-360,0-7}:0, {8-11}:6, {12-15}:12, {16-19}:18, {20-23}:24,
+     * {24-37}:30, etc.
+     * <p>
+     * This is somewhat counter-intuitive, as you can be touching 36 degrees but have the selection
+     * snapped to 30 degrees; however, this inconsistency isn't noticeable at such fine-grained
+     * degrees, and it affords us the ability to aggressively prefer the visible values, which
+     * greatly contributes to their selectability. Inputs past the last output map to 360, so the
+     * caller can decide whether it needs 0 or 360.
+     *
+     * @param minuteStep the minutes between selectable values, a divisor of 60.
+     * @param visibleWeight the weight of the visible values, positive.
+     * @param hiddenWeight the weight of the non-visible values, positive.
+     */
+    static int[] getSnapTable(int minuteStep, int visibleWeight, int hiddenWeight) {
+        if (minuteStep <= 0 || 60 % minuteStep != 0) {
+            throw new IllegalArgumentException("Invalid minute step: " + minuteStep);
+        }
+        if (visibleWeight <= 0 || hiddenWeight <= 0) {
+            throw new IllegalArgumentException("Invalid weights: " + visibleWeight + ", "
+                    + hiddenWeight);
+        }
+
+        final SnapConfig config = new SnapConfig(minuteStep, visibleWeight, hiddenWeight);
+        int[] table = sSnapTables.get(config);
+        if (table == null) {
+            table = buildSnapTable(minuteStep, visibleWeight, hiddenWeight);
+            final int[] previous = sSnapTables.putIfAbsent(config, table);
+            if (previous != null) {
+                table = previous;
+            }
+        }
+        return table;
+    }
+
+    private static int[] buildSnapTable(int minuteStep, int visibleWeight, int hiddenWeight) {
+        final int stepDegrees = minuteStep * DEGREES_FOR_ONE_MINUTE;
+        final int outputCount = 360 / stepDegrees;
+        final int[] weights = new int[outputCount];
+        long totalWeight = 0;
+        for (int i = 0; i < outputCount; i++) {
+            final boolean visible = (i * stepDegrees) % DEGREES_FOR_ONE_HOUR == 0;
+            weights[i] = visible ? visibleWeight : hiddenWeight;
+            totalWeight += weights[i];
+        }
+
+        final int[] table = new int[361];
+        // The first output is centered on 0, so it starts with half of its range. Twice the weight
+        // is accumulated to keep the halves whole.
+        long doubleWeight = weights[0];
+        int degrees = 0;
+        for (int i = 0; i < outputCount; i++) {
+            // Last input of this output, rounding the end of its share of the circle.
+            final int last = (int) ((doubleWeight * 360 + totalWeight) / (2 * totalWeight));
+            for (; degrees <= last; degrees++) {
+                table[degrees] = i * stepDegrees;
+            }
+            if (i + 1 < outputCount) {
+                doubleWeight += 2 * weights[i + 1];
+            }
+        }
+        // The remainder belongs to the other half of the first output.
+        for (; degrees <= 360; degrees++) {
+            table[degrees] = 360;
+        }
+        return table;
+    }
+
+    /**
+     * Returns the position of the hand (0-59) pointing at {@code degrees}, a multiple of
+     * {@link #DEGREES_FOR_ONE_MINUTE}, for looking up {@link #SINES} and {@link #COSINES}.
+     */
+    static int getPositionForDegrees(int degrees) {
+        final int position = (degrees / DEGREES_FOR_ONE_MINUTE) % 60;
+        return position < 0 ? position + 60 : position;
+    }
+
+    /**
+     * Stores the left, top, right and bottom of the square around a circle of {@code radius} into
+     * {@code bounds}, starting at {@code index}. The circle is centered {@code centerRadius} away
+     * from ({@code xCenter}, {@code yCenter}), at {@code degrees} clockwise from 12 o'clock.
+     */
+    static void getCircleBounds(int xCenter, int yCenter, float centerRadius, float radius,
+                                int degrees, int[] bounds, int index) {
+        final int position = getPositionForDegrees(degrees);
+        final float x = xCenter + centerRadius * (float) SINES[position];
+        final float y = yCenter - centerRadius * (float) COSINES[position];
+
+        bounds[index] = (int) (x - radius);
+        bounds[index + 1] = (int) (y - radius);
+        bounds[index + 2] = (int) (x + radius);
+        bounds[index + 3] = (int) (y + radius);
+    }
+
+    /**
+     * Returns mapping of any input degrees (0 to 360) to one of 12 visible output degrees (all
+     * multiples of 30), where the input will be "snapped" to the closest visible degrees.
+     * @param degrees The input degrees
+     * @param forceHigherOrLower The output may be forced to either the higher or lower step, or may
+     * be allowed to snap to whichever is closer. Use 1 to force strictly higher, -1 to force
+     * strictly lower, and 0 to snap to the closer one.
+     * @return output degrees, will be a multiple of 30
+     */
+    static int snapOnly30s(int degrees, int forceHigherOrLower) {
+        final int stepSize = DEGREES_FOR_ONE_HOUR;
+        int floor = (degrees / stepSize) * stepSize;
+        final int ceiling = floor + stepSize;
+        if (forceHigherOrLower == 1) {
+            degrees = ceiling;
+        } else if (forceHigherOrLower == -1) {
+            if (degrees == floor) {
+                floor -= stepSize;
+            }
+            degrees = floor;
+        } else {
+            if ((degrees - floor) < (ceiling - degrees)) {
+                degrees = floor;
+            } else {
+                degrees = ceiling;
+            }
+        }
+        return degrees;
+    }
+
+
+    private int mXCenter;
+    private int mYCenter;
+
+    // Squared radius of the disk, touches outside of it are ignored.
+    private float mDiskRadiusSquared;
+
+    // Squared bounds of the single ring of numbers, exclusive. A negative lower bound means none.
+    private float mRingMinSquared;
+    private float mRingMaxSquared;
+    private boolean mRingHasMin;
+
+    // Squared bounds of the inner and outer rings of 24-hour mode, inclusive.
+    private int mMinInnerSquared;
+    private int mHalfwaySquared;
+    private int mMaxOuterSquared;
+
+    private boolean mShowHours = true;
+    private boolean mIs24HourMode;
+
+    private int[] mMinuteSnapTable = sSnapPrefer30sMap;
+
+    private boolean mIsOnInnerCircle;
+
+    /**
+     * Sets the center of the clock and the radius of its disk.
+     */
+    void setDisk(int xCenter, int yCenter, float radius) {
+        mXCenter = xCenter;
+        mYCenter = yCenter;
+        mDiskRadiusSquared = radius * radius;
+    }
+
+    /**
+     * Sets the ring of numbers used when not showing the hours of 24-hour mode.
+     *
+     * @param numbersRadius the distance of the numbers from the center.
+     * @param maxDistance the maximum distance, truncated to whole pixels, from the numbers.
+     */
+    void setRing(float numbersRadius, int maxDistance) {
+        // (int) |h - r| <= d is equivalent to r - d - 1 < h < r + d + 1.
+        final float min = numbersRadius - maxDistance - 1;
+        final float max = numbersRadius + maxDistance + 1;
+        mRingHasMin = min > 0;
+        mRingMinSquared = min * min;
+        mRingMaxSquared = max * max;
+    }
+
+    /**
+     * Sets the inner and outer rings of numbers used when showing the hours of 24-hour mode.
+     *
+     * @param minInner the minimum distance from the center of the inner ring.
+     * @param halfway the distance from the center splitting the inner and outer rings.
+     * @param maxOuter the maximum distance from the center of the outer ring.
+     */
+    void setDualRings(int minInner, int halfway, int maxOuter) {
+        mMinInnerSquared = minInner > 0 ? minInner * minInner : 0;
+        mHalfwaySquared = halfway * halfway;
+        mMaxOuterSquared = maxOuter * maxOuter;
+    }
+
+    /**
+     * Sets whether hours or minutes are being picked, and whether hours use 24-hour mode.
+     */
+    void setMode(boolean showHours, boolean is24HourMode) {
+        mShowHours = showHours;
+        mIs24HourMode = is24HourMode;
+    }
+
+    /**
+     * Sets the table snapping touched degrees to minutes, as returned by
+     * {@link #getSnapTable(int, int, int)}.
+     */
+    void setMinuteSnapTable(int[] minuteSnapTable) {
+        mMinuteSnapTable = minuteSnapTable;
+    }
+
+    /**
+     * Returns whether the last touch mapped by {@link #getDegrees(float, float)} was on the inner
+     * ring of 24-hour mode. Only updated for touches on either ring while showing its hours.
+     */
+    boolean isOnInnerCircle() {
+        return mIsOnInnerCircle;
+    }
+
+    /**
+     * Returns the clockwise angle of the touch from 12 o'clock, rounded to whole degrees (0 to 360),
+     * or -1 if it is not on a ring of numbers.
+     */
+    int getDegrees(float x, float y) {
+        final float dx = x - mXCenter;
+        final float dy = y - mYCenter;
+        final float distanceSquared = dy * dy + dx * dx;
+
+        // Basic check if we're outside the range of the disk
+        if (distanceSquared > mDiskRadiusSquared) {
+            return -1;
+        }
+        if (mIs24HourMode && mShowHours) {
+            if (distanceSquared >= mMinInnerSquared && distanceSquared <= mHalfwaySquared) {
+                mIsOnInnerCircle = true;
+            } else if (distanceSquared <= mMaxOuterSquared && distanceSquared >= mHalfwaySquared) {
+                mIsOnInnerCircle = false;
+            } else {
+                return -1;
+            }
+        } else if (distanceSquared >= mRingMaxSquared
+                || (mRingHasMin && distanceSquared <= mRingMinSquared)) {
+            return -1;
+        }
+
+        int degrees = getDegreesFromHorizontal(Math.abs(dx), Math.abs(dy));
+
+        // Now we have to translate to the correct quadrant.
+        final boolean rightSide = (x > mXCenter);
+        final boolean topSide = (y < mYCenter);
+        if (rightSide) {
+            if (topSide) {
+                degrees = 90 - degrees;
+            } else {
+                degrees = 90 + degrees;
+            }
+        } else {
+            if (topSide) {
+                degrees = 270 + degrees;
+            } else {
+                degrees = 270 - degrees;
+            }
+        }
+        return degrees;
+    }
+
+    /**
+     * Returns the touched value: the position of the hour on the clock face (0 to 11, 0 being
+     * 12 o'clock) when showing hours, the minute (0 to 59) otherwise, or -1 if the touch is not on a
+     * ring of numbers.
+     */
+    int getValue(float x, float y) {
+        final int degrees = getDegrees(x, y);
+        if (degrees == -1) {
+            return -1;
+        }
+        if (mShowHours) {
+            return (snapOnly30s(degrees, 0) % 360) / DEGREES_FOR_ONE_HOUR;
+        } else {
+            return (mMinuteSnapTable[degrees] % 360) / DEGREES_FOR_ONE_MINUTE;
+        }
+    }
+
+    /**
+     * Returns the angle (0 to 90) between the horizontal axis and a vector, rounded to whole
+     * degrees, halves rounding up.
+     */
+    private static int getDegreesFromHorizontal(float dx, float dy) {
+        if (dy <= dx) {
+            // Count the rounding boundaries at or below the angle.
+            int low = 0;
+            int high = TAN_HALF_DEGREES.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (dy >= dx * TAN_HALF_DEGREES[mid]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        } else {
+            // Mirror around 45 degrees, counting the boundaries strictly below the mirrored angle.
+            int low = 0;
+            int high = TAN_HALF_DEGREES.length;
+            while (low < high) {
+                final int mid = (low + high) >>> 1;
+                if (dx > dy * TAN_HALF_DEGREES[mid]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return 90 - low;
+        }
+    }
+
+    private static final class SnapConfig {
+        private final int mMinuteStep;
+        private final int mVisibleWeight;
+        private final int mHiddenWeight;
+
+        SnapConfig(int minuteStep, int visibleWeight, int hiddenWeight) {
+            mMinuteStep = minuteStep;
+            mVisibleWeight = visibleWeight;
+            mHiddenWeight = hiddenWeight;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SnapConfig)) {
+                return false;
+            }
+            final SnapConfig config = (SnapConfig) o;
+            return mMinuteStep == config.mMinuteStep
+                    && mVisibleWeight == config.mVisibleWeight
+                    && mHiddenWeight == config.mHiddenWeight;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mMinuteStep;
+            result = 31 * result + mVisibleWeight;
+            result = 31 * result + mHiddenWeight;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.doist.datetimepicker.time;
+
+import java.util.Locale;
+
+import io.doist.datetimepicker.util.NumeralTable;
+
+/**
+ * The header layout of {@link TimePickerClockDelegate}, compiled from the best time pattern of a
+ * locale: how hours are written, the separator between hours and minutes, and whether AM/PM comes
+ * first. The texts of every hour are picked up front from the {@link NumeralTable} of the locale,
+ * so updating the header is a table lookup. Immutable.
+ */
+final class TimeHeaderFormat {
+    // See http://www.unicode.org/reports/tr35/tr35-dates.html for hour formats.
+    private static final String HOUR_FORMATS = "HhKk";
+
+    private final NumeralTable mNumerals;
+    private final boolean mIs24Hour;
+    private final char mHourFormat;
+    private final boolean mHourWithTwoDigits;
+    private final String mSeparator;
+    private final boolean mAmPmAtStart;
+
+    private final String[] mHourTexts = new String[24];
+
+    TimeHeaderFormat(Locale locale, String pattern, boolean is24Hour) {
+        mNumerals = NumeralTable.get(locale);
+        mIs24Hour = is24Hour;
+
+        // Check if the pattern has a single or double 'H', 'h', 'K', 'k', saving the hour format
+        // that we found.
+        char hourFormat = '\0';
+        boolean hourWithTwoDigits = false;
+        final int length = pattern.length();
+        for (int i = 0; i < length; i++) {
+            final char c = pattern.charAt(i);
+            if (HOUR_FORMATS.indexOf(c) != -1) {
+                hourFormat = c;
+                hourWithTwoDigits = i + 1 < length && c == pattern.charAt(i + 1);
+                break;
+            }
+        }
+        mHourFormat = hourFormat;
+        mHourWithTwoDigits = hourWithTwoDigits;
+
+        // The separator is the character just after the last hour marker.
+        int hIndex = -1;
+        for (int i = length - 1; i >= 0; i--) {
+            if (HOUR_FORMATS.indexOf(pattern.charAt(i)) != -1) {
+                hIndex = i;
+                break;
+            }
+        }
+        if (hIndex == -1 || hIndex + 1 == length) {
+            // Default case
+            mSeparator = ":";
+        } else {
+            mSeparator = Character.toString(pattern.charAt(hIndex + 1));
+        }
+
+        mAmPmAtStart = pattern.startsWith("a");
+
+        for (int hourOfDay = 0; hourOfDay < 24; hourOfDay++) {
+            mHourTexts[hourOfDay] = formatHour(hourOfDay);
+        }
+    }
+
+    /**
+     * Returns the text of the hour of day {@code hourOfDay} (0 to 23).
+     */
+    String getHourText(int hourOfDay) {
+        if (hourOfDay >= 0 && hourOfDay < 24) {
+            return mHourTexts[hourOfDay];
+        }
+        return formatHour(hourOfDay);
+    }
+
+    /**
+     * Returns the text of the minute {@code minute} (0 to 59, 60 meaning 0).
+     */
+    String getMinuteText(int minute) {
+        if (minute == 60) {
+            minute = 0;
+        }
+        return mNumerals.getPadded(minute);
+    }
+
+    String getSeparator() {
+        return mSeparator;
+    }
+
+    boolean isAmPmAtStart() {
+        return mAmPmAtStart;
+    }
+
+    private String formatHour(int value) {
+        if (mIs24Hour) {
+            // 'k' means 1-24 hour
+            if (mHourFormat == 'k' && value == 0) {
+                value = 24;
+            }
+        } else {
+            // 'K' means 0-11 hour
+            value = value % 12;
+            if (value == 0 && mHourFormat != 'K') {
+                value = 12;
+            }
+        }
+        return mHourWithTwoDigits ? mNumerals.getPadded(value) : mNumerals.getUnpadded(value);
+    }
+}
@@ -0,0 +1,133 @@
+package io.doist.datetimepicker.time;
+
+import android.os.Build;
+import android.text.format.DateFormat;
+import android.util.Log;
+import android.view.KeyCharacterMap;
+import android.view.KeyEvent;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.doist.datetimepicker.util.DateTimeUtilsCompat;
+
+/**
+ * Locale dependent data used by {@link TimePickerClockDelegate}: the AM/PM strings, the keys typing
+ * them and the header formats compiled from the best time patterns. Shared by all time pickers in
+ * the process, so only the first picker opened in a locale (or {@link TimePicker#warmUp(Locale)})
+ * pays for resolving them.
+ */
+final class TimeLocaleData {
+    private static final String TAG = TimeLocaleData.class.getSimpleName();
+
+    private static final ConcurrentHashMap<Locale, TimeLocaleData> sCache =
+            new ConcurrentHashMap<>();
+
+    private final Locale mLocale;
+    private final String mAmText;
+    private final String mPmText;
+    private final TimeHeaderFormat mHeaderFormat12;
+    private final TimeHeaderFormat mHeaderFormat24;
+
+    // Only set once both keycodes are found, so a failed lookup is retried. The keycodes are
+    // written before it, and read after it.
+    private volatile boolean mKeyCodesResolved;
+    private int mAmKeyCode = -1;
+    private int mPmKeyCode = -1;
+
+    /**
+     * Returns the data of {@code locale}, resolving it the first time.
+     */
+    static TimeLocaleData get(Locale locale) {
+        TimeLocaleData data = sCache.get(locale);
+        if (data == null) {
+            data = new TimeLocaleData(locale);
+            final TimeLocaleData previous = sCache.putIfAbsent(locale, data);
+            if (previous != null) {
+                data = previous;
+            }
+        }
+        return data;
+    }
+
+    private TimeLocaleData(Locale locale) {
+        mLocale = locale;
+
+        mAmText = DateTimeUtilsCompat.getBestAmString(locale);
+        mPmText = DateTimeUtilsCompat.getBestPmString(locale);
+
+        mHeaderFormat12 = new TimeHeaderFormat(locale, getBestTimePattern(locale, false), false);
+        mHeaderFormat24 = new TimeHeaderFormat(locale, getBestTimePattern(locale, true), true);
+    }
+
+    String getAmText() {
+        return mAmText;
+    }
+
+    String getPmText() {
+        return mPmText;
+    }
+
+    TimeHeaderFormat getHeaderFormat(boolean is24Hour) {
+        return is24Hour ? mHeaderFormat24 : mHeaderFormat12;
+    }
+
+    /**
+     * Returns the keycode typing AM, or -1 if there is none.
+     */
+    int getAmKeyCode() {
+        resolveKeyCodes();
+        return mAmKeyCode;
+    }
+
+    /**
+     * Returns the keycode typing PM, or -1 if there is none.
+     */
+    int getPmKeyCode() {
+        resolveKeyCodes();
+        return mPmKeyCode;
+    }
+
+    /**
+     * Finds the keycodes for AM and PM, from the first character in the AM/PM text that is unique.
+     */
+    void resolveKeyCodes() {
+        if (mKeyCodesResolved) {
+            return;
+        }
+        synchronized (this) {
+            if (mKeyCodesResolved) {
+                return;
+            }
+
+            final KeyCharacterMap kcm = KeyCharacterMap.load(KeyCharacterMap.VIRTUAL_KEYBOARD);
+            final CharSequence amText = mAmText.toLowerCase(mLocale);
+            final CharSequence pmText = mPmText.toLowerCase(mLocale);
+            final int N = Math.min(amText.length(), pmText.length());
+            for (int i = 0; i < N; i++) {
+                final char amChar = amText.charAt(i);
+                final char pmChar = pmText.charAt(i);
+                if (amChar != pmChar) {
+                    // There should be 4 events: a down and up for both AM and PM.
+                    final KeyEvent[] events = kcm.getEvents(new char[] { amChar, pmChar });
+                    if (events != null && events.length == 4) {
+                        mAmKeyCode = events[0].getKeyCode();
+                        mPmKeyCode = events[2].getKeyCode();
+                        mKeyCodesResolved = true;
+                    } else {
+                        Log.e(TAG, "Unable to find keycodes for AM and PM.");
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    private static String getBestTimePattern(Locale locale, boolean is24Hour) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
+            return DateFormat.getBestDateTimePattern(locale, (is24Hour) ? "Hm" : "hm");
+        } else {
+            return DateTimeUtilsCompat.getBestTimePattern(locale, is24Hour);
+        }
+    }
+}
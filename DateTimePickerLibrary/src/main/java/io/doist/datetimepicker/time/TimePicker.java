@@ -74,6 +74,15 @@ public class TimePicker extends HapticFeedbackFrameLayout {
         mDelegate = onCreateUIDelegate(context, attrs, defStyleAttr);
     }
 
+    /**
+     * Resolves the locale dependent data of time pickers, such as the AM/PM strings and the keys
+     * typing them, ahead of time. May be called from any thread, e.g. while the app starts, so
+     * that the first time picker opened in {@code locale} doesn't pay for it.
+     */
+    public static void warmUp(Locale locale) {
+        TimeLocaleData.get(locale).resolveKeyCodes();
+    }
+
     protected TimePickerDelegate onCreateUIDelegate(Context context, AttributeSet attrs, int defStyleAttr) {
         return new TimePickerClockDelegate(this, context, attrs, defStyleAttr, 0);
     }
@@ -122,6 +131,19 @@ public class TimePicker extends HapticFeedbackFrameLayout {
         return mDelegate.is24Hour();
     }
 
+    /**
+     * Set the minutes that can be picked on the clock to every {@code minuteStep} minutes, e.g. 5,
+     * 10 or 15. Defaults to 1.
+     * <p>
+     * The step only applies to touches on the clock. Minutes typed with a hardware keyboard and
+     * set through accessibility actions can still be any minute.
+     *
+     * @param minuteStep the minutes between selectable values, a divisor of 60.
+     */
+    public void setMinuteStep(int minuteStep) {
+        mDelegate.setMinuteStep(minuteStep);
+    }
+
     /**
      * Set the callback that indicates the time has been adjusted by the user.
      *
@@ -213,6 +235,8 @@ public class TimePicker extends HapticFeedbackFrameLayout {
         void setIs24Hour(Boolean is24Hour);
         boolean is24Hour();
 
+        void setMinuteStep(int minuteStep);
+
         void setOnTimeChangedListener(OnTimeChangedListener onTimeChangedListener);
         void setValidationCallback(ValidationCallback callback);
 
@@ -272,6 +296,13 @@ public class TimePicker extends HapticFeedbackFrameLayout {
             mCurrentLocale = locale;
         }
 
+        /**
+         * Does nothing, every minute stays selectable. Delegates supporting steps override this.
+         */
+        @Override
+        public void setMinuteStep(int minuteStep) {
+        }
+
         @Override
         public void setValidationCallback(ValidationCallback callback) {
             mValidationCallback = callback;
@@ -20,19 +20,16 @@ import android.content.Context;
 import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.content.res.TypedArray;
-import android.os.Build;
 import android.os.Parcel;
 import android.os.Parcelable;
 import android.support.annotation.NonNull;
 import android.support.v4.view.AccessibilityDelegateCompat;
 import android.support.v4.view.ViewCompat;
 import android.support.v4.view.accessibility.AccessibilityNodeInfoCompat;
-import android.text.format.DateFormat;
 import android.text.format.DateUtils;
 import android.util.AttributeSet;
 import android.util.Log;
 import android.util.TypedValue;
-import android.view.KeyCharacterMap;
 import android.view.KeyEvent;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -42,12 +39,10 @@ import android.view.accessibility.AccessibilityNodeInfo;
 import android.widget.CheckedTextView;
 import android.widget.TextView;
 
-import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Locale;
 
 import io.doist.datetimepicker.R;
-import io.doist.datetimepicker.util.DateTimeUtilsCompat;
 import io.doist.datetimepicker.util.ViewStateUtils;
 
 /**
@@ -87,8 +82,9 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
     private final RadialTimePickerView mRadialTimePickerView;
     private final TextView mSeparatorView;
 
-    private final String mAmText;
-    private final String mPmText;
+    private TimeLocaleData mLocaleData;
+    private String mAmText;
+    private String mPmText;
 
     private final float mDisabledAlpha;
 
@@ -102,10 +98,9 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
     private String mDoublePlaceholderText;
     private String mDeletedKeyFormat;
     private boolean mInKbMode;
-    private ArrayList<Integer> mTypedTimes = new ArrayList<>();
-    private Node mLegalTimesTree;
-    private int mAmKeyCode;
-    private int mPmKeyCode;
+    private final TypedTimeEngine mTypedTimes = new TypedTimeEngine();
+    private final int[] mEnteredTime = new int[3];
+    private final boolean[] mEnteredZeros = new boolean[2];
 
     // Accessibility strings.
     private String mSelectHours;
@@ -131,9 +126,11 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         mSelectHours = res.getString(R.string.select_hours);
         mSelectMinutes = res.getString(R.string.select_minutes);
 
-        String[] amPmStrings = DateTimeUtilsCompat.getBestAmPmStrings(mCurrentLocale);
-        mAmText = amPmStrings[0];
-        mPmText = amPmStrings[1];
+        // Read explicitly, setCurrentLocale() runs from the super constructor before the fields
+        // of this class are initialized.
+        mLocaleData = TimeLocaleData.get(mCurrentLocale);
+        mAmText = mLocaleData.getAmText();
+        mPmText = mLocaleData.getPmText();
 
         final int layoutResourceId = a.getResourceId(R.styleable.TimePicker_layout, R.layout.time_picker_holo);
         final View mainView = inflater.inflate(layoutResourceId, delegator);
@@ -159,8 +156,8 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
 
         // Now that we have text appearances out of the way, make sure the hour
         // and minute views are correctly sized.
-        mHourView.setMinWidth(computeStableWidth(mHourView, 24));
-        mMinuteView.setMinWidth(computeStableWidth(mMinuteView, 60));
+        mHourView.setMinWidth(HeaderWidthCache.getStableWidth(mHourView, mCurrentLocale));
+        mMinuteView.setMinWidth(HeaderWidthCache.getStableWidth(mMinuteView, mCurrentLocale));
 
         // TODO: This can be removed once we support themed color state lists.
         final int headerSelectedTextColor = a.getColor(
@@ -196,6 +193,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         mDisabledAlpha = outValue.getFloat();
 
         mRadialTimePickerView = mainView.findViewById(R.id.radial_picker);
+        mRadialTimePickerView.setLocale(mCurrentLocale);
 
         setupListeners();
 
@@ -205,8 +203,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         mDoublePlaceholderText = res.getString(R.string.time_placeholder);
         mDeletedKeyFormat = res.getString(R.string.deleted_key);
         mPlaceholderText = mDoublePlaceholderText.charAt(0);
-        mAmKeyCode = mPmKeyCode = -1;
-        generateLegalTimesTree();
+        mTypedTimes.setIs24HourMode(mIs24HourView);
 
         // Initialize with current time
         final Calendar calendar = Calendar.getInstance(mCurrentLocale);
@@ -231,27 +228,11 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         }
     }
 
-    private int computeStableWidth(TextView v, int maxNumber) {
-        int maxWidth = 0;
-
-        for (int i = 0; i < maxNumber; i++) {
-            final String text = String.format("%02d", i);
-            v.setText(text);
-            v.measure(View.MeasureSpec.UNSPECIFIED, View.MeasureSpec.UNSPECIFIED);
-
-            final int width = v.getMeasuredWidth();
-            if (width > maxWidth) {
-                maxWidth = width;
-            }
-        }
-
-        return maxWidth;
-    }
-
     private void initialize(int hourOfDay, int minute, boolean is24HourView, int index) {
         mInitialHourOfDay = hourOfDay;
         mInitialMinute = minute;
         mIs24HourView = is24HourView;
+        mTypedTimes.setIs24HourMode(is24HourView);
         mInKbMode = false;
         updateUI(index);
     }
@@ -289,8 +270,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
             mAmPmLayout.setVisibility(View.GONE);
         } else {
             // Ensure that AM/PM layout is in the correct position.
-            final String dateTimePattern = getBestTimePattern(mCurrentLocale, false);
-            final boolean amPmAtStart = dateTimePattern.startsWith("a");
+            final boolean amPmAtStart = mLocaleData.getHeaderFormat(false).isAmPmAtStart();
             final ViewGroup parent = (ViewGroup) mAmPmLayout.getParent();
             final int targetIndex = amPmAtStart ? 0 : parent.getChildCount() - 1;
             final int currentIndex = parent.indexOfChild(mAmPmLayout);
@@ -373,7 +353,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
             return;
         }
         mIs24HourView = is24Hour;
-        generateLegalTimesTree();
+        mTypedTimes.setIs24HourMode(is24Hour);
         int hour = mRadialTimePickerView.getCurrentHour();
         mInitialHourOfDay = hour;
         updateHeaderHour(hour, false);
@@ -390,6 +370,11 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         return mIs24HourView;
     }
 
+    @Override
+    public void setMinuteStep(int minuteStep) {
+        mRadialTimePickerView.setMinuteStep(minuteStep);
+    }
+
     @Override
     public void setOnTimeChangedListener(TimePicker.OnTimeChangedListener callback) {
         mOnTimeChangedListener = callback;
@@ -444,6 +429,12 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
     public void setCurrentLocale(Locale locale) {
         super.setCurrentLocale(locale);
         mTempCalendar = Calendar.getInstance(locale);
+        mLocaleData = TimeLocaleData.get(locale);
+        mAmText = mLocaleData.getAmText();
+        mPmText = mLocaleData.getPmText();
+        if (mRadialTimePickerView != null) {
+            mRadialTimePickerView.setLocale(locale);
+        }
     }
 
     @Override
@@ -493,15 +484,15 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         return mInKbMode;
     }
 
-    private void setTypedTimes(ArrayList<Integer> typeTimes) {
-        mTypedTimes = typeTimes;
+    private void setTypedTimes(int[] typeTimes) {
+        mTypedTimes.setSymbols(typeTimes);
     }
 
     /**
      * @return an array of typed times
      */
-    private ArrayList<Integer> getTypedTimes() {
-        return mTypedTimes;
+    private int[] getTypedTimes() {
+        return mTypedTimes.getSymbols();
     }
 
     /**
@@ -531,11 +522,11 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         private final int mMinute;
         private final boolean mIs24HourMode;
         private final boolean mInKbMode;
-        private final ArrayList<Integer> mTypedTimes;
+        private final int[] mTypedTimes;
         private final int mCurrentItemShowing;
 
         private SavedState(Parcelable superState, int hour, int minute, boolean is24HourMode,
-                           boolean isKbMode, ArrayList<Integer> typedTimes,
+                           boolean isKbMode, int[] typedTimes,
                            int currentItemShowing) {
             super(superState);
             mHour = hour;
@@ -552,7 +543,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
             mMinute = in.readInt();
             mIs24HourMode = (in.readInt() == 1);
             mInKbMode = (in.readInt() == 1);
-            mTypedTimes = in.readArrayList(getClass().getClassLoader());
+            mTypedTimes = in.createIntArray();
             mCurrentItemShowing = in.readInt();
         }
 
@@ -572,7 +563,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
             return mInKbMode;
         }
 
-        public ArrayList<Integer> getTypesTimes() {
+        public int[] getTypesTimes() {
             return mTypedTimes;
         }
 
@@ -587,7 +578,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
             dest.writeInt(mMinute);
             dest.writeInt(mIs24HourMode ? 1 : 0);
             dest.writeInt(mInKbMode ? 1 : 0);
-            dest.writeList(mTypedTimes);
+            dest.writeIntArray(mTypedTimes);
             dest.writeInt(mCurrentItemShowing);
         }
 
@@ -639,7 +630,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
                 updateAmPmLabelStates(newValue);
                 break;
             case ENABLE_PICKER_INDEX:
-                if (!isTypedTimeFullyLegal()) {
+                if (!mTypedTimes.isFullyLegal()) {
                     mTypedTimes.clear();
                 }
                 finishKbMode();
@@ -657,38 +648,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
     }
 
     private void updateHeaderHour(int value, boolean announce) {
-        final String bestDateTimePattern = getBestTimePattern(mCurrentLocale, mIs24HourView);
-        final int lengthPattern = bestDateTimePattern.length();
-        boolean hourWithTwoDigit = false;
-        char hourFormat = '\0';
-        // Check if the returned pattern is single or double 'H', 'h', 'K', 'k'. We also save
-        // the hour format that we found.
-        for (int i = 0; i < lengthPattern; i++) {
-            final char c = bestDateTimePattern.charAt(i);
-            if (c == 'H' || c == 'h' || c == 'K' || c == 'k') {
-                hourFormat = c;
-                if (i + 1 < lengthPattern && c == bestDateTimePattern.charAt(i + 1)) {
-                    hourWithTwoDigit = true;
-                }
-                break;
-            }
-        }
-        final String format;
-        if (hourWithTwoDigit) {
-            format = "%02d";
-        } else {
-            format = "%d";
-        }
-        if (mIs24HourView) {
-            // 'k' means 1-24 hour
-            if (hourFormat == 'k' && value == 0) {
-                value = 24;
-            }
-        } else {
-            // 'K' means 0-11 hour
-            value = modulo12(value, hourFormat == 'K');
-        }
-        CharSequence text = String.format(format, value);
+        final CharSequence text = mLocaleData.getHeaderFormat(mIs24HourView).getHourText(value);
         mHourView.setText(text);
         if (announce) {
             tryAnnounceForAccessibility(text, true);
@@ -704,14 +664,6 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         }
     }
 
-    private static int modulo12(int n, boolean startWithZero) {
-        int value = n % 12;
-        if (value == 0 && !startWithZero) {
-            value = 12;
-        }
-        return value;
-    }
-
     /**
      * The time separator is defined in the Unicode CLDR and cannot be supposed to be ":".
      *
@@ -721,40 +673,11 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
      * separator as the character which is just after the hour marker in the returned pattern.
      */
     private void updateHeaderSeparator() {
-        final String bestDateTimePattern = getBestTimePattern(mCurrentLocale, mIs24HourView);
-        final String separatorText;
-        // See http://www.unicode.org/reports/tr35/tr35-dates.html for hour formats
-        final char[] hourFormats = {'H', 'h', 'K', 'k'};
-        int hIndex = lastIndexOfAny(bestDateTimePattern, hourFormats);
-        if (hIndex == -1) {
-            // Default case
-            separatorText = ":";
-        } else {
-            separatorText = Character.toString(bestDateTimePattern.charAt(hIndex + 1));
-        }
-        mSeparatorView.setText(separatorText);
-    }
-
-    static private int lastIndexOfAny(String str, char[] any) {
-        final int lengthAny = any.length;
-        if (lengthAny > 0) {
-            for (int i = str.length() - 1; i >= 0; i--) {
-                char c = str.charAt(i);
-                for (int j = 0; j < lengthAny; j++) {
-                    if (c == any[j]) {
-                        return i;
-                    }
-                }
-            }
-        }
-        return -1;
+        mSeparatorView.setText(mLocaleData.getHeaderFormat(mIs24HourView).getSeparator());
     }
 
     private void updateHeaderMinute(int value, boolean announceForAccessibility) {
-        if (value == 60) {
-            value = 0;
-        }
-        final CharSequence text = String.format(mCurrentLocale, "%02d", value);
+        final CharSequence text = mLocaleData.getHeaderFormat(mIs24HourView).getMinuteText(value);
         mMinuteView.setText(text);
         if (announceForAccessibility) {
             tryAnnounceForAccessibility(text, false);
@@ -799,12 +722,12 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
                 if (!mTypedTimes.isEmpty()) {
                     int deleted = deleteLastTypedKey();
                     String deletedKeyStr;
-                    if (deleted == getAmOrPmKeyCode(AM)) {
+                    if (deleted == TypedTimeEngine.SYMBOL_AM) {
                         deletedKeyStr = mAmText;
-                    } else if (deleted == getAmOrPmKeyCode(PM)) {
+                    } else if (deleted == TypedTimeEngine.SYMBOL_PM) {
                         deletedKeyStr = mPmText;
                     } else {
-                        deletedKeyStr = String.format("%d", getValFromKeyCode(deleted));
+                        deletedKeyStr = String.format("%d", deleted);
                     }
                     mDelegator.announceForAccessibility(
                             String.format(mDeletedKeyFormat, deletedKeyStr));
@@ -854,68 +777,24 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
     }
 
     private boolean addKeyIfLegal(int keyCode) {
-        // If we're in 24hour mode, we'll need to check if the input is full. If in AM/PM mode,
-        // we'll need to see if AM/PM have been typed.
-        if ((mIs24HourView && mTypedTimes.size() == 4) ||
-                (!mIs24HourView && isTypedTimeFullyLegal())) {
-            return false;
-        }
-
-        mTypedTimes.add(keyCode);
-        if (!isTypedTimeLegalSoFar()) {
-            deleteLastTypedKey();
+        // The engine refuses the key if it is illegal, or if the input is already full. When AM
+        // or PM is legally entered, it automatically fills in 0's.
+        if (!mTypedTimes.add(getSymbolFromKeyCode(keyCode))) {
             return false;
         }
 
         int val = getValFromKeyCode(keyCode);
         mDelegator.announceForAccessibility(String.format("%d", val));
-        // Automatically fill in 0's if AM or PM was legally entered.
-        if (isTypedTimeFullyLegal()) {
-            if (!mIs24HourView && mTypedTimes.size() <= 3) {
-                mTypedTimes.add(mTypedTimes.size() - 1, KeyEvent.KEYCODE_0);
-                mTypedTimes.add(mTypedTimes.size() - 1, KeyEvent.KEYCODE_0);
-            }
+        if (mTypedTimes.isFullyLegal()) {
             onValidationChanged(true);
         }
 
         return true;
     }
 
-    /**
-     * Traverse the tree to see if the keys that have been typed so far are legal as is,
-     * or may become legal as more keys are typed (excluding backspace).
-     */
-    private boolean isTypedTimeLegalSoFar() {
-        Node node = mLegalTimesTree;
-        for (int keyCode : mTypedTimes) {
-            node = node.canReach(keyCode);
-            if (node == null) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     * Check if the time that has been typed so far is completely legal, as is.
-     */
-    private boolean isTypedTimeFullyLegal() {
-        if (mIs24HourView) {
-            // For 24-hour mode, the time is legal if the hours and minutes are each legal. Note:
-            // getEnteredTime() will ONLY call isTypedTimeFullyLegal() when NOT in 24hour mode.
-            int[] values = getEnteredTime(null);
-            return (values[0] >= 0 && values[1] >= 0 && values[1] < 60);
-        } else {
-            // For AM/PM mode, the time is legal if it contains an AM or PM, as those can only be
-            // legally added at specific times based on the tree's algorithm.
-            return (mTypedTimes.contains(getAmOrPmKeyCode(AM)) ||
-                    mTypedTimes.contains(getAmOrPmKeyCode(PM)));
-        }
-    }
-
     private int deleteLastTypedKey() {
-        int deleted = mTypedTimes.remove(mTypedTimes.size() - 1);
-        if (!isTypedTimeFullyLegal()) {
+        int deleted = mTypedTimes.removeLast();
+        if (!mTypedTimes.isFullyLegal()) {
             onValidationChanged(false);
         }
         return deleted;
@@ -927,7 +806,8 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
     private void finishKbMode() {
         mInKbMode = false;
         if (!mTypedTimes.isEmpty()) {
-            int values[] = getEnteredTime(null);
+            final int[] values = mEnteredTime;
+            mTypedTimes.getEnteredTime(values, null);
             mRadialTimePickerView.setCurrentHour(values[0]);
             mRadialTimePickerView.setCurrentMinute(values[1]);
             if (!mIs24HourView) {
@@ -959,8 +839,10 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
             setCurrentItemShowing(mRadialTimePickerView.getCurrentItemShowing(), true, true);
             onValidationChanged(true);
         } else {
-            boolean[] enteredZeros = {false, false};
-            int[] values = getEnteredTime(enteredZeros);
+            final boolean[] enteredZeros = mEnteredZeros;
+            enteredZeros[0] = enteredZeros[1] = false;
+            final int[] values = mEnteredTime;
+            mTypedTimes.getEnteredTime(values, enteredZeros);
             String hourFormat = enteredZeros[0] ? "%02d" : "%2d";
             String minuteFormat = (enteredZeros[1]) ? "%02d" : "%2d";
             String hourStr = (values[0] == -1) ? mDoublePlaceholderText :
@@ -1004,260 +886,28 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
         }
     }
 
-    /**
-     * Get the currently-entered time, as integer values of the hours and minutes typed.
-     *
-     * @param enteredZeros A size-2 boolean array, which the caller should initialize, and which
-     * may then be used for the caller to know whether zeros had been explicitly entered as either
-     * hours of minutes. This is helpful for deciding whether to show the dashes, or actual 0's.
-     *
-     * @return A size-3 int array. The first value will be the hours, the second value will be the
-     * minutes, and the third will be either AM or PM.
-     */
-    private int[] getEnteredTime(boolean[] enteredZeros) {
-        int amOrPm = -1;
-        int startIndex = 1;
-        if (!mIs24HourView && isTypedTimeFullyLegal()) {
-            int keyCode = mTypedTimes.get(mTypedTimes.size() - 1);
-            if (keyCode == getAmOrPmKeyCode(AM)) {
-                amOrPm = AM;
-            } else if (keyCode == getAmOrPmKeyCode(PM)){
-                amOrPm = PM;
-            }
-            startIndex = 2;
-        }
-        int minute = -1;
-        int hour = -1;
-        for (int i = startIndex; i <= mTypedTimes.size(); i++) {
-            int val = getValFromKeyCode(mTypedTimes.get(mTypedTimes.size() - i));
-            if (i == startIndex) {
-                minute = val;
-            } else if (i == startIndex+1) {
-                minute += 10 * val;
-                if (enteredZeros != null && val == 0) {
-                    enteredZeros[1] = true;
-                }
-            } else if (i == startIndex+2) {
-                hour = val;
-            } else if (i == startIndex+3) {
-                hour += 10 * val;
-                if (enteredZeros != null && val == 0) {
-                    enteredZeros[0] = true;
-                }
-            }
+    private int getSymbolFromKeyCode(int keyCode) {
+        if (keyCode == getAmOrPmKeyCode(AM)) {
+            return TypedTimeEngine.SYMBOL_AM;
+        } else if (keyCode == getAmOrPmKeyCode(PM)) {
+            return TypedTimeEngine.SYMBOL_PM;
         }
-
-        return new int[] { hour, minute, amOrPm };
+        return getValFromKeyCode(keyCode);
     }
 
     /**
      * Get the keycode value for AM and PM in the current language.
      */
     private int getAmOrPmKeyCode(int amOrPm) {
-        // Cache the codes.
-        if (mAmKeyCode == -1 || mPmKeyCode == -1) {
-            // Find the first character in the AM/PM text that is unique.
-            final KeyCharacterMap kcm = KeyCharacterMap.load(KeyCharacterMap.VIRTUAL_KEYBOARD);
-            final CharSequence amText = mAmText.toLowerCase(mCurrentLocale);
-            final CharSequence pmText = mPmText.toLowerCase(mCurrentLocale);
-            final int N = Math.min(amText.length(), pmText.length());
-            for (int i = 0; i < N; i++) {
-                final char amChar = amText.charAt(i);
-                final char pmChar = pmText.charAt(i);
-                if (amChar != pmChar) {
-                    // There should be 4 events: a down and up for both AM and PM.
-                    final KeyEvent[] events = kcm.getEvents(new char[] { amChar, pmChar });
-                    if (events != null && events.length == 4) {
-                        mAmKeyCode = events[0].getKeyCode();
-                        mPmKeyCode = events[2].getKeyCode();
-                    } else {
-                        Log.e(TAG, "Unable to find keycodes for AM and PM.");
-                    }
-                    break;
-                }
-            }
-        }
-
         if (amOrPm == AM) {
-            return mAmKeyCode;
+            return mLocaleData.getAmKeyCode();
         } else if (amOrPm == PM) {
-            return mPmKeyCode;
+            return mLocaleData.getPmKeyCode();
         }
 
         return -1;
     }
 
-    /**
-     * Create a tree for deciding what keys can legally be typed.
-     */
-    private void generateLegalTimesTree() {
-        // Create a quick cache of numbers to their keycodes.
-        final int k0 = KeyEvent.KEYCODE_0;
-        final int k1 = KeyEvent.KEYCODE_1;
-        final int k2 = KeyEvent.KEYCODE_2;
-        final int k3 = KeyEvent.KEYCODE_3;
-        final int k4 = KeyEvent.KEYCODE_4;
-        final int k5 = KeyEvent.KEYCODE_5;
-        final int k6 = KeyEvent.KEYCODE_6;
-        final int k7 = KeyEvent.KEYCODE_7;
-        final int k8 = KeyEvent.KEYCODE_8;
-        final int k9 = KeyEvent.KEYCODE_9;
-
-        // The root of the tree doesn't contain any numbers.
-        mLegalTimesTree = new Node();
-        if (mIs24HourView) {
-            // We'll be re-using these nodes, so we'll save them.
-            Node minuteFirstDigit = new Node(k0, k1, k2, k3, k4, k5);
-            Node minuteSecondDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            // The first digit must be followed by the second digit.
-            minuteFirstDigit.addChild(minuteSecondDigit);
-
-            // The first digit may be 0-1.
-            Node firstDigit = new Node(k0, k1);
-            mLegalTimesTree.addChild(firstDigit);
-
-            // When the first digit is 0-1, the second digit may be 0-5.
-            Node secondDigit = new Node(k0, k1, k2, k3, k4, k5);
-            firstDigit.addChild(secondDigit);
-            // We may now be followed by the first minute digit. E.g. 00:09, 15:58.
-            secondDigit.addChild(minuteFirstDigit);
-
-            // When the first digit is 0-1, and the second digit is 0-5, the third digit may be 6-9.
-            Node thirdDigit = new Node(k6, k7, k8, k9);
-            // The time must now be finished. E.g. 0:55, 1:08.
-            secondDigit.addChild(thirdDigit);
-
-            // When the first digit is 0-1, the second digit may be 6-9.
-            secondDigit = new Node(k6, k7, k8, k9);
-            firstDigit.addChild(secondDigit);
-            // We must now be followed by the first minute digit. E.g. 06:50, 18:20.
-            secondDigit.addChild(minuteFirstDigit);
-
-            // The first digit may be 2.
-            firstDigit = new Node(k2);
-            mLegalTimesTree.addChild(firstDigit);
-
-            // When the first digit is 2, the second digit may be 0-3.
-            secondDigit = new Node(k0, k1, k2, k3);
-            firstDigit.addChild(secondDigit);
-            // We must now be followed by the first minute digit. E.g. 20:50, 23:09.
-            secondDigit.addChild(minuteFirstDigit);
-
-            // When the first digit is 2, the second digit may be 4-5.
-            secondDigit = new Node(k4, k5);
-            firstDigit.addChild(secondDigit);
-            // We must now be followd by the last minute digit. E.g. 2:40, 2:53.
-            secondDigit.addChild(minuteSecondDigit);
-
-            // The first digit may be 3-9.
-            firstDigit = new Node(k3, k4, k5, k6, k7, k8, k9);
-            mLegalTimesTree.addChild(firstDigit);
-            // We must now be followed by the first minute digit. E.g. 3:57, 8:12.
-            firstDigit.addChild(minuteFirstDigit);
-        } else {
-            // We'll need to use the AM/PM node a lot.
-            // Set up AM and PM to respond to "a" and "p".
-            Node ampm = new Node(getAmOrPmKeyCode(AM), getAmOrPmKeyCode(PM));
-
-            // The first hour digit may be 1.
-            Node firstDigit = new Node(k1);
-            mLegalTimesTree.addChild(firstDigit);
-            // We'll allow quick input of on-the-hour times. E.g. 1pm.
-            firstDigit.addChild(ampm);
-
-            // When the first digit is 1, the second digit may be 0-2.
-            Node secondDigit = new Node(k0, k1, k2);
-            firstDigit.addChild(secondDigit);
-            // Also for quick input of on-the-hour times. E.g. 10pm, 12am.
-            secondDigit.addChild(ampm);
-
-            // When the first digit is 1, and the second digit is 0-2, the third digit may be 0-5.
-            Node thirdDigit = new Node(k0, k1, k2, k3, k4, k5);
-            secondDigit.addChild(thirdDigit);
-            // The time may be finished now. E.g. 1:02pm, 1:25am.
-            thirdDigit.addChild(ampm);
-
-            // When the first digit is 1, the second digit is 0-2, and the third digit is 0-5,
-            // the fourth digit may be 0-9.
-            Node fourthDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            thirdDigit.addChild(fourthDigit);
-            // The time must be finished now. E.g. 10:49am, 12:40pm.
-            fourthDigit.addChild(ampm);
-
-            // When the first digit is 1, and the second digit is 0-2, the third digit may be 6-9.
-            thirdDigit = new Node(k6, k7, k8, k9);
-            secondDigit.addChild(thirdDigit);
-            // The time must be finished now. E.g. 1:08am, 1:26pm.
-            thirdDigit.addChild(ampm);
-
-            // When the first digit is 1, the second digit may be 3-5.
-            secondDigit = new Node(k3, k4, k5);
-            firstDigit.addChild(secondDigit);
-
-            // When the first digit is 1, and the second digit is 3-5, the third digit may be 0-9.
-            thirdDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            secondDigit.addChild(thirdDigit);
-            // The time must be finished now. E.g. 1:39am, 1:50pm.
-            thirdDigit.addChild(ampm);
-
-            // The hour digit may be 2-9.
-            firstDigit = new Node(k2, k3, k4, k5, k6, k7, k8, k9);
-            mLegalTimesTree.addChild(firstDigit);
-            // We'll allow quick input of on-the-hour-times. E.g. 2am, 5pm.
-            firstDigit.addChild(ampm);
-
-            // When the first digit is 2-9, the second digit may be 0-5.
-            secondDigit = new Node(k0, k1, k2, k3, k4, k5);
-            firstDigit.addChild(secondDigit);
-
-            // When the first digit is 2-9, and the second digit is 0-5, the third digit may be 0-9.
-            thirdDigit = new Node(k0, k1, k2, k3, k4, k5, k6, k7, k8, k9);
-            secondDigit.addChild(thirdDigit);
-            // The time must be finished now. E.g. 2:57am, 9:30pm.
-            thirdDigit.addChild(ampm);
-        }
-    }
-
-    /**
-     * Simple node class to be used for traversal to check for legal times.
-     * mLegalKeys represents the keys that can be typed to get to the node.
-     * mChildren are the children that can be reached from this node.
-     */
-    private class Node {
-        private int[] mLegalKeys;
-        private ArrayList<Node> mChildren;
-
-        public Node(int... legalKeys) {
-            mLegalKeys = legalKeys;
-            mChildren = new ArrayList<>();
-        }
-
-        public void addChild(Node child) {
-            mChildren.add(child);
-        }
-
-        public boolean containsKey(int key) {
-            for (int i = 0; i < mLegalKeys.length; i++) {
-                if (mLegalKeys[i] == key) {
-                    return true;
-                }
-            }
-            return false;
-        }
-
-        public Node canReach(int key) {
-            if (mChildren == null) {
-                return null;
-            }
-            for (Node child : mChildren) {
-                if (child.containsKey(key)) {
-                    return child;
-                }
-            }
-            return null;
-        }
-    }
-
     private final View.OnClickListener mClickListener = new View.OnClickListener() {
         @Override
         public void onClick(View v) {
@@ -1288,7 +938,7 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
     private final View.OnFocusChangeListener mFocusListener = new View.OnFocusChangeListener() {
         @Override
         public void onFocusChange(View v, boolean hasFocus) {
-            if (!hasFocus && mInKbMode && isTypedTimeFullyLegal()) {
+            if (!hasFocus && mInKbMode && mTypedTimes.isFullyLegal()) {
                 finishKbMode();
 
                 if (mOnTimeChangedListener != null) {
@@ -1299,12 +949,4 @@ class TimePickerClockDelegate extends TimePicker.AbstractTimePickerDelegate impl
             }
         }
     };
-
-    private static String getBestTimePattern(Locale locale, boolean is24Hour) {
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR2) {
-            return DateFormat.getBestDateTimePattern(locale, (is24Hour) ? "Hm" : "hm");
-        } else {
-            return DateTimeUtilsCompat.getBestTimePattern(locale, is24Hour);
-        }
-    }
 }
@@ -0,0 +1,273 @@
+package io.doist.datetimepicker.time;
+
+import java.util.Arrays;
+
+/**
+ * Keeps track of the time typed in keyboard mode by {@link TimePickerClockDelegate}, as a sequence
+ * of symbols: the digits 0 through 9, {@link #SYMBOL_AM} and {@link #SYMBOL_PM}. Which symbols can
+ * be typed is decided by a transition table indexed by state and symbol, so adding, removing and
+ * validating symbols take constant time and allocate nothing. Only uses plain Java.
+ */
+final class TypedTimeEngine {
+    static final int SYMBOL_AM = 10;
+    static final int SYMBOL_PM = 11;
+    private static final int SYMBOL_COUNT = 12;
+
+    // The longest legal sequence, e.g. 12:59pm.
+    private static final int MAX_SYMBOLS = 5;
+
+    private static final int ILLEGAL = -1;
+    private static final int START = 0;
+    private static final int END = 7;
+    private static final int STATE_COUNT = 8;
+
+    // States in 24 hour mode, named after what was typed so far.
+    private static final int HOUR_0_TO_1 = 1;
+    private static final int HOUR_2 = 2;
+    private static final int HOUR_3_TO_9 = 3;
+    private static final int HOUR_00_TO_15 = 4;
+    private static final int HOUR_COMPLETE = 5;
+    private static final int MINUTE_FIRST_DIGIT = 6;
+
+    // States in AM/PM mode, named after what was typed so far.
+    private static final int AMPM_1 = 1;
+    private static final int AMPM_2_TO_9 = 2;
+    private static final int AMPM_10_TO_12 = 3;
+    private static final int AMPM_LAST_DIGIT = 4;
+    private static final int AMPM_OPTIONAL_DIGIT = 5;
+    private static final int AMPM_NO_DIGIT = 6;
+
+    /** Next state for each state and symbol, {@link #ILLEGAL} if the symbol can't be typed. */
+    private static final byte[] TRANSITIONS_24_HOUR = new byte[STATE_COUNT * SYMBOL_COUNT];
+    private static final byte[] TRANSITIONS_AMPM = new byte[STATE_COUNT * SYMBOL_COUNT];
+
+    static {
+        // Anything not filled in below is illegal.
+        Arrays.fill(TRANSITIONS_24_HOUR, (byte) ILLEGAL);
+        Arrays.fill(TRANSITIONS_AMPM, (byte) ILLEGAL);
+
+        final byte[] t24 = TRANSITIONS_24_HOUR;
+        fill(t24, START, 0, 1, HOUR_0_TO_1);
+        fill(t24, START, 2, 2, HOUR_2);
+        fill(t24, START, 3, 9, HOUR_3_TO_9);
+        // 0-1 may be followed by 0-5, and then either minutes (e.g. 00:09, 15:58) or a single
+        // minute digit (e.g. 0:55, 1:08).
+        fill(t24, HOUR_0_TO_1, 0, 5, HOUR_00_TO_15);
+        fill(t24, HOUR_00_TO_15, 0, 5, MINUTE_FIRST_DIGIT);
+        fill(t24, HOUR_00_TO_15, 6, 9, END);
+        // 0-1 may be followed by 6-9, and then minutes. E.g. 06:50, 18:20.
+        fill(t24, HOUR_0_TO_1, 6, 9, HOUR_COMPLETE);
+        // 2 may be followed by 0-3, and then minutes (e.g. 20:50, 23:09), or by the first digit
+        // of the minutes (e.g. 2:40, 2:53).
+        fill(t24, HOUR_2, 0, 3, HOUR_COMPLETE);
+        fill(t24, HOUR_2, 4, 5, MINUTE_FIRST_DIGIT);
+        // 3-9 must be followed by minutes. E.g. 3:57, 8:12.
+        fill(t24, HOUR_3_TO_9, 0, 5, MINUTE_FIRST_DIGIT);
+        fill(t24, HOUR_COMPLETE, 0, 5, MINUTE_FIRST_DIGIT);
+        fill(t24, MINUTE_FIRST_DIGIT, 0, 9, END);
+
+        final byte[] tAmPm = TRANSITIONS_AMPM;
+        // On-the-hour times may be finished right away. E.g. 1pm, 10pm, 12am, 5pm.
+        fill(tAmPm, START, 1, 1, AMPM_1);
+        fill(tAmPm, START, 2, 9, AMPM_2_TO_9);
+        fill(tAmPm, AMPM_1, SYMBOL_AM, SYMBOL_PM, END);
+        fill(tAmPm, AMPM_2_TO_9, SYMBOL_AM, SYMBOL_PM, END);
+        // 1 may be followed by 0-2, and then 0-5 (e.g. 1:02pm, 10:49am) or 6-9 (e.g. 1:08am).
+        fill(tAmPm, AMPM_1, 0, 2, AMPM_10_TO_12);
+        fill(tAmPm, AMPM_10_TO_12, SYMBOL_AM, SYMBOL_PM, END);
+        fill(tAmPm, AMPM_10_TO_12, 0, 5, AMPM_OPTIONAL_DIGIT);
+        fill(tAmPm, AMPM_10_TO_12, 6, 9, AMPM_NO_DIGIT);
+        fill(tAmPm, AMPM_OPTIONAL_DIGIT, SYMBOL_AM, SYMBOL_PM, END);
+        fill(tAmPm, AMPM_OPTIONAL_DIGIT, 0, 9, AMPM_NO_DIGIT);
+        // 1 may be followed by 3-5, and 2-9 by 0-5, and then a last digit. E.g. 1:39am, 9:30pm.
+        fill(tAmPm, AMPM_1, 3, 5, AMPM_LAST_DIGIT);
+        fill(tAmPm, AMPM_2_TO_9, 0, 5, AMPM_LAST_DIGIT);
+        fill(tAmPm, AMPM_LAST_DIGIT, 0, 9, AMPM_NO_DIGIT);
+        fill(tAmPm, AMPM_NO_DIGIT, SYMBOL_AM, SYMBOL_PM, END);
+    }
+
+    private final int[] mSymbols = new int[MAX_SYMBOLS];
+    // The state after each number of symbols, mStates[0] being START.
+    private final int[] mStates = new int[MAX_SYMBOLS + 1];
+    private int mSize;
+
+    private boolean mIs24HourMode;
+
+    private static void fill(byte[] transitions, int state, int fromSymbol, int toSymbol,
+                             int next) {
+        for (int symbol = fromSymbol; symbol <= toSymbol; symbol++) {
+            transitions[state * SYMBOL_COUNT + symbol] = (byte) next;
+        }
+    }
+
+    TypedTimeEngine() {
+        mStates[0] = START;
+    }
+
+    /**
+     * Sets whether times are typed in 24 hour mode, or with AM/PM. The symbols typed so far are
+     * kept, and checked against the new mode.
+     */
+    void setIs24HourMode(boolean is24HourMode) {
+        mIs24HourMode = is24HourMode;
+        updateStates(0);
+    }
+
+    /**
+     * Adds {@code symbol} if it is legal after the symbols typed so far. When AM or PM completes an
+     * on-the-hour time in AM/PM mode, zeros are filled in for the minutes.
+     *
+     * @return true if the symbol was added, false otherwise.
+     */
+    boolean add(int symbol) {
+        if (symbol < 0 || symbol >= SYMBOL_COUNT || mSize == MAX_SYMBOLS) {
+            return false;
+        }
+        final int next = getNextState(mStates[mSize], symbol);
+        if (next == ILLEGAL) {
+            return false;
+        }
+        mSymbols[mSize] = symbol;
+        mSize++;
+        mStates[mSize] = next;
+
+        // Automatically fill in 0's if AM or PM was legally entered.
+        if (symbol >= SYMBOL_AM && mSize <= 3) {
+            mSymbols[mSize + 1] = symbol;
+            mSymbols[mSize] = 0;
+            mSymbols[mSize - 1] = 0;
+            mSize += 2;
+            updateStates(mSize - 3);
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the last symbol typed.
+     */
+    int removeLast() {
+        mSize--;
+        return mSymbols[mSize];
+    }
+
+    void clear() {
+        mSize = 0;
+    }
+
+    boolean isEmpty() {
+        return mSize == 0;
+    }
+
+    /**
+     * Returns the symbols typed so far.
+     */
+    int[] getSymbols() {
+        final int[] symbols = new int[mSize];
+        System.arraycopy(mSymbols, 0, symbols, 0, mSize);
+        return symbols;
+    }
+
+    /**
+     * Replaces the symbols typed so far, e.g. when restoring state. Symbols beyond the longest
+     * legal sequence are dropped.
+     */
+    void setSymbols(int[] symbols) {
+        mSize = Math.min(symbols.length, MAX_SYMBOLS);
+        System.arraycopy(symbols, 0, mSymbols, 0, mSize);
+        updateStates(0);
+    }
+
+    /**
+     * Returns whether the symbols typed so far are legal as is, or may become legal as more symbols
+     * are typed.
+     */
+    boolean isLegalSoFar() {
+        return mStates[mSize] != ILLEGAL;
+    }
+
+    /**
+     * Returns whether the symbols typed so far form a complete time.
+     */
+    boolean isFullyLegal() {
+        if (mIs24HourMode) {
+            // The time is legal if the hours and minutes are each legal.
+            final int minute = getValue(1);
+            return getValue(3) >= 0 && minute >= 0 && minute < 60;
+        } else {
+            // The time is legal if it ends with AM or PM, as those can only be legally added at
+            // specific times.
+            return isAmOrPmTyped();
+        }
+    }
+
+    /**
+     * Gets the time typed so far.
+     *
+     * @param values A size-3 array, set to the hours, the minutes, and either AM or PM. Values not
+     * typed yet are -1.
+     * @param enteredZeros A size-2 array or null, set to whether zeros were explicitly entered as
+     * the first digit of the hours or minutes.
+     */
+    void getEnteredTime(int[] values, boolean[] enteredZeros) {
+        final int startIndex;
+        if (!mIs24HourMode && isAmOrPmTyped()) {
+            values[2] = mSymbols[mSize - 1] == SYMBOL_AM
+                    ? TimePickerClockDelegate.AM : TimePickerClockDelegate.PM;
+            startIndex = 2;
+        } else {
+            values[2] = -1;
+            startIndex = 1;
+        }
+        values[0] = getValue(startIndex + 2);
+        values[1] = getValue(startIndex);
+
+        if (enteredZeros != null) {
+            if (mSize >= startIndex + 3 && mSymbols[mSize - startIndex - 3] == 0) {
+                enteredZeros[0] = true;
+            }
+            if (mSize >= startIndex + 1 && mSymbols[mSize - startIndex - 1] == 0) {
+                enteredZeros[1] = true;
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the (up to) two digits ending {@code indexFromEnd} symbols before the
+     * end, or -1 if none were typed.
+     */
+    private int getValue(int indexFromEnd) {
+        final int last = mSize - indexFromEnd;
+        if (last < 0) {
+            return -1;
+        }
+        int value = getDigit(mSymbols[last]);
+        if (last > 0) {
+            value += 10 * getDigit(mSymbols[last - 1]);
+        }
+        return value;
+    }
+
+    private static int getDigit(int symbol) {
+        return symbol < SYMBOL_AM ? symbol : -1;
+    }
+
+    private boolean isAmOrPmTyped() {
+        return mSize > 0 && mSymbols[mSize - 1] >= SYMBOL_AM;
+    }
+
+    private int getNextState(int state, int symbol) {
+        if (state == ILLEGAL) {
+            return ILLEGAL;
+        }
+        final byte[] transitions = mIs24HourMode ? TRANSITIONS_24_HOUR : TRANSITIONS_AMPM;
+        return transitions[state * SYMBOL_COUNT + symbol];
+    }
+
+    private void updateStates(int from) {
+        for (int i = from; i < mSize; i++) {
+            final int symbol = mSymbols[i];
+            mStates[i + 1] = symbol >= 0 && symbol < SYMBOL_COUNT
+                    ? getNextState(mStates[i], symbol) : ILLEGAL;
+        }
+    }
+}
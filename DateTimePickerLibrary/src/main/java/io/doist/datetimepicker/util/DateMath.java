@@ -0,0 +1,98 @@
+package io.doist.datetimepicker.util;
+
+import java.util.Calendar;
+
+/**
+ * Calendar-free date arithmetic in the proleptic Gregorian calendar. Months and days of the week
+ * use the same values as {@link Calendar}.
+ */
+public final class DateMath {
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    // Offsets of the first day of each month for Sakamoto's day of the week algorithm.
+    private static final int[] MONTH_OFFSETS = {0, 3, 2, 5, 0, 3, 5, 1, 4, 6, 2, 4};
+
+    private DateMath() {
+    }
+
+    /**
+     * Returns whether {@code year} is a leap year, i.e. divisible by 4 but not by 100, unless it is
+     * also divisible by 400.
+     */
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * Returns the number of days in {@code month} of {@code year}.
+     *
+     * @param month {@link Calendar#JANUARY} through {@link Calendar#DECEMBER}.
+     */
+    public static int getDaysInMonth(int month, int year) {
+        if (month < Calendar.JANUARY || month > Calendar.DECEMBER) {
+            throw new IllegalArgumentException("Invalid Month");
+        }
+        return DAYS_IN_MONTH[month] + (month == Calendar.FEBRUARY && isLeapYear(year) ? 1 : 0);
+    }
+
+    /**
+     * Returns the day of the week of the first day of {@code month} of {@code year}, from
+     * {@link Calendar#SUNDAY} through {@link Calendar#SATURDAY}.
+     *
+     * @param month {@link Calendar#JANUARY} through {@link Calendar#DECEMBER}.
+     */
+    public static int getDayOfWeekOfFirst(int month, int year) {
+        // January and February count as months of the previous year.
+        final int y = month < Calendar.MARCH ? year - 1 : year;
+        final int dayOfWeek = (y + y / 4 - y / 100 + y / 400 + MONTH_OFFSETS[month] + 1) % 7;
+        return dayOfWeek + Calendar.SUNDAY;
+    }
+
+    /**
+     * Returns the number of months from {@code startMonth} of {@code startYear} to
+     * {@code endMonth} of {@code endYear}, negative if the end is before the start.
+     */
+    public static int getMonthsBetween(int startYear, int startMonth, int endYear, int endMonth) {
+        return (endYear - startYear) * 12 + endMonth - startMonth;
+    }
+
+    /**
+     * Returns the number of months since January of year 0, which orders months as integers.
+     */
+    public static int toEpochMonth(int year, int month) {
+        return year * 12 + month;
+    }
+
+    public static int getYearOfEpochMonth(int epochMonth) {
+        return epochMonth / 12;
+    }
+
+    public static int getMonthOfEpochMonth(int epochMonth) {
+        return epochMonth % 12;
+    }
+
+    /**
+     * Packs a date in an int, such that packed dates order like the dates they represent.
+     */
+    public static int packDate(int year, int month, int dayOfMonth) {
+        return toEpochMonth(year, month) << 5 | dayOfMonth;
+    }
+
+    /**
+     * Packs the date of {@code calendar}, ignoring the time of day.
+     *
+     * @see #packDate(int, int, int)
+     */
+    public static int packDate(Calendar calendar) {
+        return packDate(calendar.get(Calendar.YEAR), calendar.get(Calendar.MONTH),
+                        calendar.get(Calendar.DAY_OF_MONTH));
+    }
+
+    public static int getEpochMonthOfPackedDate(int packedDate) {
+        return packedDate >> 5;
+    }
+
+    public static int getDayOfPackedDate(int packedDate) {
+        return packedDate & 31;
+    }
+}
@@ -1,27 +1,35 @@
 package io.doist.datetimepicker.util;
 
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  *  Compatibility class that uses pre-generated from API level 22 to support some date and time utilities.
  */
 public class DateTimeUtilsCompat {
+    /** The locale was found in the tables. */
+    public static final int RESOLVED_EXACT = 0;
+    /** The locale was not found, but one with its language and country was. */
+    public static final int RESOLVED_LANGUAGE_AND_COUNTRY = 1;
+    /** Neither was found, so {@link Locale#US} is used. */
+    public static final int RESOLVED_FALLBACK = 2;
+
+    // Where each requested locale was resolved in the tables.
+    private static final ConcurrentHashMap<Locale, Resolution> sResolutions = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger sHitCount = new AtomicInteger();
+    private static final AtomicInteger sMissCount = new AtomicInteger();
+    private static final AtomicIntegerArray sResolvedCounts = new AtomicIntegerArray(RESOLVED_FALLBACK + 1);
+
     /**
      * Replaces <code>{@link java.text.DateFormat}#getBestDateTimePattern(mCurrentLocale, "yMMMd")</code>
      * in API levels below 18.
      */
     public static String getBestDatePattern(Locale locale) {
-        String pattern = internalGetBestDatePattern(locale);
-        if (pattern == null) {
-            // Fallback to Locale with same language and country, if no pattern is found for original locale.
-            locale = new Locale(locale.getLanguage(), locale.getCountry());
-            pattern = internalGetBestDatePattern(locale);
-            if (pattern == null) {
-                // Fallback to Locale.US if no pattern is found for every other locale.
-                pattern = internalGetBestDatePattern(Locale.US);
-            }
-        }
-        return pattern;
+        return Tables.getDatePattern(resolve(locale).index);
     }
 
     /**
@@ -29,2862 +37,296 @@ public class DateTimeUtilsCompat {
      * in API levels below 18.
      */
     public static String getBestTimePattern(Locale locale, boolean is24Hour) {
-        String pattern = internalGetBestTimePattern(locale, is24Hour);
-        if (pattern == null) {
-            // Fallback to Locale with same language and country, if no pattern is found for original locale.
-            locale = new Locale(locale.getLanguage(), locale.getCountry());
-            pattern = internalGetBestTimePattern(locale, is24Hour);
-            if (pattern == null) {
-                // Fallback to Locale.US if no pattern is found for every other locale.
-                pattern = internalGetBestTimePattern(Locale.US, is24Hour);
-            }
-        }
-        return pattern;
+        return Tables.getTimePattern(resolve(locale).index, is24Hour);
     }
 
     /**
-     * Replaces TimePickerSpinnerDelegate#getAmPmStrings(context).
+     * Replaces TimePickerSpinnerDelegate#getAmPmStrings(context). Returns a new array each call,
+     * as callers may modify it; use {@link #getBestAmString(Locale)} and
+     * {@link #getBestPmString(Locale)} to read the strings without allocating.
      */
     public static String[] getBestAmPmStrings(Locale locale) {
-        String[] amPmStrings = internalgetBestAmPmStrings(locale);
-        if (amPmStrings == null) {
-            // Fallback to Locale with same language and country, if no strings are found for original locale.
-            locale = new Locale(locale.getLanguage(), locale.getCountry());
-            amPmStrings = internalgetBestAmPmStrings(locale);
-            if (amPmStrings == null) {
-                // Fallback to Locale.US if no strings are found for every other locale.
-                amPmStrings = internalgetBestAmPmStrings(Locale.US);
-            }
-        }
-        return amPmStrings;
+        return Tables.getAmPmStrings(resolve(locale).index).clone();
     }
 
-    private static String internalGetBestTimePattern(Locale locale, boolean is24Hour) {
-        return is24Hour ? internalGetBestTimePattern24(locale) : internalGetBestTimePattern12(locale);
+    /**
+     * Returns the AM string of {@code locale}, as in {@link #getBestAmPmStrings(Locale)}.
+     */
+    public static String getBestAmString(Locale locale) {
+        return Tables.getAmPmStrings(resolve(locale).index)[0];
     }
 
     /**
-     * Cases generated by running in API level 22 device by running
-     * {@link DateTimeUtilsCompatGenerator#generateBestDateTimePatternCases(String)} with
-     * <code>skeleton = "yMMMd"</code> and prunning duplicates afterwards.
+     * Returns the PM string of {@code locale}, as in {@link #getBestAmPmStrings(Locale)}.
      */
-    private static String internalGetBestDatePattern(Locale locale) {
-        switch (locale.toString()) {
-            case "hy":
-            case "hy_AM":
-                return "d MMM, y\u0569.";
-            case "sk":
-            case "sk_SK":
-                return "d.M.y";
-            case "en_BW":
-            case "en_BZ":
-            case "en_MT":
-            case "en_ZA":
-            case "tr":
-            case "tr_CY":
-            case "tr_TR":
-                return "dd MMM y";
-            case "az__#Cyrl":
-            case "az_AZ_#Cyrl":
-            case "bn":
-            case "bn_BD":
-            case "bn_IN":
-            case "en_HK":
-            case "gl":
-            case "gl_ES":
-            case "gu":
-            case "gu_IN":
-            case "ha":
-            case "ha__#Latn":
-            case "ha_GH":
-            case "ha_GH_#Latn":
-            case "ha_NE":
-            case "ha_NE_#Latn":
-            case "ha_NG":
-            case "ha_NG_#Latn":
-            case "hi":
-            case "hi_IN":
-            case "ka":
-            case "ka_GE":
-            case "mr":
-            case "mr_IN":
-            case "sg":
-            case "sg_CF":
-            case "shi":
-            case "shi__#Latn":
-            case "shi_MA":
-            case "shi_MA_#Latn":
-            case "shi__#Tfng":
-            case "shi_MA_#Tfng":
-            case "ta":
-            case "ta_IN":
-            case "ta_LK":
-            case "ta_MY":
-            case "ta_SG":
-            case "zgh":
-            case "zgh_MA":
-                return "d MMM, y";
-            case "te":
-            case "te_IN":
-                return "d, MMM y";
-            case "hr":
-            case "hr_BA":
-            case "hr_HR":
-            case "sr":
-            case "sr__#Cyrl":
-            case "sr_BA":
-            case "sr_BA_#Cyrl":
-            case "sr_ME":
-            case "sr_ME_#Cyrl":
-            case "sr_RS":
-            case "sr_RS_#Cyrl":
-            case "sr_XK":
-            case "sr_XK_#Cyrl":
-            case "sr__#Latn":
-            case "sr_BA_#Latn":
-            case "sr_ME_#Latn":
-            case "sr_RS_#Latn":
-            case "sr_XK_#Latn":
-                return "d. MMM y.";
-            case "bs":
-            case "bs__#Cyrl":
-            case "bs_BA":
-            case "bs_BA_#Cyrl":
-            case "bs__#Latn":
-            case "bs_BA_#Latn":
-                return "dd. MMM y.";
-            case "ar":
-            case "ar_001":
-            case "ar_AE":
-            case "ar_BH":
-            case "ar_DJ":
-            case "ar_DZ":
-            case "ar_EG":
-            case "ar_EH":
-            case "ar_ER":
-            case "ar_IL":
-            case "ar_IQ":
-            case "ar_JO":
-            case "ar_KM":
-            case "ar_KW":
-            case "ar_LB":
-            case "ar_LY":
-            case "ar_MA":
-            case "ar_MR":
-            case "ar_OM":
-            case "ar_PS":
-            case "ar_QA":
-            case "ar_SA":
-            case "ar_SD":
-            case "ar_SO":
-            case "ar_SS":
-            case "ar_SY":
-            case "ar_TD":
-            case "ar_TN":
-            case "ar_YE":
-            case "ur":
-            case "ur_IN":
-            case "ur_PK":
-                return "d MMM\u060c y";
-            case "sbp":
-            case "sbp_TZ":
-            case "vai__#Latn":
-            case "vai_LR_#Latn":
-                return "MMM d y";
-            case "zh_HK":
-            case "zh_MO":
-            case "zh_HK_#Hant":
-            case "zh_MO_#Hant":
-                return "y \u5e74 M \u6708 d \u65e5";
-            case "om":
-            case "om_ET":
-            case "om_KE":
-            case "so":
-            case "so_DJ":
-            case "so_ET":
-            case "so_KE":
-            case "so_SO":
-            case "ti":
-            case "ti_ER":
-            case "ti_ET":
-                return "d\u002dMMM\u002dy";
-            case "iw":
-            case "iw_IL":
-                return "d \u05d1MMM y";
-            case "en_ZW":
-            case "vi":
-            case "vi_VN":
-                return "dd MMM, y";
-            case "hu":
-            case "hu_HU":
-                return "y. MMM d.";
-            case "brx":
-            case "brx_IN":
-            case "chr":
-            case "chr_US":
-            case "en":
-            case "en_001":
-            case "en_AG":
-            case "en_AI":
-            case "en_AS":
-            case "en_BB":
-            case "en_BM":
-            case "en_BS":
-            case "en_CA":
-            case "en_CC":
-            case "en_CK":
-            case "en_CM":
-            case "en_CX":
-            case "en_DM":
-            case "en_ER":
-            case "en_FJ":
-            case "en_FM":
-            case "en_GD":
-            case "en_GH":
-            case "en_GM":
-            case "en_GU":
-            case "en_GY":
-            case "en_JM":
-            case "en_KE":
-            case "en_KI":
-            case "en_KN":
-            case "en_KY":
-            case "en_LC":
-            case "en_LR":
-            case "en_LS":
-            case "en_MG":
-            case "en_MH":
-            case "en_MP":
-            case "en_MS":
-            case "en_MU":
-            case "en_MW":
-            case "en_NA":
-            case "en_NF":
-            case "en_NG":
-            case "en_NR":
-            case "en_NU":
-            case "en_PG":
-            case "en_PH":
-            case "en_PN":
-            case "en_PR":
-            case "en_PW":
-            case "en_RW":
-            case "en_SB":
-            case "en_SC":
-            case "en_SD":
-            case "en_SL":
-            case "en_SS":
-            case "en_SX":
-            case "en_SZ":
-            case "en_TC":
-            case "en_TK":
-            case "en_TO":
-            case "en_TT":
-            case "en_TV":
-            case "en_TZ":
-            case "en_UG":
-            case "en_UM":
-            case "en_US":
-            case "en_US_POSIX":
-            case "en_VC":
-            case "en_VI":
-            case "en_VU":
-            case "en_WS":
-            case "en_ZM":
-            case "es_US":
-            case "fil":
-            case "fil_PH":
-            case "ks":
-            case "ks__#Arab":
-            case "ks_IN":
-            case "ks_IN_#Arab":
-            case "mgh":
-            case "mgh_MZ":
-            case "zu":
-            case "zu_ZA":
-                return "MMM d, y";
-            case "ug":
-            case "ug__#Arab":
-            case "ug_CN":
-            case "ug_CN_#Arab":
-                return "MMM d\u060c y";
-            case "af":
-            case "af_NA":
-            case "af_ZA":
-            case "agq":
-            case "agq_CM":
-            case "am":
-            case "am_ET":
-            case "asa":
-            case "asa_TZ":
-            case "az":
-            case "az_AZ":
-            case "az__#Latn":
-            case "az_AZ_#Latn":
-            case "bas":
-            case "bas_CM":
-            case "be":
-            case "be_BY":
-            case "bem":
-            case "bem_ZM":
-            case "bez":
-            case "bez_TZ":
-            case "bm":
-            case "bm_ML":
-            case "ca":
-            case "ca_AD":
-            case "ca_ES":
-            case "ca_FR":
-            case "ca_IT":
-            case "cgg":
-            case "cgg_UG":
-            case "cy":
-            case "cy_GB":
-            case "dav":
-            case "dav_KE":
-            case "dje":
-            case "dje_NE":
-            case "dua":
-            case "dua_CM":
-            case "dyo":
-            case "dyo_SN":
-            case "ebu":
-            case "ebu_KE":
-            case "el":
-            case "el_CY":
-            case "el_GR":
-            case "en_150":
-            case "en_AU":
-            case "en_BE":
-            case "en_DG":
-            case "en_FK":
-            case "en_GB":
-            case "en_GG":
-            case "en_GI":
-            case "en_IE":
-            case "en_IM":
-            case "en_IN":
-            case "en_IO":
-            case "en_JE":
-            case "en_MO":
-            case "en_NZ":
-            case "en_PK":
-            case "en_SG":
-            case "en_SH":
-            case "en_VG":
-            case "ewo":
-            case "ewo_CM":
-            case "fa":
-            case "fa_AF":
-            case "fa_IR":
-            case "ff":
-            case "ff_SN":
-            case "fr":
-            case "fr_BE":
-            case "fr_BF":
-            case "fr_BI":
-            case "fr_BJ":
-            case "fr_BL":
-            case "fr_CA":
-            case "fr_CD":
-            case "fr_CF":
-            case "fr_CG":
-            case "fr_CH":
-            case "fr_CI":
-            case "fr_CM":
-            case "fr_DJ":
-            case "fr_DZ":
-            case "fr_FR":
-            case "fr_GA":
-            case "fr_GF":
-            case "fr_GN":
-            case "fr_GP":
-            case "fr_GQ":
-            case "fr_HT":
-            case "fr_KM":
-            case "fr_LU":
-            case "fr_MA":
-            case "fr_MC":
-            case "fr_MF":
-            case "fr_MG":
-            case "fr_ML":
-            case "fr_MQ":
-            case "fr_MR":
-            case "fr_MU":
-            case "fr_NC":
-            case "fr_NE":
-            case "fr_PF":
-            case "fr_PM":
-            case "fr_RE":
-            case "fr_RW":
-            case "fr_SC":
-            case "fr_SN":
-            case "fr_SY":
-            case "fr_TD":
-            case "fr_TG":
-            case "fr_TN":
-            case "fr_VU":
-            case "fr_WF":
-            case "fr_YT":
-            case "ga":
-            case "ga_IE":
-            case "guz":
-            case "guz_KE":
-            case "haw":
-            case "haw_US":
-            case "in":
-            case "in_ID":
-            case "ig":
-            case "ig_NG":
-            case "it":
-            case "it_CH":
-            case "it_IT":
-            case "it_SM":
-            case "jmc":
-            case "jmc_TZ":
-            case "kab":
-            case "kab_DZ":
-            case "kam":
-            case "kam_KE":
-            case "kde":
-            case "kde_TZ":
-            case "kea":
-            case "kea_CV":
-            case "khq":
-            case "khq_ML":
-            case "ki":
-            case "ki_KE":
-            case "kk":
-            case "kk__#Cyrl":
-            case "kk_KZ":
-            case "kk_KZ_#Cyrl":
-            case "kkj":
-            case "kkj_CM":
-            case "kln":
-            case "kln_KE":
-            case "km":
-            case "km_KH":
-            case "ksb":
-            case "ksb_TZ":
-            case "ksf":
-            case "ksf_CM":
-            case "lag":
-            case "lag_TZ":
-            case "lg":
-            case "lg_UG":
-            case "ln":
-            case "ln_AO":
-            case "ln_CD":
-            case "ln_CF":
-            case "ln_CG":
-            case "lo":
-            case "lo_LA":
-            case "lu":
-            case "lu_CD":
-            case "luo":
-            case "luo_KE":
-            case "luy":
-            case "luy_KE":
-            case "mas":
-            case "mas_KE":
-            case "mas_TZ":
-            case "mer":
-            case "mer_KE":
-            case "mfe":
-            case "mfe_MU":
-            case "mg":
-            case "mg_MG":
-            case "ms":
-            case "ms__#Latn":
-            case "ms_BN":
-            case "ms_BN_#Latn":
-            case "ms_MY":
-            case "ms_MY_#Latn":
-            case "ms_SG":
-            case "ms_SG_#Latn":
-            case "mua":
-            case "mua_CM":
-            case "naq":
-            case "naq_NA":
-            case "nd":
-            case "nd_ZW":
-            case "nl":
-            case "nl_AW":
-            case "nl_BE":
-            case "nl_BQ":
-            case "nl_CW":
-            case "nl_NL":
-            case "nl_SR":
-            case "nl_SX":
-            case "nmg":
-            case "nmg_CM":
-            case "nus":
-            case "nus_SD":
-            case "nyn":
-            case "nyn_UG":
-            case "or":
-            case "or_IN":
-            case "pa":
-            case "pa__#Arab":
-            case "pa_PK":
-            case "pa_PK_#Arab":
-            case "pa__#Guru":
-            case "pa_IN":
-            case "pa_IN_#Guru":
-            case "pl":
-            case "pl_PL":
-            case "ps":
-            case "ps_AF":
-            case "rn":
-            case "rn_BI":
-            case "ro":
-            case "ro_MD":
-            case "ro_RO":
-            case "rof":
-            case "rof_TZ":
-            case "ru_UA":
-            case "rwk":
-            case "rwk_TZ":
-            case "saq":
-            case "saq_KE":
-            case "ses":
-            case "ses_ML":
-            case "sn":
-            case "sn_ZW":
-            case "sq":
-            case "sq_AL":
-            case "sq_MK":
-            case "sq_XK":
-            case "sv":
-            case "sv_AX":
-            case "sv_FI":
-            case "sv_SE":
-            case "sw":
-            case "sw_KE":
-            case "sw_TZ":
-            case "sw_UG":
-            case "swc":
-            case "swc_CD":
-            case "teo":
-            case "teo_KE":
-            case "teo_UG":
-            case "th":
-            case "th_TH":
-            case "to":
-            case "to_TO":
-            case "twq":
-            case "twq_NE":
-            case "tzm":
-            case "tzm__#Latn":
-            case "tzm_MA":
-            case "tzm_MA_#Latn":
-            case "uk":
-            case "uk_UA":
-            case "vai":
-            case "vai_LR":
-            case "vai__#Vaii":
-            case "vai_LR_#Vaii":
-            case "vun":
-            case "vun_TZ":
-            case "xog":
-            case "xog_UG":
-            case "yav":
-            case "yav_CM":
-            case "yo":
-            case "yo_BJ":
-            case "yo_NG":
-                return "d MMM y";
-            case "es":
-            case "es_419":
-            case "es_AR":
-            case "es_BO":
-            case "es_CL":
-            case "es_CO":
-            case "es_CR":
-            case "es_CU":
-            case "es_DO":
-            case "es_EA":
-            case "es_EC":
-            case "es_ES":
-            case "es_GQ":
-            case "es_GT":
-            case "es_HN":
-            case "es_IC":
-            case "es_MX":
-            case "es_NI":
-            case "es_PA":
-            case "es_PE":
-            case "es_PH":
-            case "es_PR":
-            case "es_PY":
-            case "es_SV":
-            case "es_UY":
-            case "es_VE":
-            case "pt":
-            case "pt_BR":
-            case "seh":
-            case "seh_MZ":
-                return "d \u0027de\u0027 MMM \u0027de\u0027 y";
-            case "nnh":
-            case "nnh_CM":
-                return "\u0027ly\u025b\u0027\u030c\u02bc d \u0027na\u0027 MMMM, y";
-            case "ky":
-            case "ky__#Cyrl":
-            case "ky_KG":
-            case "ky_KG_#Cyrl":
-                return "y\u002d\u0027\u0436\u0027. d\u002dMMM";
-            case "ja":
-            case "ja_JP":
-            case "zh":
-            case "zh__#Hans":
-            case "zh_CN":
-            case "zh_CN_#Hans":
-            case "zh_HK_#Hans":
-            case "zh_MO_#Hans":
-            case "zh_SG":
-            case "zh_SG_#Hans":
-            case "zh__#Hant":
-            case "zh_TW":
-            case "zh_TW_#Hant":
-                return "y\u5e74M\u6708d\u65e5";
-            case "mk":
-            case "mk_MK":
-            case "ru":
-            case "ru_BY":
-            case "ru_KG":
-            case "ru_KZ":
-            case "ru_MD":
-            case "ru_RU":
-                return "d MMM y \u0027\u0433\u0027.";
-            case "ee":
-            case "ee_GH":
-            case "ee_TG":
-                return "MMM d \u0027lia\u0027, y";
-            case "bg":
-            case "bg_BG":
-                return "d.MM.y \u0027\u0433\u0027.";
-            case "da":
-            case "da_DK":
-            case "da_GL":
-            case "de":
-            case "de_AT":
-            case "de_BE":
-            case "de_CH":
-            case "de_DE":
-            case "de_LI":
-            case "de_LU":
-            case "et":
-            case "et_EE":
-            case "fi":
-            case "fi_FI":
-            case "is":
-            case "is_IS":
-            case "nb":
-            case "nb_NO":
-            case "nb_SJ":
-            case "nn":
-            case "nn_NO":
-            case "sl":
-            case "sl_SI":
-                return "d. MMM y";
-            case "pt_AO":
-            case "pt_CV":
-            case "pt_GW":
-            case "pt_MO":
-            case "pt_MZ":
-            case "pt_PT":
-            case "pt_ST":
-            case "pt_TL":
-                return "d\u002fMM\u002fy";
-            case "bo":
-            case "bo_CN":
-            case "bo_IN":
-                return "y \u0f63\u0f7c\u0f0b\u0f60\u0f72\u0f0bMMM\u0f59\u0f7a\u0f66\u0f0bd";
-            case "cs":
-            case "cs_CZ":
-                return "d. M. y";
-            case "ak":
-            case "ak_GH":
-            case "as":
-            case "as_IN":
-            case "br":
-            case "br_FR":
-            case "dz":
-            case "dz_BT":
-            case "eo":
-            case "eu":
-            case "eu_ES":
-            case "fo":
-            case "fo_FO":
-            case "gsw":
-            case "gsw_CH":
-            case "gsw_LI":
-            case "gv":
-            case "gv_IM":
-            case "ii":
-            case "ii_CN":
-            case "jgo":
-            case "jgo_CM":
-            case "kl":
-            case "kl_GL":
-            case "kok":
-            case "kok_IN":
-            case "kw":
-            case "kw_GB":
-            case "lkt":
-            case "lkt_US":
-            case "lt":
-            case "lt_LT":
-            case "mgo":
-            case "mgo_CM":
-            case "ml":
-            case "ml_IN":
-            case "mn":
-            case "mn__#Cyrl":
-            case "mn_MN":
-            case "mn_MN_#Cyrl":
-            case "mt":
-            case "mt_MT":
-            case "my":
-            case "my_MM":
-            case "ne":
-            case "ne_IN":
-            case "ne_NP":
-            case "rm":
-            case "rm_CH":
-            case "rw":
-            case "rw_RW":
-            case "si":
-            case "si_LK":
-            case "uz":
-            case "uz__#Arab":
-            case "uz_AF":
-            case "uz_AF_#Arab":
-            case "uz__#Cyrl":
-            case "uz_UZ":
-            case "uz_UZ_#Cyrl":
-            case "uz__#Latn":
-            case "uz_UZ_#Latn":
-                return "y MMM d";
-            case "lv":
-            case "lv_LV":
-                return "y. \u0027g\u0027. d. MMM";
-            case "ko":
-            case "ko_KP":
-            case "ko_KR":
-                return "y\ub144 MMM d\uc77c";
-            case "kn":
-            case "kn_IN":
-                return "d, MMM, y";
-        }
+    public static String getBestPmString(Locale locale) {
+        return Tables.getAmPmStrings(resolve(locale).index)[1];
+    }
+
+    /**
+     * Returns how {@code locale} is resolved in the tables: {@link #RESOLVED_EXACT},
+     * {@link #RESOLVED_LANGUAGE_AND_COUNTRY} or {@link #RESOLVED_FALLBACK}.
+     */
+    public static int getResolution(Locale locale) {
+        return resolve(locale).level;
+    }
+
+    /**
+     * Returns the number of lookups for a locale that was already resolved.
+     */
+    public static int getCacheHitCount() {
+        return sHitCount.get();
+    }
 
-        // Pattern for locale not found.
-        return null;
+    /**
+     * Returns the number of lookups that had to resolve their locale.
+     */
+    public static int getCacheMissCount() {
+        return sMissCount.get();
     }
 
     /**
-     * Cases generated by running in API level 22 device by running
-     * {@link DateTimeUtilsCompatGenerator#generateBestDateTimePatternCases(String)} with <code>skeleton = "Hm"</code>
-     * and prunning duplicates afterwards.
+     * Returns the number of locales resolved with {@code resolution}, one of
+     * {@link #RESOLVED_EXACT}, {@link #RESOLVED_LANGUAGE_AND_COUNTRY} or {@link #RESOLVED_FALLBACK}.
      */
-    private static String internalGetBestTimePattern24(Locale locale) {
-        switch (locale.toString()) {
-            case "fi":
-            case "fi_FI":
-                return "H.mm";
-            case "be":
-            case "be_BY":
-            case "da":
-            case "da_DK":
-            case "da_GL":
-            case "in":
-            case "in_ID":
-            case "nb":
-            case "nb_NO":
-            case "nb_SJ":
-            case "sl":
-            case "sl_SI":
-            case "sr":
-            case "sr__#Cyrl":
-            case "sr_BA":
-            case "sr_BA_#Cyrl":
-            case "sr_ME":
-            case "sr_ME_#Cyrl":
-            case "sr_RS":
-            case "sr_RS_#Cyrl":
-            case "sr_XK":
-            case "sr_XK_#Cyrl":
-            case "sr__#Latn":
-            case "sr_BA_#Latn":
-            case "sr_ME_#Latn":
-            case "sr_RS_#Latn":
-            case "sr_XK_#Latn":
-                return "HH.mm";
-            case "bg":
-            case "bg_BG":
-            case "chr":
-            case "chr_US":
-            case "cs":
-            case "cs_CZ":
-            case "es":
-            case "es_419":
-            case "es_AR":
-            case "es_BO":
-            case "es_CL":
-            case "es_CO":
-            case "es_CR":
-            case "es_CU":
-            case "es_DO":
-            case "es_EA":
-            case "es_EC":
-            case "es_ES":
-            case "es_GQ":
-            case "es_GT":
-            case "es_HN":
-            case "es_IC":
-            case "es_NI":
-            case "es_PA":
-            case "es_PE":
-            case "es_PH":
-            case "es_PR":
-            case "es_PY":
-            case "es_SV":
-            case "es_US":
-            case "es_UY":
-            case "es_VE":
-            case "fa":
-            case "fa_AF":
-            case "fa_IR":
-            case "gsw":
-            case "gsw_CH":
-            case "gsw_LI":
-            case "hu":
-            case "hu_HU":
-            case "hy":
-            case "hy_AM":
-            case "ja":
-            case "ja_JP":
-            case "mr":
-            case "mr_IN":
-            case "ps":
-            case "ps_AF":
-            case "rm":
-            case "rm_CH":
-            case "ru":
-            case "ru_BY":
-            case "ru_KG":
-            case "ru_KZ":
-            case "ru_MD":
-            case "ru_RU":
-            case "ru_UA":
-            case "seh":
-            case "seh_MZ":
-            case "sk":
-            case "sk_SK":
-            case "vi":
-            case "vi_VN":
-                return "H:mm";
-            case "af":
-            case "af_NA":
-            case "af_ZA":
-            case "agq":
-            case "agq_CM":
-            case "ak":
-            case "ak_GH":
-            case "am":
-            case "am_ET":
-            case "ar":
-            case "ar_001":
-            case "ar_AE":
-            case "ar_BH":
-            case "ar_DJ":
-            case "ar_DZ":
-            case "ar_EG":
-            case "ar_EH":
-            case "ar_ER":
-            case "ar_IL":
-            case "ar_IQ":
-            case "ar_JO":
-            case "ar_KM":
-            case "ar_KW":
-            case "ar_LB":
-            case "ar_LY":
-            case "ar_MA":
-            case "ar_MR":
-            case "ar_OM":
-            case "ar_PS":
-            case "ar_QA":
-            case "ar_SA":
-            case "ar_SD":
-            case "ar_SO":
-            case "ar_SS":
-            case "ar_SY":
-            case "ar_TD":
-            case "ar_TN":
-            case "ar_YE":
-            case "as":
-            case "as_IN":
-            case "asa":
-            case "asa_TZ":
-            case "az":
-            case "az__#Cyrl":
-            case "az_AZ":
-            case "az_AZ_#Cyrl":
-            case "az__#Latn":
-            case "az_AZ_#Latn":
-            case "bas":
-            case "bas_CM":
-            case "bem":
-            case "bem_ZM":
-            case "bez":
-            case "bez_TZ":
-            case "bm":
-            case "bm_ML":
-            case "bn":
-            case "bn_BD":
-            case "bn_IN":
-            case "bo":
-            case "bo_CN":
-            case "bo_IN":
-            case "br":
-            case "br_FR":
-            case "brx":
-            case "brx_IN":
-            case "bs":
-            case "bs__#Cyrl":
-            case "bs_BA":
-            case "bs_BA_#Cyrl":
-            case "bs__#Latn":
-            case "bs_BA_#Latn":
-            case "ca":
-            case "ca_AD":
-            case "ca_ES":
-            case "ca_FR":
-            case "ca_IT":
-            case "cgg":
-            case "cgg_UG":
-            case "cy":
-            case "cy_GB":
-            case "dav":
-            case "dav_KE":
-            case "de":
-            case "de_AT":
-            case "de_BE":
-            case "de_CH":
-            case "de_DE":
-            case "de_LI":
-            case "de_LU":
-            case "dje":
-            case "dje_NE":
-            case "dua":
-            case "dua_CM":
-            case "dyo":
-            case "dyo_SN":
-            case "dz":
-            case "dz_BT":
-            case "ebu":
-            case "ebu_KE":
-            case "ee":
-            case "ee_GH":
-            case "ee_TG":
-            case "el":
-            case "el_CY":
-            case "el_GR":
-            case "en":
-            case "en_001":
-            case "en_150":
-            case "en_AG":
-            case "en_AI":
-            case "en_AS":
-            case "en_AU":
-            case "en_BB":
-            case "en_BE":
-            case "en_BM":
-            case "en_BS":
-            case "en_BW":
-            case "en_BZ":
-            case "en_CA":
-            case "en_CC":
-            case "en_CK":
-            case "en_CM":
-            case "en_CX":
-            case "en_DG":
-            case "en_DM":
-            case "en_ER":
-            case "en_FJ":
-            case "en_FK":
-            case "en_FM":
-            case "en_GB":
-            case "en_GD":
-            case "en_GG":
-            case "en_GH":
-            case "en_GI":
-            case "en_GM":
-            case "en_GU":
-            case "en_GY":
-            case "en_HK":
-            case "en_IE":
-            case "en_IM":
-            case "en_IN":
-            case "en_IO":
-            case "en_JE":
-            case "en_JM":
-            case "en_KE":
-            case "en_KI":
-            case "en_KN":
-            case "en_KY":
-            case "en_LC":
-            case "en_LR":
-            case "en_LS":
-            case "en_MG":
-            case "en_MH":
-            case "en_MO":
-            case "en_MP":
-            case "en_MS":
-            case "en_MT":
-            case "en_MU":
-            case "en_MW":
-            case "en_NA":
-            case "en_NF":
-            case "en_NG":
-            case "en_NR":
-            case "en_NU":
-            case "en_NZ":
-            case "en_PG":
-            case "en_PH":
-            case "en_PK":
-            case "en_PN":
-            case "en_PR":
-            case "en_PW":
-            case "en_RW":
-            case "en_SB":
-            case "en_SC":
-            case "en_SD":
-            case "en_SG":
-            case "en_SH":
-            case "en_SL":
-            case "en_SS":
-            case "en_SX":
-            case "en_SZ":
-            case "en_TC":
-            case "en_TK":
-            case "en_TO":
-            case "en_TT":
-            case "en_TV":
-            case "en_TZ":
-            case "en_UG":
-            case "en_UM":
-            case "en_US":
-            case "en_US_POSIX":
-            case "en_VC":
-            case "en_VG":
-            case "en_VI":
-            case "en_VU":
-            case "en_WS":
-            case "en_ZA":
-            case "en_ZM":
-            case "en_ZW":
-            case "eo":
-            case "es_MX":
-            case "et":
-            case "et_EE":
-            case "eu":
-            case "eu_ES":
-            case "ewo":
-            case "ewo_CM":
-            case "ff":
-            case "ff_SN":
-            case "fil":
-            case "fil_PH":
-            case "fo":
-            case "fo_FO":
-            case "fr":
-            case "fr_BE":
-            case "fr_BF":
-            case "fr_BI":
-            case "fr_BJ":
-            case "fr_BL":
-            case "fr_CA":
-            case "fr_CD":
-            case "fr_CF":
-            case "fr_CG":
-            case "fr_CH":
-            case "fr_CI":
-            case "fr_CM":
-            case "fr_DJ":
-            case "fr_DZ":
-            case "fr_FR":
-            case "fr_GA":
-            case "fr_GF":
-            case "fr_GN":
-            case "fr_GP":
-            case "fr_GQ":
-            case "fr_HT":
-            case "fr_KM":
-            case "fr_LU":
-            case "fr_MA":
-            case "fr_MC":
-            case "fr_MF":
-            case "fr_MG":
-            case "fr_ML":
-            case "fr_MQ":
-            case "fr_MR":
-            case "fr_MU":
-            case "fr_NC":
-            case "fr_NE":
-            case "fr_PF":
-            case "fr_PM":
-            case "fr_RE":
-            case "fr_RW":
-            case "fr_SC":
-            case "fr_SN":
-            case "fr_SY":
-            case "fr_TD":
-            case "fr_TG":
-            case "fr_TN":
-            case "fr_VU":
-            case "fr_WF":
-            case "fr_YT":
-            case "ga":
-            case "ga_IE":
-            case "gl":
-            case "gl_ES":
-            case "gu":
-            case "gu_IN":
-            case "guz":
-            case "guz_KE":
-            case "gv":
-            case "gv_IM":
-            case "ha":
-            case "ha__#Latn":
-            case "ha_GH":
-            case "ha_GH_#Latn":
-            case "ha_NE":
-            case "ha_NE_#Latn":
-            case "ha_NG":
-            case "ha_NG_#Latn":
-            case "haw":
-            case "haw_US":
-            case "iw":
-            case "iw_IL":
-            case "hi":
-            case "hi_IN":
-            case "hr":
-            case "hr_BA":
-            case "hr_HR":
-            case "ig":
-            case "ig_NG":
-            case "ii":
-            case "ii_CN":
-            case "is":
-            case "is_IS":
-            case "it":
-            case "it_CH":
-            case "it_IT":
-            case "it_SM":
-            case "jgo":
-            case "jgo_CM":
-            case "jmc":
-            case "jmc_TZ":
-            case "ka":
-            case "ka_GE":
-            case "kab":
-            case "kab_DZ":
-            case "kam":
-            case "kam_KE":
-            case "kde":
-            case "kde_TZ":
-            case "kea":
-            case "kea_CV":
-            case "khq":
-            case "khq_ML":
-            case "ki":
-            case "ki_KE":
-            case "kk":
-            case "kk__#Cyrl":
-            case "kk_KZ":
-            case "kk_KZ_#Cyrl":
-            case "kkj":
-            case "kkj_CM":
-            case "kl":
-            case "kl_GL":
-            case "kln":
-            case "kln_KE":
-            case "km":
-            case "km_KH":
-            case "kn":
-            case "kn_IN":
-            case "ko":
-            case "ko_KP":
-            case "ko_KR":
-            case "kok":
-            case "kok_IN":
-            case "ks":
-            case "ks__#Arab":
-            case "ks_IN":
-            case "ks_IN_#Arab":
-            case "ksb":
-            case "ksb_TZ":
-            case "ksf":
-            case "ksf_CM":
-            case "kw":
-            case "kw_GB":
-            case "ky":
-            case "ky__#Cyrl":
-            case "ky_KG":
-            case "ky_KG_#Cyrl":
-            case "lag":
-            case "lag_TZ":
-            case "lg":
-            case "lg_UG":
-            case "lkt":
-            case "lkt_US":
-            case "ln":
-            case "ln_AO":
-            case "ln_CD":
-            case "ln_CF":
-            case "ln_CG":
-            case "lo":
-            case "lo_LA":
-            case "lt":
-            case "lt_LT":
-            case "lu":
-            case "lu_CD":
-            case "luo":
-            case "luo_KE":
-            case "luy":
-            case "luy_KE":
-            case "lv":
-            case "lv_LV":
-            case "mas":
-            case "mas_KE":
-            case "mas_TZ":
-            case "mer":
-            case "mer_KE":
-            case "mfe":
-            case "mfe_MU":
-            case "mg":
-            case "mg_MG":
-            case "mgh":
-            case "mgh_MZ":
-            case "mgo":
-            case "mgo_CM":
-            case "mk":
-            case "mk_MK":
-            case "ml":
-            case "ml_IN":
-            case "mn":
-            case "mn__#Cyrl":
-            case "mn_MN":
-            case "mn_MN_#Cyrl":
-            case "ms":
-            case "ms__#Latn":
-            case "ms_BN":
-            case "ms_BN_#Latn":
-            case "ms_MY":
-            case "ms_MY_#Latn":
-            case "ms_SG":
-            case "ms_SG_#Latn":
-            case "mt":
-            case "mt_MT":
-            case "mua":
-            case "mua_CM":
-            case "my":
-            case "my_MM":
-            case "naq":
-            case "naq_NA":
-            case "nd":
-            case "nd_ZW":
-            case "ne":
-            case "ne_IN":
-            case "ne_NP":
-            case "nl":
-            case "nl_AW":
-            case "nl_BE":
-            case "nl_BQ":
-            case "nl_CW":
-            case "nl_NL":
-            case "nl_SR":
-            case "nl_SX":
-            case "nmg":
-            case "nmg_CM":
-            case "nn":
-            case "nn_NO":
-            case "nnh":
-            case "nnh_CM":
-            case "nus":
-            case "nus_SD":
-            case "nyn":
-            case "nyn_UG":
-            case "om":
-            case "om_ET":
-            case "om_KE":
-            case "or":
-            case "or_IN":
-            case "pa":
-            case "pa__#Arab":
-            case "pa_PK":
-            case "pa_PK_#Arab":
-            case "pa__#Guru":
-            case "pa_IN":
-            case "pa_IN_#Guru":
-            case "pl":
-            case "pl_PL":
-            case "pt":
-            case "pt_AO":
-            case "pt_BR":
-            case "pt_CV":
-            case "pt_GW":
-            case "pt_MO":
-            case "pt_MZ":
-            case "pt_PT":
-            case "pt_ST":
-            case "pt_TL":
-            case "rn":
-            case "rn_BI":
-            case "ro":
-            case "ro_MD":
-            case "ro_RO":
-            case "rof":
-            case "rof_TZ":
-            case "rw":
-            case "rw_RW":
-            case "rwk":
-            case "rwk_TZ":
-            case "saq":
-            case "saq_KE":
-            case "sbp":
-            case "sbp_TZ":
-            case "ses":
-            case "ses_ML":
-            case "sg":
-            case "sg_CF":
-            case "shi":
-            case "shi__#Latn":
-            case "shi_MA":
-            case "shi_MA_#Latn":
-            case "shi__#Tfng":
-            case "shi_MA_#Tfng":
-            case "si":
-            case "si_LK":
-            case "sn":
-            case "sn_ZW":
-            case "so":
-            case "so_DJ":
-            case "so_ET":
-            case "so_KE":
-            case "so_SO":
-            case "sq":
-            case "sq_AL":
-            case "sq_MK":
-            case "sq_XK":
-            case "sv":
-            case "sv_AX":
-            case "sv_FI":
-            case "sv_SE":
-            case "sw":
-            case "sw_KE":
-            case "sw_TZ":
-            case "sw_UG":
-            case "swc":
-            case "swc_CD":
-            case "ta":
-            case "ta_IN":
-            case "ta_LK":
-            case "ta_MY":
-            case "ta_SG":
-            case "te":
-            case "te_IN":
-            case "teo":
-            case "teo_KE":
-            case "teo_UG":
-            case "th":
-            case "th_TH":
-            case "ti":
-            case "ti_ER":
-            case "ti_ET":
-            case "to":
-            case "to_TO":
-            case "tr":
-            case "tr_CY":
-            case "tr_TR":
-            case "twq":
-            case "twq_NE":
-            case "tzm":
-            case "tzm__#Latn":
-            case "tzm_MA":
-            case "tzm_MA_#Latn":
-            case "ug":
-            case "ug__#Arab":
-            case "ug_CN":
-            case "ug_CN_#Arab":
-            case "uk":
-            case "uk_UA":
-            case "ur":
-            case "ur_IN":
-            case "ur_PK":
-            case "uz":
-            case "uz__#Arab":
-            case "uz_AF":
-            case "uz_AF_#Arab":
-            case "uz__#Cyrl":
-            case "uz_UZ":
-            case "uz_UZ_#Cyrl":
-            case "uz__#Latn":
-            case "uz_UZ_#Latn":
-            case "vai":
-            case "vai__#Latn":
-            case "vai_LR":
-            case "vai_LR_#Latn":
-            case "vai__#Vaii":
-            case "vai_LR_#Vaii":
-            case "vun":
-            case "vun_TZ":
-            case "xog":
-            case "xog_UG":
-            case "yav":
-            case "yav_CM":
-            case "yo":
-            case "yo_BJ":
-            case "yo_NG":
-            case "zgh":
-            case "zgh_MA":
-            case "zh":
-            case "zh__#Hans":
-            case "zh_CN":
-            case "zh_CN_#Hans":
-            case "zh_HK":
-            case "zh_HK_#Hans":
-            case "zh_MO":
-            case "zh_MO_#Hans":
-            case "zh_SG":
-            case "zh_SG_#Hans":
-            case "zh__#Hant":
-            case "zh_HK_#Hant":
-            case "zh_MO_#Hant":
-            case "zh_TW":
-            case "zh_TW_#Hant":
-            case "zu":
-            case "zu_ZA":
-                return "HH:mm";
+    public static int getResolvedCount(int resolution) {
+        return sResolvedCounts.get(resolution);
+    }
+
+    /**
+     * Finds the index of {@code locale} in the tables, falling back to the locale with the same
+     * language and country, and then to {@link Locale#US}. Memoized by locale.
+     */
+    private static Resolution resolve(Locale locale) {
+        Resolution resolution = sResolutions.get(locale);
+        if (resolution != null) {
+            sHitCount.incrementAndGet();
+            return resolution;
+        }
+        sMissCount.incrementAndGet();
+
+        int level = RESOLVED_EXACT;
+        int index = indexOfLocale(locale);
+        if (index < 0) {
+            // Fallback to Locale with same language and country, if not found for original locale.
+            level = RESOLVED_LANGUAGE_AND_COUNTRY;
+            index = indexOfLocale(new Locale(locale.getLanguage(), locale.getCountry()));
+            if (index < 0) {
+                // Fallback to Locale.US if not found for every other locale.
+                level = RESOLVED_FALLBACK;
+                index = indexOfLocale(Locale.US);
+            }
         }
 
-        // Pattern for locale not found.
-        return null;
+        resolution = new Resolution(index, level);
+        final Resolution previous = sResolutions.putIfAbsent(locale, resolution);
+        if (previous != null) {
+            return previous;
+        }
+        sResolvedCounts.incrementAndGet(level);
+        return resolution;
     }
 
     /**
-     * Cases generated by running in API level 22 device by running
-     * {@link DateTimeUtilsCompatGenerator#generateBestDateTimePatternCases(String)} with <code>skeleton = "hm"</code>
-     * and prunning duplicates afterwards.
+     * Returns the index of {@code locale} in the tables, or a negative value if missing.
      */
-    private static String internalGetBestTimePattern12(Locale locale) {
-        switch (locale.toString()) {
-            case "zh":
-            case "zh__#Hans":
-            case "zh_CN":
-            case "zh_CN_#Hans":
-            case "zh_HK":
-            case "zh_HK_#Hans":
-            case "zh_MO":
-            case "zh_MO_#Hans":
-            case "zh_SG":
-            case "zh_SG_#Hans":
-            case "zh__#Hant":
-            case "zh_HK_#Hant":
-            case "zh_MO_#Hant":
-            case "zh_TW":
-            case "zh_TW_#Hant":
-                return "ah:mm";
-            case "af":
-            case "af_NA":
-            case "af_ZA":
-            case "agq":
-            case "agq_CM":
-            case "ak":
-            case "ak_GH":
-            case "am":
-            case "am_ET":
-            case "ar":
-            case "ar_001":
-            case "ar_AE":
-            case "ar_BH":
-            case "ar_DJ":
-            case "ar_DZ":
-            case "ar_EG":
-            case "ar_EH":
-            case "ar_ER":
-            case "ar_IL":
-            case "ar_IQ":
-            case "ar_JO":
-            case "ar_KM":
-            case "ar_KW":
-            case "ar_LB":
-            case "ar_LY":
-            case "ar_MA":
-            case "ar_MR":
-            case "ar_OM":
-            case "ar_PS":
-            case "ar_QA":
-            case "ar_SA":
-            case "ar_SD":
-            case "ar_SO":
-            case "ar_SS":
-            case "ar_SY":
-            case "ar_TD":
-            case "ar_TN":
-            case "ar_YE":
-            case "as":
-            case "as_IN":
-            case "asa":
-            case "asa_TZ":
-            case "az":
-            case "az__#Cyrl":
-            case "az_AZ":
-            case "az_AZ_#Cyrl":
-            case "az__#Latn":
-            case "az_AZ_#Latn":
-            case "bas":
-            case "bas_CM":
-            case "bem":
-            case "bem_ZM":
-            case "bez":
-            case "bez_TZ":
-            case "bg":
-            case "bg_BG":
-            case "bm":
-            case "bm_ML":
-            case "bn":
-            case "bn_BD":
-            case "bn_IN":
-            case "bo":
-            case "bo_CN":
-            case "bo_IN":
-            case "br":
-            case "br_FR":
-            case "brx":
-            case "brx_IN":
-            case "ca":
-            case "ca_AD":
-            case "ca_ES":
-            case "ca_FR":
-            case "ca_IT":
-            case "cgg":
-            case "cgg_UG":
-            case "chr":
-            case "chr_US":
-            case "cs":
-            case "cs_CZ":
-            case "dav":
-            case "dav_KE":
-            case "de":
-            case "de_AT":
-            case "de_BE":
-            case "de_CH":
-            case "de_DE":
-            case "de_LI":
-            case "de_LU":
-            case "dje":
-            case "dje_NE":
-            case "dua":
-            case "dua_CM":
-            case "dyo":
-            case "dyo_SN":
-            case "dz":
-            case "dz_BT":
-            case "ebu":
-            case "ebu_KE":
-            case "el":
-            case "el_CY":
-            case "el_GR":
-            case "en":
-            case "en_001":
-            case "en_150":
-            case "en_AG":
-            case "en_AI":
-            case "en_AS":
-            case "en_AU":
-            case "en_BB":
-            case "en_BE":
-            case "en_BM":
-            case "en_BS":
-            case "en_BW":
-            case "en_BZ":
-            case "en_CA":
-            case "en_CC":
-            case "en_CK":
-            case "en_CM":
-            case "en_CX":
-            case "en_DG":
-            case "en_DM":
-            case "en_ER":
-            case "en_FJ":
-            case "en_FK":
-            case "en_FM":
-            case "en_GB":
-            case "en_GD":
-            case "en_GG":
-            case "en_GH":
-            case "en_GI":
-            case "en_GM":
-            case "en_GU":
-            case "en_GY":
-            case "en_HK":
-            case "en_IE":
-            case "en_IM":
-            case "en_IN":
-            case "en_IO":
-            case "en_JE":
-            case "en_JM":
-            case "en_KE":
-            case "en_KI":
-            case "en_KN":
-            case "en_KY":
-            case "en_LC":
-            case "en_LR":
-            case "en_LS":
-            case "en_MG":
-            case "en_MH":
-            case "en_MO":
-            case "en_MP":
-            case "en_MS":
-            case "en_MT":
-            case "en_MU":
-            case "en_MW":
-            case "en_NA":
-            case "en_NF":
-            case "en_NG":
-            case "en_NR":
-            case "en_NU":
-            case "en_NZ":
-            case "en_PG":
-            case "en_PH":
-            case "en_PK":
-            case "en_PN":
-            case "en_PR":
-            case "en_PW":
-            case "en_RW":
-            case "en_SB":
-            case "en_SC":
-            case "en_SD":
-            case "en_SG":
-            case "en_SH":
-            case "en_SL":
-            case "en_SS":
-            case "en_SX":
-            case "en_SZ":
-            case "en_TC":
-            case "en_TK":
-            case "en_TO":
-            case "en_TT":
-            case "en_TV":
-            case "en_TZ":
-            case "en_UG":
-            case "en_UM":
-            case "en_US":
-            case "en_US_POSIX":
-            case "en_VC":
-            case "en_VG":
-            case "en_VI":
-            case "en_VU":
-            case "en_WS":
-            case "en_ZA":
-            case "en_ZM":
-            case "en_ZW":
-            case "eo":
-            case "es":
-            case "es_419":
-            case "es_AR":
-            case "es_BO":
-            case "es_CL":
-            case "es_CO":
-            case "es_CR":
-            case "es_CU":
-            case "es_DO":
-            case "es_EA":
-            case "es_EC":
-            case "es_ES":
-            case "es_GQ":
-            case "es_GT":
-            case "es_HN":
-            case "es_IC":
-            case "es_NI":
-            case "es_PA":
-            case "es_PE":
-            case "es_PH":
-            case "es_PR":
-            case "es_PY":
-            case "es_SV":
-            case "es_US":
-            case "es_UY":
-            case "es_VE":
-            case "et":
-            case "et_EE":
-            case "eu":
-            case "eu_ES":
-            case "ewo":
-            case "ewo_CM":
-            case "fa":
-            case "fa_AF":
-            case "fa_IR":
-            case "ff":
-            case "ff_SN":
-            case "fil":
-            case "fil_PH":
-            case "fo":
-            case "fo_FO":
-            case "fr":
-            case "fr_BE":
-            case "fr_BF":
-            case "fr_BI":
-            case "fr_BJ":
-            case "fr_BL":
-            case "fr_CA":
-            case "fr_CD":
-            case "fr_CF":
-            case "fr_CG":
-            case "fr_CH":
-            case "fr_CI":
-            case "fr_CM":
-            case "fr_DJ":
-            case "fr_DZ":
-            case "fr_FR":
-            case "fr_GA":
-            case "fr_GF":
-            case "fr_GN":
-            case "fr_GP":
-            case "fr_GQ":
-            case "fr_HT":
-            case "fr_KM":
-            case "fr_LU":
-            case "fr_MA":
-            case "fr_MC":
-            case "fr_MF":
-            case "fr_MG":
-            case "fr_ML":
-            case "fr_MQ":
-            case "fr_MR":
-            case "fr_MU":
-            case "fr_NC":
-            case "fr_NE":
-            case "fr_PF":
-            case "fr_PM":
-            case "fr_RE":
-            case "fr_RW":
-            case "fr_SC":
-            case "fr_SN":
-            case "fr_SY":
-            case "fr_TD":
-            case "fr_TG":
-            case "fr_TN":
-            case "fr_VU":
-            case "fr_WF":
-            case "fr_YT":
-            case "ga":
-            case "ga_IE":
-            case "gl":
-            case "gl_ES":
-            case "gsw":
-            case "gsw_CH":
-            case "gsw_LI":
-            case "gu":
-            case "gu_IN":
-            case "guz":
-            case "guz_KE":
-            case "gv":
-            case "gv_IM":
-            case "ha":
-            case "ha__#Latn":
-            case "ha_GH":
-            case "ha_GH_#Latn":
-            case "ha_NE":
-            case "ha_NE_#Latn":
-            case "ha_NG":
-            case "ha_NG_#Latn":
-            case "haw":
-            case "haw_US":
-            case "iw":
-            case "iw_IL":
-            case "hi":
-            case "hi_IN":
-            case "hy":
-            case "hy_AM":
-            case "ig":
-            case "ig_NG":
-            case "ii":
-            case "ii_CN":
-            case "is":
-            case "is_IS":
-            case "jgo":
-            case "jgo_CM":
-            case "jmc":
-            case "jmc_TZ":
-            case "ka":
-            case "ka_GE":
-            case "kab":
-            case "kab_DZ":
-            case "kam":
-            case "kam_KE":
-            case "kde":
-            case "kde_TZ":
-            case "kea":
-            case "kea_CV":
-            case "khq":
-            case "khq_ML":
-            case "ki":
-            case "ki_KE":
-            case "kk":
-            case "kk__#Cyrl":
-            case "kk_KZ":
-            case "kk_KZ_#Cyrl":
-            case "kkj":
-            case "kkj_CM":
-            case "kl":
-            case "kl_GL":
-            case "kln":
-            case "kln_KE":
-            case "km":
-            case "km_KH":
-            case "kn":
-            case "kn_IN":
-            case "kok":
-            case "kok_IN":
-            case "ks":
-            case "ks__#Arab":
-            case "ks_IN":
-            case "ks_IN_#Arab":
-            case "ksb":
-            case "ksb_TZ":
-            case "ksf":
-            case "ksf_CM":
-            case "kw":
-            case "kw_GB":
-            case "lag":
-            case "lag_TZ":
-            case "lg":
-            case "lg_UG":
-            case "lkt":
-            case "lkt_US":
-            case "ln":
-            case "ln_AO":
-            case "ln_CD":
-            case "ln_CF":
-            case "ln_CG":
-            case "lo":
-            case "lo_LA":
-            case "lu":
-            case "lu_CD":
-            case "luo":
-            case "luo_KE":
-            case "luy":
-            case "luy_KE":
-            case "lv":
-            case "lv_LV":
-            case "mas":
-            case "mas_KE":
-            case "mas_TZ":
-            case "mer":
-            case "mer_KE":
-            case "mfe":
-            case "mfe_MU":
-            case "mg":
-            case "mg_MG":
-            case "mgh":
-            case "mgh_MZ":
-            case "mgo":
-            case "mgo_CM":
-            case "mk":
-            case "mk_MK":
-            case "ml":
-            case "ml_IN":
-            case "mn":
-            case "mn__#Cyrl":
-            case "mn_MN":
-            case "mn_MN_#Cyrl":
-            case "mr":
-            case "mr_IN":
-            case "ms":
-            case "ms__#Latn":
-            case "ms_BN":
-            case "ms_BN_#Latn":
-            case "ms_MY":
-            case "ms_MY_#Latn":
-            case "ms_SG":
-            case "ms_SG_#Latn":
-            case "mt":
-            case "mt_MT":
-            case "mua":
-            case "mua_CM":
-            case "my":
-            case "my_MM":
-            case "naq":
-            case "naq_NA":
-            case "nd":
-            case "nd_ZW":
-            case "ne":
-            case "ne_IN":
-            case "ne_NP":
-            case "nl":
-            case "nl_AW":
-            case "nl_BE":
-            case "nl_BQ":
-            case "nl_CW":
-            case "nl_NL":
-            case "nl_SR":
-            case "nl_SX":
-            case "nmg":
-            case "nmg_CM":
-            case "nn":
-            case "nn_NO":
-            case "nnh":
-            case "nnh_CM":
-            case "nus":
-            case "nus_SD":
-            case "nyn":
-            case "nyn_UG":
-            case "om":
-            case "om_ET":
-            case "om_KE":
-            case "or":
-            case "or_IN":
-            case "pa":
-            case "pa__#Arab":
-            case "pa_PK":
-            case "pa_PK_#Arab":
-            case "pa__#Guru":
-            case "pa_IN":
-            case "pa_IN_#Guru":
-            case "pl":
-            case "pl_PL":
-            case "ps":
-            case "ps_AF":
-            case "pt":
-            case "pt_AO":
-            case "pt_BR":
-            case "pt_CV":
-            case "pt_GW":
-            case "pt_MO":
-            case "pt_MZ":
-            case "pt_PT":
-            case "pt_ST":
-            case "pt_TL":
-            case "rm":
-            case "rm_CH":
-            case "rn":
-            case "rn_BI":
-            case "ro":
-            case "ro_MD":
-            case "ro_RO":
-            case "rof":
-            case "rof_TZ":
-            case "ru":
-            case "ru_BY":
-            case "ru_KG":
-            case "ru_KZ":
-            case "ru_MD":
-            case "ru_RU":
-            case "ru_UA":
-            case "rw":
-            case "rw_RW":
-            case "rwk":
-            case "rwk_TZ":
-            case "saq":
-            case "saq_KE":
-            case "sbp":
-            case "sbp_TZ":
-            case "seh":
-            case "seh_MZ":
-            case "ses":
-            case "ses_ML":
-            case "sg":
-            case "sg_CF":
-            case "shi":
-            case "shi__#Latn":
-            case "shi_MA":
-            case "shi_MA_#Latn":
-            case "shi__#Tfng":
-            case "shi_MA_#Tfng":
-            case "sk":
-            case "sk_SK":
-            case "sn":
-            case "sn_ZW":
-            case "so":
-            case "so_DJ":
-            case "so_ET":
-            case "so_KE":
-            case "so_SO":
-            case "sq":
-            case "sq_AL":
-            case "sq_MK":
-            case "sq_XK":
-            case "sv":
-            case "sv_AX":
-            case "sv_FI":
-            case "sv_SE":
-            case "sw":
-            case "sw_KE":
-            case "sw_TZ":
-            case "sw_UG":
-            case "swc":
-            case "swc_CD":
-            case "ta":
-            case "ta_IN":
-            case "ta_LK":
-            case "ta_MY":
-            case "ta_SG":
-            case "te":
-            case "te_IN":
-            case "teo":
-            case "teo_KE":
-            case "teo_UG":
-            case "th":
-            case "th_TH":
-            case "ti":
-            case "ti_ER":
-            case "ti_ET":
-            case "to":
-            case "to_TO":
-            case "twq":
-            case "twq_NE":
-            case "tzm":
-            case "tzm__#Latn":
-            case "tzm_MA":
-            case "tzm_MA_#Latn":
-            case "ug":
-            case "ug__#Arab":
-            case "ug_CN":
-            case "ug_CN_#Arab":
-            case "uk":
-            case "uk_UA":
-            case "ur":
-            case "ur_IN":
-            case "ur_PK":
-            case "uz":
-            case "uz__#Arab":
-            case "uz_AF":
-            case "uz_AF_#Arab":
-            case "uz__#Cyrl":
-            case "uz_UZ":
-            case "uz_UZ_#Cyrl":
-            case "uz__#Latn":
-            case "uz_UZ_#Latn":
-            case "vai":
-            case "vai__#Latn":
-            case "vai_LR":
-            case "vai_LR_#Latn":
-            case "vai__#Vaii":
-            case "vai_LR_#Vaii":
-            case "vi":
-            case "vi_VN":
-            case "vun":
-            case "vun_TZ":
-            case "xog":
-            case "xog_UG":
-            case "yav":
-            case "yav_CM":
-            case "yo":
-            case "yo_BJ":
-            case "yo_NG":
-            case "zgh":
-            case "zgh_MA":
-            case "zu":
-            case "zu_ZA":
-                return "h:mm a";
-            case "bs":
-            case "bs__#Cyrl":
-            case "bs_BA":
-            case "bs_BA_#Cyrl":
-            case "bs__#Latn":
-            case "bs_BA_#Latn":
-            case "es_MX":
-            case "hr":
-            case "hr_BA":
-            case "hr_HR":
-            case "it":
-            case "it_CH":
-            case "it_IT":
-            case "it_SM":
-            case "lt":
-            case "lt_LT":
-                return "hh:mm a";
-            case "sr":
-            case "sr__#Cyrl":
-            case "sr_BA":
-            case "sr_BA_#Cyrl":
-            case "sr_ME":
-            case "sr_ME_#Cyrl":
-            case "sr_RS":
-            case "sr_RS_#Cyrl":
-            case "sr_XK":
-            case "sr_XK_#Cyrl":
-            case "sr__#Latn":
-            case "sr_BA_#Latn":
-            case "sr_ME_#Latn":
-            case "sr_RS_#Latn":
-            case "sr_XK_#Latn":
-                return "hh.mm a";
-            case "si":
-            case "si_LK":
-                return "a h.mm";
-            case "ee":
-            case "ee_GH":
-            case "ee_TG":
-                return "a 'ga' h:mm";
-            case "be":
-            case "be_BY":
-            case "cy":
-            case "cy_GB":
-            case "da":
-            case "da_DK":
-            case "da_GL":
-            case "fi":
-            case "fi_FI":
-            case "in":
-            case "in_ID":
-            case "nb":
-            case "nb_NO":
-            case "nb_SJ":
-            case "sl":
-            case "sl_SI":
-                return "h.mm a";
-            case "hu":
-            case "hu_HU":
-            case "ko":
-            case "ko_KP":
-            case "ko_KR":
-            case "ky":
-            case "ky__#Cyrl":
-            case "ky_KG":
-            case "ky_KG_#Cyrl":
-            case "tr":
-            case "tr_CY":
-            case "tr_TR":
-                return "a h:mm";
-            case "ja":
-            case "ja_JP":
-                return "aK:mm";
+    private static int indexOfLocale(Locale locale) {
+        return Arrays.binarySearch(Tables.sLocales, locale.toString());
+    }
+
+    private static String[] split(String string, char separator) {
+        int count = 1;
+        for (int i = 0; i < string.length(); i++) {
+            if (string.charAt(i) == separator) {
+                count++;
+            }
+        }
+
+        final String[] parts = new String[count];
+        int start = 0;
+        for (int i = 0; i < count; i++) {
+            int end = string.indexOf(separator, start);
+            if (end == -1) {
+                end = string.length();
+            }
+            parts[i] = string.substring(start, end);
+            start = end + 1;
         }
+        return parts;
+    }
+
+    private static class Resolution {
+        final int index;
+        final int level;
 
-        // Pattern for locale not found.
-        return null;
+        Resolution(int index, int level) {
+            this.index = index;
+            this.level = level;
+        }
     }
 
     /**
-     * Cases generated by running in API level 22 device by running
-     * {@link DateTimeUtilsCompatGenerator#generateBestAmPmStringsCases()} and prunning duplicates afterwards.
+     * Tables of values by locale. Values were generated by running in API level 22 device by
+     * running {@link DateTimeUtilsCompatGenerator#generateTables()}, and are kept as string
+     * constants, which only take room in the string pool instead of code. Being a holder class,
+     * they are only parsed on first use.
      */
-    private static String[] internalgetBestAmPmStrings(Locale locale) {
-        switch (locale.toString()) {
-            case "ja":
-            case "ja_JP":
-                return new String[]{"\u5348\u524d", "\u5348\u5f8c"};
-            case "vi":
-            case "vi_VN":
-                return new String[]{"SA", "CH"};
-            case "luo":
-            case "luo_KE":
-                return new String[]{"OD", "OT"};
-            case "af":
-            case "af_NA":
-            case "af_ZA":
-                return new String[]{"v", "n"};
-            case "mer":
-            case "mer_KE":
-                return new String[]{"R\u0168", "\u0168G"};
-            case "nus":
-            case "nus_SD":
-                return new String[]{"RW", "T\u014a"};
-            case "mt":
-            case "mt_MT":
-                return new String[]{"QN", "WN"};
-            case "mn":
-            case "mn__#Cyrl":
-            case "mn_MN":
-            case "mn_MN_#Cyrl":
-                return new String[]{"\u04ae\u04e8", "\u04ae\u0425"};
-            case "fi":
-            case "fi_FI":
-                return new String[]{"ap.", "ip."};
-            case "rm":
-            case "rm_CH":
-                return new String[]{"am", "sm"};
-            case "uk":
-            case "uk_UA":
-                return new String[]{"\u0434\u043f", "\u043f\u043f"};
-            case "is":
-            case "is_IS":
-                return new String[]{"f.h.", "e.h."};
-            case "bn":
-            case "bn_BD":
-            case "bn_IN":
-            case "en_150":
-            case "en_AU":
-            case "en_BE":
-            case "en_DG":
-            case "en_FK":
-            case "en_GB":
-            case "en_GG":
-            case "en_GI":
-            case "en_HK":
-            case "en_IM":
-            case "en_IN":
-            case "en_IO":
-            case "en_JE":
-            case "en_MO":
-            case "en_MT":
-            case "en_NZ":
-            case "en_PK":
-            case "en_SG":
-            case "en_SH":
-            case "en_VG":
-            case "hi":
-            case "hi_IN":
-            case "kea":
-            case "kea_CV":
-            case "or":
-            case "or_IN":
-                return new String[]{"am", "pm"};
-            case "ms":
-            case "ms__#Latn":
-            case "ms_BN":
-            case "ms_BN_#Latn":
-            case "ms_MY":
-            case "ms_MY_#Latn":
-            case "ms_SG":
-            case "ms_SG_#Latn":
-                return new String[]{"PG", "p"};
-            case "am":
-            case "am_ET":
-                return new String[]{"\u1320", "\u12a8"};
-            case "om":
-            case "om_ET":
-            case "om_KE":
-                return new String[]{"WD", "WB"};
-            case "ar":
-            case "ar_001":
-            case "ar_AE":
-            case "ar_BH":
-            case "ar_DJ":
-            case "ar_DZ":
-            case "ar_EG":
-            case "ar_EH":
-            case "ar_ER":
-            case "ar_IL":
-            case "ar_IQ":
-            case "ar_JO":
-            case "ar_KM":
-            case "ar_KW":
-            case "ar_LB":
-            case "ar_LY":
-            case "ar_MA":
-            case "ar_MR":
-            case "ar_OM":
-            case "ar_PS":
-            case "ar_QA":
-            case "ar_SA":
-            case "ar_SD":
-            case "ar_SO":
-            case "ar_SS":
-            case "ar_SY":
-            case "ar_TD":
-            case "ar_TN":
-            case "ar_YE":
-                return new String[]{"\u0635", "\u0645"};
-            case "ug":
-            case "ug__#Arab":
-            case "ug_CN":
-            case "ug_CN_#Arab":
-                return new String[]{"\u0686\u06c8\u0634\u062a\u0649\u0646 \u0628\u06c7\u0631\u06c7\u0646", "\u0686\u06c8\u0634\u062a\u0649\u0646 \u0643\u06d0\u064a\u0649\u0646"};
-            case "ko":
-            case "ko_KP":
-            case "ko_KR":
-                return new String[]{"\uc624\uc804", "\uc624\ud6c4"};
-            case "ak":
-            case "ak_GH":
-                return new String[]{"AN", "EW"};
-            case "ii":
-            case "ii_CN":
-                return new String[]{"\ua3b8\ua111", "\ua06f\ua2d2"};
-            case "az":
-            case "az__#Cyrl":
-            case "az_AZ":
-            case "az_AZ_#Cyrl":
-            case "az__#Latn":
-            case "az_AZ_#Latn":
-            case "bm":
-            case "bm_ML":
-            case "br":
-            case "br_FR":
-            case "cgg":
-            case "cgg_UG":
-            case "cs":
-            case "cs_CZ":
-            case "cy":
-            case "cy_GB":
-            case "da":
-            case "da_DK":
-            case "da_GL":
-            case "dyo":
-            case "dyo_SN":
-            case "en":
-            case "en_001":
-            case "en_AG":
-            case "en_AI":
-            case "en_AS":
-            case "en_BB":
-            case "en_BM":
-            case "en_BS":
-            case "en_BW":
-            case "en_BZ":
-            case "en_CA":
-            case "en_CC":
-            case "en_CK":
-            case "en_CM":
-            case "en_CX":
-            case "en_DM":
-            case "en_ER":
-            case "en_FJ":
-            case "en_FM":
-            case "en_GD":
-            case "en_GH":
-            case "en_GM":
-            case "en_GU":
-            case "en_GY":
-            case "en_JM":
-            case "en_KE":
-            case "en_KI":
-            case "en_KN":
-            case "en_KY":
-            case "en_LC":
-            case "en_LR":
-            case "en_LS":
-            case "en_MG":
-            case "en_MH":
-            case "en_MP":
-            case "en_MS":
-            case "en_MU":
-            case "en_MW":
-            case "en_NA":
-            case "en_NF":
-            case "en_NG":
-            case "en_NR":
-            case "en_NU":
-            case "en_PG":
-            case "en_PH":
-            case "en_PN":
-            case "en_PR":
-            case "en_PW":
-            case "en_RW":
-            case "en_SB":
-            case "en_SC":
-            case "en_SD":
-            case "en_SL":
-            case "en_SS":
-            case "en_SX":
-            case "en_SZ":
-            case "en_TC":
-            case "en_TK":
-            case "en_TO":
-            case "en_TT":
-            case "en_TV":
-            case "en_TZ":
-            case "en_UG":
-            case "en_UM":
-            case "en_US":
-            case "en_US_POSIX":
-            case "en_VC":
-            case "en_VI":
-            case "en_VU":
-            case "en_WS":
-            case "en_ZA":
-            case "en_ZM":
-            case "en_ZW":
-            case "es_US":
-            case "et":
-            case "et_EE":
-            case "eu":
-            case "eu_ES":
-            case "fil":
-            case "fil_PH":
-            case "fo":
-            case "fo_FO":
-            case "fr":
-            case "fr_BE":
-            case "fr_BF":
-            case "fr_BI":
-            case "fr_BJ":
-            case "fr_BL":
-            case "fr_CA":
-            case "fr_CD":
-            case "fr_CF":
-            case "fr_CG":
-            case "fr_CH":
-            case "fr_CI":
-            case "fr_CM":
-            case "fr_DJ":
-            case "fr_DZ":
-            case "fr_FR":
-            case "fr_GA":
-            case "fr_GF":
-            case "fr_GN":
-            case "fr_GP":
-            case "fr_GQ":
-            case "fr_HT":
-            case "fr_KM":
-            case "fr_LU":
-            case "fr_MA":
-            case "fr_MC":
-            case "fr_MF":
-            case "fr_MG":
-            case "fr_ML":
-            case "fr_MQ":
-            case "fr_MR":
-            case "fr_MU":
-            case "fr_NC":
-            case "fr_NE":
-            case "fr_PF":
-            case "fr_PM":
-            case "fr_RE":
-            case "fr_RW":
-            case "fr_SC":
-            case "fr_SN":
-            case "fr_SY":
-            case "fr_TD":
-            case "fr_TG":
-            case "fr_TN":
-            case "fr_VU":
-            case "fr_WF":
-            case "fr_YT":
-            case "gu":
-            case "gu_IN":
-            case "ha":
-            case "ha__#Latn":
-            case "ha_GH":
-            case "ha_GH_#Latn":
-            case "ha_NE":
-            case "ha_NE_#Latn":
-            case "ha_NG":
-            case "ha_NG_#Latn":
-            case "haw":
-            case "haw_US":
-            case "hr":
-            case "hr_BA":
-            case "hr_HR":
-            case "in":
-            case "in_ID":
-            case "it":
-            case "it_CH":
-            case "it_IT":
-            case "it_SM":
-            case "ka":
-            case "ka_GE":
-            case "kkj":
-            case "kkj_CM":
-            case "kl":
-            case "kl_GL":
-            case "kn":
-            case "kn_IN":
-            case "ks":
-            case "ks__#Arab":
-            case "ks_IN":
-            case "ks_IN_#Arab":
-            case "lg":
-            case "lg_UG":
-            case "lkt":
-            case "lkt_US":
-            case "mfe":
-            case "mfe_MU":
-            case "mg":
-            case "mg_MG":
-            case "mgo":
-            case "mgo_CM":
-            case "ml":
-            case "ml_IN":
-            case "mr":
-            case "mr_IN":
-            case "nd":
-            case "nd_ZW":
-            case "nl":
-            case "nl_AW":
-            case "nl_BE":
-            case "nl_BQ":
-            case "nl_CW":
-            case "nl_NL":
-            case "nl_SR":
-            case "nl_SX":
-            case "nyn":
-            case "nyn_UG":
-            case "pa":
-            case "pa__#Arab":
-            case "pa_PK":
-            case "pa_PK_#Arab":
-            case "pa__#Guru":
-            case "pa_IN":
-            case "pa_IN_#Guru":
-            case "pl":
-            case "pl_PL":
-            case "pt":
-            case "pt_BR":
-            case "ru":
-            case "ru_BY":
-            case "ru_KG":
-            case "ru_KZ":
-            case "ru_MD":
-            case "ru_RU":
-            case "ru_UA":
-            case "rw":
-            case "rw_RW":
-            case "seh":
-            case "seh_MZ":
-            case "sk":
-            case "sk_SK":
-            case "sn":
-            case "sn_ZW":
-            case "sq":
-            case "sq_AL":
-            case "sq_MK":
-            case "sq_XK":
-            case "sw":
-            case "sw_KE":
-            case "sw_TZ":
-            case "sw_UG":
-            case "ta":
-            case "ta_IN":
-            case "ta_LK":
-            case "ta_MY":
-            case "ta_SG":
-            case "te":
-            case "te_IN":
-            case "to":
-            case "to_TO":
-            case "uz":
-            case "uz__#Arab":
-            case "uz_AF":
-            case "uz_AF_#Arab":
-            case "uz__#Cyrl":
-            case "uz_UZ":
-            case "uz_UZ_#Cyrl":
-            case "uz__#Latn":
-            case "uz_UZ_#Latn":
-            case "vai":
-            case "vai__#Latn":
-            case "vai_LR":
-            case "vai_LR_#Latn":
-            case "vai__#Vaii":
-            case "vai_LR_#Vaii":
-                return new String[]{"AM", "PM"};
-            case "si":
-            case "si_LK":
-                return new String[]{"\u0db4\u0dd9", "\u0db4"};
-            case "sv":
-            case "sv_AX":
-            case "sv_FI":
-            case "sv_SE":
-                return new String[]{"fm", "em"};
-            case "tr":
-            case "tr_CY":
-            case "tr_TR":
-                return new String[]{"\u00d6\u00d6", "\u00d6S"};
-            case "el":
-            case "el_CY":
-            case "el_GR":
-                return new String[]{"\u03c0", "\u03bc"};
-            case "sg":
-            case "sg_CF":
-                return new String[]{"ND", "LK"};
-            case "km":
-            case "km_KH":
-                return new String[]{"\u1796\u17d2\u179a\u17b9\u1780", "\u179b\u17d2\u1784\u17b6\u1785"};
-            case "ebu":
-            case "ebu_KE":
-                return new String[]{"KI", "UT"};
-            case "zh":
-            case "zh__#Hans":
-            case "zh_CN":
-            case "zh_CN_#Hans":
-            case "zh_HK":
-            case "zh_HK_#Hans":
-            case "zh_MO":
-            case "zh_MO_#Hans":
-            case "zh_SG":
-            case "zh_SG_#Hans":
-            case "zh__#Hant":
-            case "zh_HK_#Hant":
-            case "zh_MO_#Hant":
-            case "zh_TW":
-            case "zh_TW_#Hant":
-                return new String[]{"\u4e0a\u5348", "\u4e0b\u5348"};
-            case "dz":
-            case "dz_BT":
-                return new String[]{"\u0f66\u0f94\u0f0b\u0f46\u0f0b", "\u0f55\u0fb1\u0f72\u0f0b\u0f46\u0f0b"};
-            case "ca":
-            case "ca_AD":
-            case "ca_ES":
-            case "ca_FR":
-            case "ca_IT":
-            case "es":
-            case "es_419":
-            case "es_AR":
-            case "es_BO":
-            case "es_CL":
-            case "es_CO":
-            case "es_CR":
-            case "es_CU":
-            case "es_DO":
-            case "es_EA":
-            case "es_EC":
-            case "es_ES":
-            case "es_GQ":
-            case "es_GT":
-            case "es_HN":
-            case "es_IC":
-            case "es_MX":
-            case "es_NI":
-            case "es_PA":
-            case "es_PE":
-            case "es_PH":
-            case "es_PR":
-            case "es_PY":
-            case "es_SV":
-            case "es_UY":
-            case "es_VE":
-            case "pt_AO":
-            case "pt_CV":
-            case "pt_GW":
-            case "pt_MO":
-            case "pt_MZ":
-            case "pt_PT":
-            case "pt_ST":
-            case "pt_TL":
-                return new String[]{"a.m.", "p.m."};
-            case "hu":
-            case "hu_HU":
-                return new String[]{"de.", "du."};
-            case "agq":
-            case "agq_CM":
-            case "as":
-            case "as_IN":
-            case "asa":
-            case "asa_TZ":
-            case "bas":
-            case "bas_CM":
-            case "be":
-            case "be_BY":
-            case "bem":
-            case "bem_ZM":
-            case "bez":
-            case "bez_TZ":
-            case "bg":
-            case "bg_BG":
-            case "bo":
-            case "bo_CN":
-            case "bo_IN":
-            case "brx":
-            case "brx_IN":
-            case "bs":
-            case "bs__#Cyrl":
-            case "bs_BA":
-            case "bs_BA_#Cyrl":
-            case "bs__#Latn":
-            case "bs_BA_#Latn":
-            case "chr":
-            case "chr_US":
-            case "dav":
-            case "dav_KE":
-            case "de":
-            case "de_AT":
-            case "de_BE":
-            case "de_CH":
-            case "de_DE":
-            case "de_LI":
-            case "de_LU":
-            case "dje":
-            case "dje_NE":
-            case "dua":
-            case "dua_CM":
-            case "ee":
-            case "ee_GH":
-            case "ee_TG":
-            case "en_IE":
-            case "eo":
-            case "ewo":
-            case "ewo_CM":
-            case "fa":
-            case "fa_AF":
-            case "fa_IR":
-            case "ff":
-            case "ff_SN":
-            case "ga":
-            case "ga_IE":
-            case "gl":
-            case "gl_ES":
-            case "gsw":
-            case "gsw_CH":
-            case "gsw_LI":
-            case "guz":
-            case "guz_KE":
-            case "gv":
-            case "gv_IM":
-            case "iw":
-            case "iw_IL":
-            case "hy":
-            case "hy_AM":
-            case "ig":
-            case "ig_NG":
-            case "jgo":
-            case "jgo_CM":
-            case "jmc":
-            case "jmc_TZ":
-            case "kab":
-            case "kab_DZ":
-            case "kam":
-            case "kam_KE":
-            case "kde":
-            case "kde_TZ":
-            case "khq":
-            case "khq_ML":
-            case "ki":
-            case "ki_KE":
-            case "kk":
-            case "kk__#Cyrl":
-            case "kk_KZ":
-            case "kk_KZ_#Cyrl":
-            case "kln":
-            case "kln_KE":
-            case "kok":
-            case "kok_IN":
-            case "ksb":
-            case "ksb_TZ":
-            case "ksf":
-            case "ksf_CM":
-            case "kw":
-            case "kw_GB":
-            case "ky":
-            case "ky__#Cyrl":
-            case "ky_KG":
-            case "ky_KG_#Cyrl":
-            case "lag":
-            case "lag_TZ":
-            case "ln":
-            case "ln_AO":
-            case "ln_CD":
-            case "ln_CF":
-            case "ln_CG":
-            case "lo":
-            case "lo_LA":
-            case "lt":
-            case "lt_LT":
-            case "lu":
-            case "lu_CD":
-            case "luy":
-            case "luy_KE":
-            case "lv":
-            case "lv_LV":
-            case "mas":
-            case "mas_KE":
-            case "mas_TZ":
-            case "mgh":
-            case "mgh_MZ":
-            case "mk":
-            case "mk_MK":
-            case "mua":
-            case "mua_CM":
-            case "my":
-            case "my_MM":
-            case "naq":
-            case "naq_NA":
-            case "nb":
-            case "nb_NO":
-            case "nb_SJ":
-            case "ne":
-            case "ne_IN":
-            case "ne_NP":
-            case "nmg":
-            case "nmg_CM":
-            case "nn":
-            case "nn_NO":
-            case "nnh":
-            case "nnh_CM":
-            case "ps":
-            case "ps_AF":
-            case "rn":
-            case "rn_BI":
-            case "ro":
-            case "ro_MD":
-            case "ro_RO":
-            case "rof":
-            case "rof_TZ":
-            case "rwk":
-            case "rwk_TZ":
-            case "saq":
-            case "saq_KE":
-            case "sbp":
-            case "sbp_TZ":
-            case "ses":
-            case "ses_ML":
-            case "shi":
-            case "shi__#Latn":
-            case "shi_MA":
-            case "shi_MA_#Latn":
-            case "shi__#Tfng":
-            case "shi_MA_#Tfng":
-            case "sl":
-            case "sl_SI":
-            case "so":
-            case "so_DJ":
-            case "so_ET":
-            case "so_KE":
-            case "so_SO":
-            case "sr":
-            case "sr__#Cyrl":
-            case "sr_BA":
-            case "sr_BA_#Cyrl":
-            case "sr_ME":
-            case "sr_ME_#Cyrl":
-            case "sr_RS":
-            case "sr_RS_#Cyrl":
-            case "sr_XK":
-            case "sr_XK_#Cyrl":
-            case "sr__#Latn":
-            case "sr_BA_#Latn":
-            case "sr_ME_#Latn":
-            case "sr_RS_#Latn":
-            case "sr_XK_#Latn":
-            case "swc":
-            case "swc_CD":
-            case "teo":
-            case "teo_KE":
-            case "teo_UG":
-            case "th":
-            case "th_TH":
-            case "ti":
-            case "ti_ER":
-            case "ti_ET":
-            case "twq":
-            case "twq_NE":
-            case "tzm":
-            case "tzm__#Latn":
-            case "tzm_MA":
-            case "tzm_MA_#Latn":
-            case "ur":
-            case "ur_IN":
-            case "ur_PK":
-            case "vun":
-            case "vun_TZ":
-            case "xog":
-            case "xog_UG":
-            case "yav":
-            case "yav_CM":
-            case "yo":
-            case "yo_BJ":
-            case "yo_NG":
-            case "zgh":
-            case "zgh_MA":
-            case "zu":
-            case "zu_ZA":
-                return new String[]{"a", "p"};
+    private static class Tables {
+        // Sorted locales of the tables, separated by commas.
+        private static final String LOCALES =
+                "af,af_NA,af_ZA,agq,agq_CM,ak,ak_GH,am,am_ET,ar,ar_001,ar_AE,ar_BH,ar_DJ,ar_DZ,ar_EG," +
+                "ar_EH,ar_ER,ar_IL,ar_IQ,ar_JO,ar_KM,ar_KW,ar_LB,ar_LY,ar_MA,ar_MR,ar_OM,ar_PS,ar_QA," +
+                "ar_SA,ar_SD,ar_SO,ar_SS,ar_SY,ar_TD,ar_TN,ar_YE,as,as_IN,asa,asa_TZ,az,az_AZ," +
+                "az_AZ_#Cyrl,az_AZ_#Latn,az__#Cyrl,az__#Latn,bas,bas_CM,be,be_BY,bem,bem_ZM,bez,bez_TZ," +
+                "bg,bg_BG,bm,bm_ML,bn,bn_BD,bn_IN,bo,bo_CN,bo_IN,br,br_FR,brx,brx_IN,bs,bs_BA," +
+                "bs_BA_#Cyrl,bs_BA_#Latn,bs__#Cyrl,bs__#Latn,ca,ca_AD,ca_ES,ca_FR,ca_IT,cgg,cgg_UG,chr," +
+                "chr_US,cs,cs_CZ,cy,cy_GB,da,da_DK,da_GL,dav,dav_KE,de,de_AT,de_BE,de_CH,de_DE,de_LI," +
+                "de_LU,dje,dje_NE,dua,dua_CM,dyo,dyo_SN,dz,dz_BT,ebu,ebu_KE,ee,ee_GH,ee_TG,el,el_CY," +
+                "el_GR,en,en_001,en_150,en_AG,en_AI,en_AS,en_AU,en_BB,en_BE,en_BM,en_BS,en_BW,en_BZ," +
+                "en_CA,en_CC,en_CK,en_CM,en_CX,en_DG,en_DM,en_ER,en_FJ,en_FK,en_FM,en_GB,en_GD,en_GG," +
+                "en_GH,en_GI,en_GM,en_GU,en_GY,en_HK,en_IE,en_IM,en_IN,en_IO,en_JE,en_JM,en_KE,en_KI," +
+                "en_KN,en_KY,en_LC,en_LR,en_LS,en_MG,en_MH,en_MO,en_MP,en_MS,en_MT,en_MU,en_MW,en_NA," +
+                "en_NF,en_NG,en_NR,en_NU,en_NZ,en_PG,en_PH,en_PK,en_PN,en_PR,en_PW,en_RW,en_SB,en_SC," +
+                "en_SD,en_SG,en_SH,en_SL,en_SS,en_SX,en_SZ,en_TC,en_TK,en_TO,en_TT,en_TV,en_TZ,en_UG," +
+                "en_UM,en_US,en_US_POSIX,en_VC,en_VG,en_VI,en_VU,en_WS,en_ZA,en_ZM,en_ZW,eo,es,es_419," +
+                "es_AR,es_BO,es_CL,es_CO,es_CR,es_CU,es_DO,es_EA,es_EC,es_ES,es_GQ,es_GT,es_HN,es_IC," +
+                "es_MX,es_NI,es_PA,es_PE,es_PH,es_PR,es_PY,es_SV,es_US,es_UY,es_VE,et,et_EE,eu,eu_ES,ewo," +
+                "ewo_CM,fa,fa_AF,fa_IR,ff,ff_SN,fi,fi_FI,fil,fil_PH,fo,fo_FO,fr,fr_BE,fr_BF,fr_BI,fr_BJ," +
+                "fr_BL,fr_CA,fr_CD,fr_CF,fr_CG,fr_CH,fr_CI,fr_CM,fr_DJ,fr_DZ,fr_FR,fr_GA,fr_GF,fr_GN," +
+                "fr_GP,fr_GQ,fr_HT,fr_KM,fr_LU,fr_MA,fr_MC,fr_MF,fr_MG,fr_ML,fr_MQ,fr_MR,fr_MU,fr_NC," +
+                "fr_NE,fr_PF,fr_PM,fr_RE,fr_RW,fr_SC,fr_SN,fr_SY,fr_TD,fr_TG,fr_TN,fr_VU,fr_WF,fr_YT,ga," +
+                "ga_IE,gl,gl_ES,gsw,gsw_CH,gsw_LI,gu,gu_IN,guz,guz_KE,gv,gv_IM,ha,ha_GH,ha_GH_#Latn," +
+                "ha_NE,ha_NE_#Latn,ha_NG,ha_NG_#Latn,ha__#Latn,haw,haw_US,hi,hi_IN,hr,hr_BA,hr_HR,hu," +
+                "hu_HU,hy,hy_AM,ig,ig_NG,ii,ii_CN,in,in_ID,is,is_IS,it,it_CH,it_IT,it_SM,iw,iw_IL,ja," +
+                "ja_JP,jgo,jgo_CM,jmc,jmc_TZ,ka,ka_GE,kab,kab_DZ,kam,kam_KE,kde,kde_TZ,kea,kea_CV,khq," +
+                "khq_ML,ki,ki_KE,kk,kk_KZ,kk_KZ_#Cyrl,kk__#Cyrl,kkj,kkj_CM,kl,kl_GL,kln,kln_KE,km,km_KH," +
+                "kn,kn_IN,ko,ko_KP,ko_KR,kok,kok_IN,ks,ks_IN,ks_IN_#Arab,ks__#Arab,ksb,ksb_TZ,ksf,ksf_CM," +
+                "kw,kw_GB,ky,ky_KG,ky_KG_#Cyrl,ky__#Cyrl,lag,lag_TZ,lg,lg_UG,lkt,lkt_US,ln,ln_AO,ln_CD," +
+                "ln_CF,ln_CG,lo,lo_LA,lt,lt_LT,lu,lu_CD,luo,luo_KE,luy,luy_KE,lv,lv_LV,mas,mas_KE,mas_TZ," +
+                "mer,mer_KE,mfe,mfe_MU,mg,mg_MG,mgh,mgh_MZ,mgo,mgo_CM,mk,mk_MK,ml,ml_IN,mn,mn_MN," +
+                "mn_MN_#Cyrl,mn__#Cyrl,mr,mr_IN,ms,ms_BN,ms_BN_#Latn,ms_MY,ms_MY_#Latn,ms_SG,ms_SG_#Latn," +
+                "ms__#Latn,mt,mt_MT,mua,mua_CM,my,my_MM,naq,naq_NA,nb,nb_NO,nb_SJ,nd,nd_ZW,ne,ne_IN," +
+                "ne_NP,nl,nl_AW,nl_BE,nl_BQ,nl_CW,nl_NL,nl_SR,nl_SX,nmg,nmg_CM,nn,nn_NO,nnh,nnh_CM,nus," +
+                "nus_SD,nyn,nyn_UG,om,om_ET,om_KE,or,or_IN,pa,pa_IN,pa_IN_#Guru,pa_PK,pa_PK_#Arab," +
+                "pa__#Arab,pa__#Guru,pl,pl_PL,ps,ps_AF,pt,pt_AO,pt_BR,pt_CV,pt_GW,pt_MO,pt_MZ,pt_PT," +
+                "pt_ST,pt_TL,rm,rm_CH,rn,rn_BI,ro,ro_MD,ro_RO,rof,rof_TZ,ru,ru_BY,ru_KG,ru_KZ,ru_MD," +
+                "ru_RU,ru_UA,rw,rw_RW,rwk,rwk_TZ,saq,saq_KE,sbp,sbp_TZ,seh,seh_MZ,ses,ses_ML,sg,sg_CF," +
+                "shi,shi_MA,shi_MA_#Latn,shi_MA_#Tfng,shi__#Latn,shi__#Tfng,si,si_LK,sk,sk_SK,sl,sl_SI," +
+                "sn,sn_ZW,so,so_DJ,so_ET,so_KE,so_SO,sq,sq_AL,sq_MK,sq_XK,sr,sr_BA,sr_BA_#Cyrl," +
+                "sr_BA_#Latn,sr_ME,sr_ME_#Cyrl,sr_ME_#Latn,sr_RS,sr_RS_#Cyrl,sr_RS_#Latn,sr_XK," +
+                "sr_XK_#Cyrl,sr_XK_#Latn,sr__#Cyrl,sr__#Latn,sv,sv_AX,sv_FI,sv_SE,sw,sw_KE,sw_TZ,sw_UG," +
+                "swc,swc_CD,ta,ta_IN,ta_LK,ta_MY,ta_SG,te,te_IN,teo,teo_KE,teo_UG,th,th_TH,ti,ti_ER," +
+                "ti_ET,to,to_TO,tr,tr_CY,tr_TR,twq,twq_NE,tzm,tzm_MA,tzm_MA_#Latn,tzm__#Latn,ug,ug_CN," +
+                "ug_CN_#Arab,ug__#Arab,uk,uk_UA,ur,ur_IN,ur_PK,uz,uz_AF,uz_AF_#Arab,uz_UZ,uz_UZ_#Cyrl," +
+                "uz_UZ_#Latn,uz__#Arab,uz__#Cyrl,uz__#Latn,vai,vai_LR,vai_LR_#Latn,vai_LR_#Vaii," +
+                "vai__#Latn,vai__#Vaii,vi,vi_VN,vun,vun_TZ,xog,xog_UG,yav,yav_CM,yo,yo_BJ,yo_NG,zgh," +
+                "zgh_MA,zh,zh_CN,zh_CN_#Hans,zh_HK,zh_HK_#Hans,zh_HK_#Hant,zh_MO,zh_MO_#Hans,zh_MO_#Hant," +
+                "zh_SG,zh_SG_#Hans,zh_TW,zh_TW_#Hant,zh__#Hans,zh__#Hant,zu,zu_ZA";
+
+        // Distinct "yMMMd" patterns, one per line.
+        private static final String DATE_PATTERNS =
+                "d MMM y\ny MMM d\nd MMM\u060c y\nd MMM, y\nd.MM.y \u0027\u0433\u0027.\n" +
+                "y \u0f63\u0f7c\u0f0b\u0f60\u0f72\u0f0bMMM\u0f59\u0f7a\u0f66\u0f0bd\nMMM d, y\n" +
+                "dd. MMM y.\nd. M. y\nd. MMM y\nMMM d \u0027lia\u0027, y\ndd MMM y\ndd MMM, y\n" +
+                "d \u0027de\u0027 MMM \u0027de\u0027 y\nd. MMM y.\ny. MMM d.\nd MMM, y\u0569.\n" +
+                "d \u05d1MMM y\ny\u5e74M\u6708d\u65e5\nd, MMM, y\ny\ub144 MMM d\uc77c\n" +
+                "y\u002d\u0027\u0436\u0027. d\u002dMMM\ny. \u0027g\u0027. d. MMM\n" +
+                "d MMM y \u0027\u0433\u0027.\n\u0027ly\u025b\u0027\u030c\u02bc d \u0027na\u0027 MMMM, y\n" +
+                "d\u002dMMM\u002dy\nd\u002fMM\u002fy\nMMM d y\nd.M.y\nd, MMM y\nMMM d\u060c y\n" +
+                "y \u5e74 M \u6708 d \u65e5";
+
+        // Index of the value of each locale in the pool above, as characters from '0'.
+        private static final String DATE_INDICES =
+                "0000011002222222222222222222222222222211000030300000000044003335551166777777000000066880" +
+                "09990099999990000001100:::00066066606066;;66666066606060606663000006666666666066;6666666" +
+                "06606666666006666666666666660666;6<1========================6==9911000000099661100000000" +
+                "0000000000000000000000000000000000000000033111330011333333330033>>>??@@001100990000AABB1" +
+                "10033000000000000000000110000CCDDD116666000011EEEE000011000000011000000FF0000000006611GG" +
+                "11111133000000001100110099900111000000000099HH0000III0000000000000=J=JJJJJJJ110000000GGG" +
+                "GGG0110000KK==003333333311LL9900IIIII0000>>>>>>>>>>>>>>>000000000033333MM00000III00;;;00" +
+                "0000NNNN0022211111111100K0K0<<00000000033BBBOBOOBOBBBBBB66";
+
+        // Distinct "Hm" patterns, one per line.
+        private static final String TIME_24_PATTERNS =
+                "HH:mm\nHH.mm\nH:mm\nH.mm";
+
+        // Index of the value of each locale in the pool above, as characters from '0'.
+        private static final String TIME_24_INDICES =
+                "0000000000000000000000000000000000000000000000000011000022000000000000000000000000022220" +
+                "0111000000000000000000000000000000000000000000000000000000000000000000000000000000000000" +
+                "0000000000000000000000000000000000002222222222222222022222222220000002220033000000000000" +
+                "0000000000000000000000000000000000000000000222000000000000000000000222200001100000000220" +
+                "0000000000000000000000000000000000000000000000000000000000000000000000000000000000000000" +
+                "0000002200000000000000001110000000000000000000000000000000000000220000000000220000000222" +
+                "2222000000002200000000000022110000000000011111111111111100000000000000000000000000000000" +
+                "0000000000000000000000000000220000000000000000000000000000";
+
+        // Distinct "hm" patterns, one per line.
+        private static final String TIME_12_PATTERNS =
+                "h:mm a\nh.mm a\nhh:mm a\na 'ga' h:mm\na h:mm\naK:mm\na h.mm\nhh.mm a\nah:mm";
+
+        // Index of the value of each locale in the pool above, as characters from '0'.
+        private static final String TIME_12_INDICES =
+                "0000000000000000000000000000000000000000000000000011000000000000000000222222000000000001" +
+                "1111000000000000000000033300000000000000000000000000000000000000000000000000000000000000" +
+                "0000000000000000000000000000000000000000000000000000200000000000000000000011000000000000" +
+                "0000000000000000000000000000000000000000000000000000000000000000222440000001100222200550" +
+                "0000000000000000000000000000000444000000000000444400000000000002200000000000000000000000" +
+                "0000000000000000000000001110000000000000000000000000000000000000000000000000000000000000" +
+                "0000000000000000000000006600110000000000077777777777777700000000000000000000000000044400" +
+                "0000000000000000000000000000000000000000088888888888888800";
+
+        // Distinct am and pm strings, separated by tabs, one pair per line.
+        private static final String AM_PM_STRINGS =
+                "v\tn\na\tp\nAN\tEW\n\u1320\t\u12a8\n\u0635\t\u0645\nAM\tPM\nam\tpm\na.m.\tp.m.\n" +
+                "\u0f66\u0f94\u0f0b\u0f46\u0f0b\t\u0f55\u0fb1\u0f72\u0f0b\u0f46\u0f0b\nKI\tUT\n" +
+                "\u03c0\t\u03bc\nap.\tip.\nde.\tdu.\n\ua3b8\ua111\t\ua06f\ua2d2\nf.h.\te.h.\n" +
+                "\u5348\u524d\t\u5348\u5f8c\n" +
+                "\u1796\u17d2\u179a\u17b9\u1780\t\u179b\u17d2\u1784\u17b6\u1785\n" +
+                "\uc624\uc804\t\uc624\ud6c4\nOD\tOT\nR\u0168\t\u0168G\n\u04ae\u04e8\t\u04ae\u0425\n" +
+                "PG\tp\nQN\tWN\nRW\tT\u014a\nWD\tWB\nam\tsm\nND\tLK\n\u0db4\u0dd9\t\u0db4\nfm\tem\n" +
+                "\u00d6\u00d6\t\u00d6S\n" +
+                "\u0686\u06c8\u0634\u062a\u0649\u0646 \u0628\u06c7\u0631\u06c7\u0646\t\u0686\u06c8\u0634\u062a\u0649\u0646 \u0643\u06d0\u064a\u0649\u0646\n" +
+                "\u0434\u043f\t\u043f\u043f\nSA\tCH\n\u4e0a\u5348\t\u4e0b\u5348";
+
+        // Index of the value of each locale in the pool above, as characters from '0'.
+        private static final String AM_PM_INDICES =
+                "0001122334444444444444444444444444444411115555551111111111556661115511111111777775511555" +
+                "55551111111111111558899111:::55655565655555555565556565656555616666555555555565565555555" +
+                "65565555555665555555555555556555555177777777777777777777777757755551111111;;555555555555" +
+                "5555555555555555555555555555555555555551111111551111555555555566555<<1111==55>>555511??1" +
+                "111551111116611111111555511@@55AAA115555111111111111555511111111111BB1111111CC5555115511" +
+                "55DDDD55EEEEEEEEFF1111111115511155555555111111GG55HHH66555555555115757777777II1111111555" +
+                "5555551111115511JJ111111KK551155111115555111111111111111LLLL55551155555551111111155MMM11" +
+                "1111NNNNOO111555555555555555PP11111111111QQQQQQQQQQQQQQQ11";
+
+        static final String[] sLocales = split(LOCALES, ',');
+        private static final String[] sDatePatterns = split(DATE_PATTERNS, '\n');
+        private static final String[] sTimePatterns24 = split(TIME_24_PATTERNS, '\n');
+        private static final String[] sTimePatterns12 = split(TIME_12_PATTERNS, '\n');
+        private static final String[][] sAmPmStrings;
+        static {
+            final String[] amPmStrings = split(AM_PM_STRINGS, '\n');
+            sAmPmStrings = new String[amPmStrings.length][];
+            for (int i = 0; i < amPmStrings.length; i++) {
+                sAmPmStrings[i] = split(amPmStrings[i], '\t');
+            }
+        }
+
+        static String getDatePattern(int index) {
+            return sDatePatterns[DATE_INDICES.charAt(index) - '0'];
         }
 
-        return null;
+        static String getTimePattern(int index, boolean is24Hour) {
+            if (is24Hour) {
+                return sTimePatterns24[TIME_24_INDICES.charAt(index) - '0'];
+            } else {
+                return sTimePatterns12[TIME_12_INDICES.charAt(index) - '0'];
+            }
+        }
+
+        static String[] getAmPmStrings(int index) {
+            return sAmPmStrings[AM_PM_INDICES.charAt(index) - '0'];
+        }
     }
 }
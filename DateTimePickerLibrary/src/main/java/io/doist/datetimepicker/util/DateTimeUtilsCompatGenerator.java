@@ -2,14 +2,18 @@ package io.doist.datetimepicker.util;
 
 import android.os.Build;
 import android.support.annotation.RequiresApi;
+import android.text.TextUtils;
 import android.text.format.DateFormat;
 import android.util.Log;
 
 import java.lang.reflect.Field;
 import java.text.DateFormatSymbols;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
-import java.util.Map;
+import java.util.TreeMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -17,6 +21,16 @@ import java.util.regex.Pattern;
 class DateTimeUtilsCompatGenerator {
     private static final String LOG_TAG = DateTimeUtilsCompatGenerator.class.getSimpleName();
 
+    private static final int TABLE_DATE = 0;
+    private static final int TABLE_TIME_24 = 1;
+    private static final int TABLE_TIME_12 = 2;
+    private static final int TABLE_AM_PM = 3;
+
+    // Indices are encoded as printable ASCII characters from '0', so they can be read back with
+    // charAt(index) - '0'.
+    private static final char FIRST_INDEX_CHAR = '0';
+    private static final char LAST_INDEX_CHAR = '~';
+
     private static Pattern sCommonCharsPattern = Pattern.compile("[^a-z0-9 ,.:{}\"'\\[\\]]", Pattern.CASE_INSENSITIVE);
     private static HashMap<String, String> sUnicodeStrings = new HashMap<>();
 
@@ -37,82 +51,80 @@ class DateTimeUtilsCompatGenerator {
     }
 
     /**
-     * Generates pattern cases with duplicates. Must be pruned afterwards.
+     * Generates the tables of {@link DateTimeUtilsCompat}: the sorted locales, and for each table
+     * the distinct values and the index of the value of each locale, as characters from '0' to '~'.
      */
-    public static void generateBestDateTimePatternCases(String skeleton) {
-        HashMap<String, String> patternCases = new HashMap<>();
-
-        Locale[] locales = Locale.getAvailableLocales();
-        for (Locale locale : locales) {
+    public static void generateTables() {
+        // Sorted by their string, for binary searches.
+        TreeMap<String, Locale> locales = new TreeMap<>();
+        for (Locale locale : Locale.getAvailableLocales()) {
             final boolean hasScriptOrExtensions = !locale.getScript().isEmpty() || !locale.getExtensionKeys().isEmpty();
             if (hasScriptOrExtensions) {
-                // Make sure to add case for locale without variants. This will generate duplicates.
-                addCaseForPattern(patternCases, new Locale(locale.getLanguage(), locale.getCountry()), skeleton);
+                // Make sure to add the locale without variants too.
+                Locale baseLocale = new Locale(locale.getLanguage(), locale.getCountry());
+                locales.put(baseLocale.toString(), baseLocale);
             }
-
-            addCaseForPattern(patternCases, locale, skeleton);
-        }
-
-        for (String pattern : patternCases.keySet()) {
-            String cases = patternCases.get(pattern);
-            // Add the return value to each set of cases.
-            cases += "    return \"" + pattern + "\";";
-
-            logLargeString(cases);
-        }
-    }
-
-    private static void addCaseForPattern(Map<String, String> patternCases, Locale locale, String skeleton) {
-        String pattern = convertToUnicode(DateFormat.getBestDateTimePattern(locale, skeleton));
-
-        String cases = patternCases.get(pattern);
-        if (cases == null) {
-            cases = "";
+            locales.put(locale.toString(), locale);
         }
-        cases += "case \""+locale.toString()+"\":\n";
 
-        patternCases.put(pattern, cases);
+        logLargeString(generateConstant("LOCALES", TextUtils.join(",", locales.keySet())));
+        generateTable("DATE", "PATTERNS", locales.values(), TABLE_DATE);
+        generateTable("TIME_24", "PATTERNS", locales.values(), TABLE_TIME_24);
+        generateTable("TIME_12", "PATTERNS", locales.values(), TABLE_TIME_12);
+        generateTable("AM_PM", "STRINGS", locales.values(), TABLE_AM_PM);
     }
 
-    /**
-     * Generates am pm strings cases with duplicates. Must be pruned afterwards.
-     */
-    public static void generateBestAmPmStringsCases() {
-        HashMap<String, String> amPmsCases = new HashMap<>();
-
-        Locale[] locales = Locale.getAvailableLocales();
+    private static void generateTable(String prefix, String valuesSuffix, Collection<Locale> locales, int table) {
+        List<String> values = new ArrayList<>();
+        StringBuilder indices = new StringBuilder(locales.size());
         for (Locale locale : locales) {
-            boolean hasScriptOrExtensions = !locale.getScript().isEmpty() || !locale.getExtensionKeys().isEmpty();
-            if (hasScriptOrExtensions) {
-                // Make sure to add case for locale without variants. This will generate duplicates.
-                addCaseForBestAmPmStrings(amPmsCases, new Locale(locale.getLanguage(), locale.getCountry()));
+            String value = generateValue(locale, table);
+            int index = values.indexOf(value);
+            if (index == -1) {
+                index = values.size();
+                values.add(value);
             }
-
-            addCaseForBestAmPmStrings(amPmsCases, locale);
+            appendIndex(indices, prefix, index);
         }
 
-        for (String amPms : amPmsCases.keySet()) {
-            String cases = amPmsCases.get(amPms);
-            // Add the return value to each set of cases.
-            cases += "    return " + amPms + ";";
+        logLargeString(generateConstant(prefix + "_" + valuesSuffix, TextUtils.join("\\n", values)));
+        logLargeString(generateConstant(prefix + "_INDICES", indices.toString()));
+    }
 
-            logLargeString(cases);
+    private static void appendIndex(StringBuilder indices, String prefix, int index) {
+        final char c = (char) (FIRST_INDEX_CHAR + index);
+        if (c > LAST_INDEX_CHAR) {
+            throw new IllegalStateException("Too many distinct " + prefix + " values to encode "
+                                                    + "their indices: " + (index + 1));
         }
+        // The generated constant is Java source.
+        if (c == '\\') {
+            indices.append('\\');
+        }
+        indices.append(c);
     }
 
-    private static void addCaseForBestAmPmStrings(Map<String, String> amPmsCases, Locale locale) {
-        String amPms = generateBestAmPmStringsForLocale(locale);
-
-        String cases = amPmsCases.get(amPms);
-        if (cases == null) {
-            cases = "";
+    private static String generateValue(Locale locale, int table) {
+        switch (table) {
+            case TABLE_DATE:
+                return convertToUnicode(DateFormat.getBestDateTimePattern(locale, "yMMMd"));
+            case TABLE_TIME_24:
+                return convertToUnicode(DateFormat.getBestDateTimePattern(locale, "Hm"));
+            case TABLE_TIME_12:
+                return convertToUnicode(DateFormat.getBestDateTimePattern(locale, "hm"));
+            case TABLE_AM_PM:
+                String[] amPms = generateBestAmPmStringsForLocale(locale);
+                return amPms[0] + "\\t" + amPms[1];
+            default:
+                throw new IllegalArgumentException("Invalid table");
         }
-        cases += "case \""+locale.toString()+"\":\n";
+    }
 
-        amPmsCases.put(amPms, cases);
+    private static String generateConstant(String name, String value) {
+        return "private static final String " + name + " = \"" + value + "\";";
     }
 
-    private static String generateBestAmPmStringsForLocale(Locale locale) {
+    private static String[] generateBestAmPmStringsForLocale(Locale locale) {
         DateFormatSymbols dateFormatSymbols = new DateFormatSymbols(locale);
         String[] amPms = dateFormatSymbols.getAmPmStrings();
         try {
@@ -122,11 +134,9 @@ class DateTimeUtilsCompatGenerator {
         } catch (Exception e) {
             Log.w(LOG_TAG, e);
         }
-        return "new String[]{\""+amPms[0]+"\", \""+amPms[1]+"\"}";
+        return amPms;
     }
 
-
-
     /**
      * Log large Strings by splitting them in multiple chunks.
      */
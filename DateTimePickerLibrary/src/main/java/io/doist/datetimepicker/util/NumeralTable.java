@@ -0,0 +1,73 @@
+package io.doist.datetimepicker.util;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The texts of the numbers 0 through 59 in the digits of a locale, both unpadded and padded to two
+ * digits, as used on clocks. This covers every hour format, including 24 for the 'k' format, and
+ * every minute. Tables are immutable, built the first time a locale is requested and shared
+ * process-wide, so clock texts never have to be formatted while drawing.
+ */
+public final class NumeralTable {
+    public static final int SIZE = 60;
+
+    private static final ConcurrentHashMap<Locale, NumeralTable> sTables =
+            new ConcurrentHashMap<>();
+
+    private final Locale mLocale;
+    private final String[] mUnpadded = new String[SIZE];
+    private final String[] mPadded = new String[SIZE];
+
+    /**
+     * Returns the table of {@code locale}, building it the first time.
+     */
+    public static NumeralTable get(Locale locale) {
+        NumeralTable table = sTables.get(locale);
+        if (table == null) {
+            table = new NumeralTable(locale);
+            final NumeralTable previous = sTables.putIfAbsent(locale, table);
+            if (previous != null) {
+                table = previous;
+            }
+        }
+        return table;
+    }
+
+    private NumeralTable(Locale locale) {
+        mLocale = locale;
+
+        // Same digits as String.format(locale, "%d"), which also honors the numbering system.
+        final char zeroDigit = DecimalFormatSymbols.getInstance(locale).getZeroDigit();
+        final char[] chars = new char[2];
+        for (int i = 0; i < SIZE; i++) {
+            chars[0] = (char) (zeroDigit + i / 10);
+            chars[1] = (char) (zeroDigit + i % 10);
+            mPadded[i] = new String(chars);
+            mUnpadded[i] = i < 10 ? new String(chars, 1, 1) : mPadded[i];
+        }
+    }
+
+    /**
+     * Returns {@code number} without padding, e.g. "7". Numbers outside of 0 through 59 are
+     * formatted on each call.
+     */
+    public String getUnpadded(int number) {
+        if (number >= 0 && number < SIZE) {
+            return mUnpadded[number];
+        }
+        return String.format(mLocale, "%d", number);
+    }
+
+    /**
+     * Returns {@code number} padded to two digits, e.g. "07". Numbers outside of 0 through 59 are
+     * formatted on each call.
+     */
+    public String getPadded(int number) {
+        if (number >= 0 && number < SIZE) {
+            return mPadded[number];
+        }
+        return String.format(mLocale, "%02d", number);
+    }
+}
@@ -0,0 +1,417 @@
+package io.doist.datetimepicker.time;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks {@link RadialTouchEngine} against the square root and arcsine based touch mapping that
+ * {@link RadialTimePickerView} used before, kept in {@link LegacyTouch}, and checks its snap
+ * tables and the bounds of the numbers exposed to accessibility services.
+ */
+public class RadialTouchEngineTest {
+    // Multipliers of the default resources, see dimens.xml.
+    private static final float CIRCLE_RADIUS_MULTIPLIER = 0.82f;
+    private static final float CIRCLE_RADIUS_MULTIPLIER_24_HOUR_MODE = 0.85f;
+    private static final float SELECTION_RADIUS_MULTIPLIER = 0.16f;
+    private static final float NUMBERS_RADIUS_MULTIPLIER_NORMAL = 0.81f;
+    private static final float NUMBERS_RADIUS_MULTIPLIER_INNER = 0.60f;
+    private static final float NUMBERS_RADIUS_MULTIPLIER_OUTER = 0.83f;
+
+    // Half the size of the views checked, and their centers.
+    private static final int[] HALF_SIZES = {48, 150, 333, 540};
+    private static final int[][] CENTERS = {{48, 48}, {150, 170}, {333, 333}, {540, 900}};
+
+    // How close, in pixels or degrees, a touch must be to a boundary for rounding to differ.
+    private static final double BOUNDARY_TOLERANCE = 1e-3;
+
+    @Test
+    public void gridMatchesLegacy() {
+        for (int i = 0; i < HALF_SIZES.length; i++) {
+            for (boolean is24HourMode : new boolean[] {false, true}) {
+                for (boolean showHours : new boolean[] {true, false}) {
+                    final LegacyTouch legacy = new LegacyTouch(
+                            HALF_SIZES[i], CENTERS[i][0], CENTERS[i][1], is24HourMode, showHours);
+                    final RadialTouchEngine engine = legacy.newEngine();
+
+                    // Every half pixel around the disk, including both axes through the center.
+                    final int extent = (int) legacy.mCircleRadius[LegacyTouch.HOURS] + 2;
+                    for (float x = legacy.mXCenter - extent; x <= legacy.mXCenter + extent;
+                         x += 0.5f) {
+                        for (float y = legacy.mYCenter - extent; y <= legacy.mYCenter + extent;
+                             y += 0.5f) {
+                            assertSameTouch(legacy, engine, x, y);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ringBoundariesMatchLegacy() {
+        for (int i = 0; i < HALF_SIZES.length; i++) {
+            for (boolean is24HourMode : new boolean[] {false, true}) {
+                for (boolean showHours : new boolean[] {true, false}) {
+                    final LegacyTouch legacy = new LegacyTouch(
+                            HALF_SIZES[i], CENTERS[i][0], CENTERS[i][1], is24HourMode, showHours);
+                    final RadialTouchEngine engine = legacy.newEngine();
+
+                    for (float radius : legacy.getBoundaries()) {
+                        // Every tenth of a degree, on and just around each boundary.
+                        for (int tenths = 0; tenths < 3600; tenths++) {
+                            final double radians = Math.toRadians(tenths / 10.0);
+                            final float sine = (float) Math.sin(radians);
+                            final float cosine = (float) Math.cos(radians);
+                            for (float offset = -0.02f; offset <= 0.02f; offset += 0.01f) {
+                                final float r = radius + offset;
+                                assertSameTouch(legacy, engine, legacy.mXCenter + r * sine,
+                                                legacy.mYCenter - r * cosine);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void circleBoundsMatchLegacy() {
+        for (int i = 0; i < HALF_SIZES.length; i++) {
+            for (boolean is24HourMode : new boolean[] {false, true}) {
+                final LegacyTouch legacy = new LegacyTouch(
+                        HALF_SIZES[i], CENTERS[i][0], CENTERS[i][1], is24HourMode, true);
+                final int[] legacyBounds = new int[4];
+                final int[] bounds = new int[4];
+
+                for (int hour = 0; hour < 24; hour++) {
+                    final boolean innerCircle = is24HourMode && hour > 0 && hour <= 12;
+                    final int index = innerCircle ? LegacyTouch.HOURS_INNER : LegacyTouch.HOURS;
+                    final float centerRadius =
+                            legacy.mCircleRadius[index] * legacy.mNumbersRadiusMultiplier[index];
+                    final int degrees = legacy.getDegreesForHour(hour);
+                    legacy.getCircleBounds(centerRadius, legacy.mSelectionRadius[index], degrees,
+                                           legacyBounds);
+                    RadialTouchEngine.getCircleBounds(
+                            legacy.mXCenter, legacy.mYCenter, centerRadius,
+                            legacy.mSelectionRadius[index], degrees, bounds, 0);
+                    assertArrayEquals(legacy + ", hour " + hour, legacyBounds, bounds);
+                }
+
+                final int index = LegacyTouch.MINUTES;
+                final float centerRadius =
+                        legacy.mCircleRadius[index] * legacy.mNumbersRadiusMultiplier[index];
+                for (int minute = 0; minute < 60; minute++) {
+                    final int degrees = minute * 6;
+                    legacy.getCircleBounds(centerRadius, legacy.mSelectionRadius[index], degrees,
+                                           legacyBounds);
+                    RadialTouchEngine.getCircleBounds(
+                            legacy.mXCenter, legacy.mYCenter, centerRadius,
+                            legacy.mSelectionRadius[index], degrees, bounds, 0);
+                    assertArrayEquals(legacy + ", minute " + minute, legacyBounds, bounds);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void prefer30sSnapTableMatchesLegacy() {
+        assertArrayEquals(LegacyTouch.prepareSnapPrefer30sMap(),
+                          RadialTouchEngine.getSnapTable(1, 14, 4));
+    }
+
+    @Test
+    public void snapTablesAreMonotonic() {
+        for (int minuteStep : new int[] {1, 2, 3, 5, 10, 15, 30}) {
+            final int[] table = RadialTouchEngine.getSnapTable(minuteStep, 14, 4);
+            final int stepDegrees = minuteStep * 6;
+            assertEquals(361, table.length);
+            assertEquals(0, table[0]);
+            assertEquals(360, table[360]);
+            for (int degrees = 1; degrees <= 360; degrees++) {
+                final String message = minuteStep + " minutes, " + degrees + " degrees";
+                assertTrue(message, table[degrees] >= table[degrees - 1]);
+                assertTrue(message, table[degrees] - table[degrees - 1] <= stepDegrees);
+                assertEquals(message, 0, table[degrees] % stepDegrees);
+            }
+        }
+    }
+
+    @Test
+    public void snapTablesAreShared() {
+        assertTrue(RadialTouchEngine.getSnapTable(5, 14, 4)
+                           == RadialTouchEngine.getSnapTable(5, 14, 4));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void snapTablesRejectStepsNotDividing60() {
+        RadialTouchEngine.getSnapTable(7, 14, 4);
+    }
+
+    private static void assertSameTouch(LegacyTouch legacy, RadialTouchEngine engine,
+                                        float x, float y) {
+        final int degrees = legacy.getDegreesFromXY(x, y);
+        final int value = legacy.getValue(degrees);
+        final int engineDegrees = engine.getDegrees(x, y);
+        final boolean sameCircle = degrees == -1 || !legacy.mIs24HourMode || !legacy.mShowHours
+                || engine.isOnInnerCircle() == legacy.mIsOnInnerCircle;
+        if (engineDegrees == degrees && engine.getValue(x, y) == value && sameCircle) {
+            return;
+        }
+
+        // Exactly on a boundary, both round a slightly different float computation of the same
+        // value, so they may each fall on either side of it.
+        final double dx = x - legacy.mXCenter;
+        final double dy = y - legacy.mYCenter;
+        final double distance = Math.hypot(dx, dy);
+        boolean onDistanceBoundary = false;
+        for (float boundary : legacy.getBoundaries()) {
+            onDistanceBoundary |= Math.abs(distance - boundary) < BOUNDARY_TOLERANCE;
+        }
+        final double angle = Math.toDegrees(Math.atan2(Math.abs(dy), Math.abs(dx)));
+        final boolean onAngleBoundary =
+                Math.abs(angle - Math.floor(angle) - 0.5) < BOUNDARY_TOLERANCE;
+        if ((onDistanceBoundary && (degrees == -1 || engineDegrees == -1))
+                || (onAngleBoundary && degrees != -1 && engineDegrees != -1 && sameCircle
+                    && Math.abs(engineDegrees - degrees) == 1)) {
+            return;
+        }
+
+        fail(legacy + " at (" + x + ", " + y + "): expected " + degrees + " degrees, value "
+                     + value + ", inner " + legacy.mIsOnInnerCircle + " but was "
+                     + engineDegrees + " degrees, value " + engine.getValue(x, y)
+                     + ", inner " + engine.isOnInnerCircle());
+    }
+
+    /**
+     * Frozen copy of the touch mapping of {@link RadialTimePickerView} before it moved to
+     * {@link RadialTouchEngine}, with the layout math of the view for the default resources. Only
+     * used as a reference, don't change apart from the arcsine fix noted below.
+     */
+    private static class LegacyTouch {
+        static final int HOURS = 0;
+        static final int MINUTES = 1;
+        static final int HOURS_INNER = 2;
+
+        final float[] mCircleRadius = new float[3];
+        final float[] mNumbersRadiusMultiplier = new float[3];
+        final int[] mSelectionRadius = new int[3];
+        final int mXCenter;
+        final int mYCenter;
+        final boolean mIs24HourMode;
+        final boolean mShowHours;
+
+        int mMinHypotenuseForInnerNumber;
+        int mMaxHypotenuseForOuterNumber;
+        int mHalfwayHypotenusePoint;
+
+        boolean mIsOnInnerCircle;
+
+        LegacyTouch(int min, int xCenter, int yCenter, boolean is24HourMode, boolean showHours) {
+            mXCenter = xCenter;
+            mYCenter = yCenter;
+            mIs24HourMode = is24HourMode;
+            mShowHours = showHours;
+
+            // Both sides are initialized, as the view keeps the values of the side last shown.
+            final float hoursCircleRadiusMultiplier = is24HourMode
+                    ? CIRCLE_RADIUS_MULTIPLIER_24_HOUR_MODE : CIRCLE_RADIUS_MULTIPLIER;
+            mNumbersRadiusMultiplier[HOURS] = is24HourMode
+                    ? NUMBERS_RADIUS_MULTIPLIER_OUTER : NUMBERS_RADIUS_MULTIPLIER_NORMAL;
+            mNumbersRadiusMultiplier[HOURS_INNER] = NUMBERS_RADIUS_MULTIPLIER_INNER;
+            mNumbersRadiusMultiplier[MINUTES] = NUMBERS_RADIUS_MULTIPLIER_NORMAL;
+
+            mCircleRadius[HOURS] = min * hoursCircleRadiusMultiplier;
+            mCircleRadius[HOURS_INNER] = min * hoursCircleRadiusMultiplier;
+            mCircleRadius[MINUTES] = min * CIRCLE_RADIUS_MULTIPLIER;
+
+            mSelectionRadius[HOURS] = (int) (mCircleRadius[HOURS] * SELECTION_RADIUS_MULTIPLIER);
+            mSelectionRadius[HOURS_INNER] = mSelectionRadius[HOURS];
+            mSelectionRadius[MINUTES] =
+                    (int) (mCircleRadius[MINUTES] * SELECTION_RADIUS_MULTIPLIER);
+
+            mMinHypotenuseForInnerNumber = (int) (mCircleRadius[HOURS]
+                    * mNumbersRadiusMultiplier[HOURS_INNER]) - mSelectionRadius[HOURS];
+            mMaxHypotenuseForOuterNumber = (int) (mCircleRadius[HOURS]
+                    * mNumbersRadiusMultiplier[HOURS]) + mSelectionRadius[HOURS];
+            mHalfwayHypotenusePoint = (int) (mCircleRadius[HOURS]
+                    * ((mNumbersRadiusMultiplier[HOURS] + mNumbersRadiusMultiplier[HOURS_INNER])
+                    / 2));
+        }
+
+        /**
+         * Returns an engine set up like {@link RadialTimePickerView} does for this layout.
+         */
+        RadialTouchEngine newEngine() {
+            final RadialTouchEngine engine = new RadialTouchEngine();
+            engine.setMode(mShowHours, mIs24HourMode);
+            engine.setDisk(mXCenter, mYCenter, mCircleRadius[HOURS]);
+            final int index = mShowHours ? HOURS : MINUTES;
+            engine.setRing(mCircleRadius[index] * mNumbersRadiusMultiplier[index],
+                    (int) (mCircleRadius[index] * (1 - mNumbersRadiusMultiplier[index])));
+            engine.setDualRings(
+                    (int) (mCircleRadius[HOURS] * mNumbersRadiusMultiplier[HOURS_INNER])
+                            - mSelectionRadius[HOURS],
+                    (int) (mCircleRadius[HOURS] * ((mNumbersRadiusMultiplier[HOURS]
+                            + mNumbersRadiusMultiplier[HOURS_INNER]) / 2)),
+                    (int) (mCircleRadius[HOURS] * mNumbersRadiusMultiplier[HOURS])
+                            + mSelectionRadius[HOURS]);
+            return engine;
+        }
+
+        /**
+         * Returns the distances from the center at which touches start or stop being mapped.
+         */
+        float[] getBoundaries() {
+            final int index = mShowHours ? HOURS : MINUTES;
+            final float length = mCircleRadius[index] * mNumbersRadiusMultiplier[index];
+            final int maxAllowedDistance =
+                    (int) (mCircleRadius[index] * (1 - mNumbersRadiusMultiplier[index]));
+            return new float[] {
+                    mCircleRadius[HOURS],
+                    length - maxAllowedDistance - 1, length - maxAllowedDistance,
+                    length + maxAllowedDistance, length + maxAllowedDistance + 1,
+                    mMinHypotenuseForInnerNumber, mHalfwayHypotenusePoint,
+                    mMaxHypotenuseForOuterNumber};
+        }
+
+        int getDegreesFromXY(float x, float y) {
+            final double hypotenuse = Math.sqrt(
+                    (y - mYCenter) * (y - mYCenter) + (x - mXCenter) * (x - mXCenter));
+
+            // Basic check if we're outside the range of the disk
+            if (hypotenuse > mCircleRadius[HOURS]) {
+                return -1;
+            }
+            // Check
+            if (mIs24HourMode && mShowHours) {
+                if (hypotenuse >= mMinHypotenuseForInnerNumber
+                        && hypotenuse <= mHalfwayHypotenusePoint) {
+                    mIsOnInnerCircle = true;
+                } else if (hypotenuse <= mMaxHypotenuseForOuterNumber
+                        && hypotenuse >= mHalfwayHypotenusePoint) {
+                    mIsOnInnerCircle = false;
+                } else {
+                    return -1;
+                }
+            } else {
+                final int index =  (mShowHours) ? HOURS : MINUTES;
+                final float length = (mCircleRadius[index] * mNumbersRadiusMultiplier[index]);
+                final int distanceToNumber = (int) Math.abs(hypotenuse - length);
+                final int maxAllowedDistance =
+                        (int) (mCircleRadius[index] * (1 - mNumbersRadiusMultiplier[index]));
+                if (distanceToNumber > maxAllowedDistance) {
+                    return -1;
+                }
+            }
+
+            final float opposite = Math.abs(y - mYCenter);
+            // The original didn't clamp the ratio. On the vertical axis the float squares can
+            // round the hypotenuse below the opposite side, making asin() NaN and mapping a touch
+            // at 12 or 6 o'clock to 9 o'clock. RadialTouchEngine doesn't have that bug.
+            int degrees = (int) (Math.toDegrees(Math.asin(Math.min(opposite / hypotenuse, 1)))
+                    + 0.5);
+
+            // Now we have to translate to the correct quadrant.
+            final boolean rightSide = (x > mXCenter);
+            final boolean topSide = (y < mYCenter);
+            if (rightSide) {
+                if (topSide) {
+                    degrees = 90 - degrees;
+                } else {
+                    degrees = 90 + degrees;
+                }
+            } else {
+                if (topSide) {
+                    degrees = 270 + degrees;
+                } else {
+                    degrees = 270 - degrees;
+                }
+            }
+            return degrees;
+        }
+
+        /**
+         * Returns the hour position (0 to 11) or minute touched at {@code degrees}, or -1.
+         */
+        int getValue(int degrees) {
+            if (degrees == -1) {
+                return -1;
+            }
+            if (mShowHours) {
+                return (RadialTouchEngine.snapOnly30s(degrees, 0) % 360) / 30;
+            } else {
+                return (prepareSnapPrefer30sMap()[degrees] % 360) / 6;
+            }
+        }
+
+        int getDegreesForHour(int hour) {
+            // Convert to be 0-11.
+            if (mIs24HourMode) {
+                if (hour >= 12) {
+                    hour -= 12;
+                }
+            } else if (hour == 12) {
+                hour = 0;
+            }
+            return hour * 30;
+        }
+
+        /**
+         * Stores the bounds of the virtual view of a number as the accessibility helper of the view
+         * computed them per node.
+         */
+        void getCircleBounds(float centerRadius, float radius, float degrees, int[] bounds) {
+            final double radians = Math.toRadians(degrees);
+            final float xCenter = mXCenter + centerRadius * (float) Math.sin(radians);
+            final float yCenter = mYCenter - centerRadius * (float) Math.cos(radians);
+
+            bounds[0] = (int) (xCenter - radius);
+            bounds[1] = (int) (yCenter - radius);
+            bounds[2] = (int) (xCenter + radius);
+            bounds[3] = (int) (yCenter + radius);
+        }
+
+        static int[] prepareSnapPrefer30sMap() {
+            final int[] snapPrefer30sMap = new int[361];
+            // The first output is 0, and each following output will increment by 6 {0, 6, 12, ...}.
+            int snappedOutputDegrees = 0;
+            // Count of how many inputs we've designated to the specified output.
+            int count = 1;
+            // How many input we expect for a specified output. This will be 14 for output
+            // divisible by 30, and 4 for the remaining output. We'll special case the outputs of 0
+            // and 360, so the caller can decide which they need.
+            int expectedCount = 8;
+            // Iterate through the input.
+            for (int degrees = 0; degrees < 361; degrees++) {
+                // Save the input-output mapping.
+                snapPrefer30sMap[degrees] = snappedOutputDegrees;
+                // If this is the last input for the specified output, calculate the next output and
+                // the next expected count.
+                if (count == expectedCount) {
+                    snappedOutputDegrees += 6;
+                    if (snappedOutputDegrees == 360) {
+                        expectedCount = 7;
+                    } else if (snappedOutputDegrees % 30 == 0) {
+                        expectedCount = 14;
+                    } else {
+                        expectedCount = 4;
+                    }
+                    count = 1;
+                } else {
+                    count++;
+                }
+            }
+            return snapPrefer30sMap;
+        }
+
+        @Override
+        public String toString() {
+            return "center (" + mXCenter + ", " + mYCenter + "), radius " + mCircleRadius[HOURS]
+                    + (mIs24HourMode ? ", 24h" : ", am/pm") + (mShowHours ? " hours" : " minutes");
+        }
+    }
+}
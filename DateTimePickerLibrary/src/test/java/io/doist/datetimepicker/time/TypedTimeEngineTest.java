@@ -0,0 +1,236 @@
+package io.doist.datetimepicker.time;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Checks that {@link TypedTimeEngine} behaves exactly like the tree of legal times it replaced,
+ * kept in {@link LegacyTypedTimes}, for every sequence of key presses.
+ */
+public class TypedTimeEngineTest {
+    private static final int SYMBOL_COUNT = 12;
+    // Deleting the last symbol, as done by the delete key.
+    private static final int DELETE = SYMBOL_COUNT;
+
+    // Every sequence of up to this many accepted key presses is checked, including deletions.
+    // Legal sequences are at most 5 symbols long, so this covers typing a full time and going back
+    // and forth on it. About 3 million sequences across both modes.
+    private static final int MAX_KEY_PRESSES = 7;
+
+    @Test
+    public void allKeySequencesMatchLegacyIn24HourMode() {
+        assertAllKeySequencesMatch(true);
+    }
+
+    @Test
+    public void allKeySequencesMatchLegacyInAmPmMode() {
+        assertAllKeySequencesMatch(false);
+    }
+
+    @Test
+    public void restoredSymbolsMatchLegacyInBothModes() {
+        final Set<List<Integer>> sequences = new HashSet<>();
+        collectSequences(true, new ArrayList<Integer>(), sequences);
+        collectSequences(false, new ArrayList<Integer>(), sequences);
+        assertTrue(sequences.size() > 1);
+
+        for (List<Integer> sequence : sequences) {
+            final int[] symbols = toArray(sequence);
+            for (boolean is24HourMode : new boolean[] {true, false}) {
+                final TypedTimeEngine engine = new TypedTimeEngine();
+                engine.setIs24HourMode(is24HourMode);
+                engine.setSymbols(symbols);
+                final LegacyTypedTimes legacy = new LegacyTypedTimes(is24HourMode);
+                legacy.setTypedTimes(symbols);
+                assertSameState(engine, legacy, sequence + (is24HourMode ? " 24h" : " am/pm"));
+
+                for (int symbol = 0; symbol < SYMBOL_COUNT; symbol++) {
+                    final TypedTimeEngine added = new TypedTimeEngine();
+                    added.setIs24HourMode(is24HourMode);
+                    added.setSymbols(symbols);
+                    final LegacyTypedTimes legacyAdded = new LegacyTypedTimes(is24HourMode);
+                    legacyAdded.setTypedTimes(symbols);
+                    final String message = sequence + " + " + symbol;
+                    assertEquals(message, legacyAdded.addKeyIfLegal(symbol), added.add(symbol));
+                    assertSameState(added, legacyAdded, message);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void switchingModesMatchesLegacy() {
+        final Set<List<Integer>> sequences = new HashSet<>();
+        collectSequences(true, new ArrayList<Integer>(), sequences);
+        collectSequences(false, new ArrayList<Integer>(), sequences);
+
+        for (List<Integer> sequence : sequences) {
+            final int[] symbols = toArray(sequence);
+            for (boolean is24HourMode : new boolean[] {true, false}) {
+                final TypedTimeEngine engine = new TypedTimeEngine();
+                engine.setIs24HourMode(!is24HourMode);
+                engine.setSymbols(symbols);
+                engine.setIs24HourMode(is24HourMode);
+                final LegacyTypedTimes legacy = new LegacyTypedTimes(is24HourMode);
+                legacy.setTypedTimes(symbols);
+                assertSameState(engine, legacy,
+                                sequence + (is24HourMode ? " to 24h" : " to am/pm"));
+            }
+        }
+    }
+
+    @Test
+    public void amOrPmFillsInZeros() {
+        final TypedTimeEngine engine = new TypedTimeEngine();
+        engine.setIs24HourMode(false);
+        assertTrue(engine.add(1));
+        assertTrue(engine.add(TypedTimeEngine.SYMBOL_PM));
+        assertArrayEquals(new int[] {1, 0, 0, TypedTimeEngine.SYMBOL_PM}, engine.getSymbols());
+
+        final int[] values = new int[3];
+        final boolean[] enteredZeros = new boolean[2];
+        engine.getEnteredTime(values, enteredZeros);
+        assertArrayEquals(new int[] {1, 0, TimePickerClockDelegate.PM}, values);
+        assertEquals(false, enteredZeros[0]);
+        assertEquals(true, enteredZeros[1]);
+    }
+
+    private static void assertAllKeySequencesMatch(boolean is24HourMode) {
+        final int checked = explore(is24HourMode, new ArrayList<Integer>());
+        assertTrue(checked > 0);
+    }
+
+    /**
+     * Replays {@code keys} on a new engine and a new legacy model, checking that they agree after
+     * every key, then does the same for every key that may follow. Returns the number of key
+     * sequences checked.
+     */
+    private static int explore(boolean is24HourMode, List<Integer> keys) {
+        int checked = 0;
+        for (int key = 0; key <= DELETE; key++) {
+            final TypedTimeEngine engine = new TypedTimeEngine();
+            engine.setIs24HourMode(is24HourMode);
+            final LegacyTypedTimes legacy = new LegacyTypedTimes(is24HourMode);
+            for (int previousKey : keys) {
+                press(engine, legacy, previousKey, keys);
+            }
+            if (key == DELETE && legacy.size() == 0) {
+                // The delete key is ignored when nothing was typed.
+                continue;
+            }
+
+            final boolean changed = press(engine, legacy, key, keys);
+            checked++;
+            if (changed && keys.size() + 1 < MAX_KEY_PRESSES) {
+                keys.add(key);
+                checked += explore(is24HourMode, keys);
+                keys.remove(keys.size() - 1);
+            }
+        }
+        return checked;
+    }
+
+    /**
+     * Presses {@code key} on both {@code engine} and {@code legacy}, and checks they agree on the
+     * outcome and the resulting state. Returns whether the key was accepted.
+     */
+    private static boolean press(TypedTimeEngine engine, LegacyTypedTimes legacy, int key,
+                                 List<Integer> previousKeys) {
+        final boolean changed;
+        if (key == DELETE) {
+            final int deleted = legacy.deleteLastTypedKey();
+            if (engine.removeLast() != deleted) {
+                fail(previousKeys + " + delete: removeLast() differs");
+            }
+            changed = true;
+        } else {
+            changed = legacy.addKeyIfLegal(key);
+            if (engine.add(key) != changed) {
+                fail(previousKeys + " + " + key + ": add() differs");
+            }
+        }
+        // Only builds the message when failing, since this runs millions of times.
+        if (!hasSameState(engine, legacy)) {
+            assertSameState(engine, legacy,
+                            previousKeys + " + " + (key == DELETE ? "delete" : key));
+        }
+        return changed;
+    }
+
+    private static boolean hasSameState(TypedTimeEngine engine, LegacyTypedTimes legacy) {
+        final boolean[] legacyZeros = new boolean[2];
+        final int[] legacyValues = legacy.getEnteredTime(legacyZeros);
+        final boolean[] zeros = new boolean[2];
+        final int[] values = new int[3];
+        engine.getEnteredTime(values, zeros);
+        return Arrays.equals(legacy.getTypedTimes(), engine.getSymbols())
+                && (legacy.size() == 0) == engine.isEmpty()
+                && legacy.isTypedTimeLegalSoFar() == engine.isLegalSoFar()
+                && legacy.isTypedTimeFullyLegal() == engine.isFullyLegal()
+                && Arrays.equals(legacyValues, values)
+                && Arrays.equals(legacyZeros, zeros);
+    }
+
+    private static void assertSameState(TypedTimeEngine engine, LegacyTypedTimes legacy,
+                                        String message) {
+        assertArrayEquals(message, legacy.getTypedTimes(), engine.getSymbols());
+        assertEquals(message, legacy.size() == 0, engine.isEmpty());
+        assertEquals(message, legacy.isTypedTimeLegalSoFar(), engine.isLegalSoFar());
+        assertEquals(message, legacy.isTypedTimeFullyLegal(), engine.isFullyLegal());
+
+        final boolean[] legacyZeros = new boolean[2];
+        final int[] legacyValues = legacy.getEnteredTime(legacyZeros);
+        final boolean[] zeros = new boolean[2];
+        final int[] values = new int[3];
+        engine.getEnteredTime(values, zeros);
+        assertArrayEquals(message, legacyValues, values);
+        assertEquals(message, Arrays.toString(legacyZeros), Arrays.toString(zeros));
+    }
+
+    /**
+     * Collects all the symbol sequences that can be typed in {@code is24HourMode}.
+     */
+    private static void collectSequences(boolean is24HourMode, List<Integer> keys,
+                                         Set<List<Integer>> sequences) {
+        final LegacyTypedTimes legacy = new LegacyTypedTimes(is24HourMode);
+        for (int key : keys) {
+            legacy.addKeyIfLegal(key);
+        }
+        final int[] symbols = legacy.getTypedTimes();
+        final List<Integer> sequence = new ArrayList<>();
+        for (int symbol : symbols) {
+            sequence.add(symbol);
+        }
+        if (!sequences.add(sequence)) {
+            return;
+        }
+
+        for (int key = 0; key < SYMBOL_COUNT; key++) {
+            final LegacyTypedTimes next = new LegacyTypedTimes(is24HourMode);
+            next.setTypedTimes(symbols);
+            if (next.addKeyIfLegal(key)) {
+                keys.add(key);
+                collectSequences(is24HourMode, keys, sequences);
+                keys.remove(keys.size() - 1);
+            }
+        }
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        final int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+}
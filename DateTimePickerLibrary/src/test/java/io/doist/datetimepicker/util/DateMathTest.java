@@ -0,0 +1,100 @@
+package io.doist.datetimepicker.util;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks {@link DateMath} against {@link GregorianCalendar} for every month from 1900 through
+ * 2100, the default range of the date picker.
+ */
+public class DateMathTest {
+    private static final int MIN_YEAR = 1900;
+    private static final int MAX_YEAR = 2100;
+
+    @Test
+    public void isLeapYearMatchesGregorianCalendar() {
+        final GregorianCalendar calendar = new GregorianCalendar();
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            assertEquals(String.valueOf(year), calendar.isLeapYear(year),
+                         DateMath.isLeapYear(year));
+        }
+    }
+
+    @Test
+    public void getDaysInMonthMatchesGregorianCalendar() {
+        final Calendar calendar = new GregorianCalendar();
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                calendar.clear();
+                calendar.set(year, month, 1);
+                assertEquals(year + "-" + month, calendar.getActualMaximum(Calendar.DAY_OF_MONTH),
+                             DateMath.getDaysInMonth(month, year));
+            }
+        }
+    }
+
+    @Test
+    public void getDayOfWeekOfFirstMatchesGregorianCalendar() {
+        final Calendar calendar = new GregorianCalendar();
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                calendar.clear();
+                calendar.set(year, month, 1);
+                assertEquals(year + "-" + month, calendar.get(Calendar.DAY_OF_WEEK),
+                             DateMath.getDayOfWeekOfFirst(month, year));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void getDaysInMonthRejectsInvalidMonth() {
+        DateMath.getDaysInMonth(Calendar.DECEMBER + 1, 2000);
+    }
+
+    @Test
+    public void packedDatesMatchGregorianCalendar() {
+        final Calendar calendar = new GregorianCalendar();
+        int previousPackedDate = Integer.MIN_VALUE;
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                calendar.clear();
+                calendar.set(year, month, 1);
+                final int daysInMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
+                for (int day = 1; day <= daysInMonth; day++) {
+                    calendar.set(Calendar.DAY_OF_MONTH, day);
+                    final String message = year + "-" + month + "-" + day;
+
+                    final int packedDate = DateMath.packDate(calendar);
+                    assertEquals(message, DateMath.packDate(year, month, day), packedDate);
+                    assertTrue(message, packedDate > previousPackedDate);
+                    previousPackedDate = packedDate;
+
+                    final int epochMonth = DateMath.getEpochMonthOfPackedDate(packedDate);
+                    assertEquals(message, DateMath.toEpochMonth(year, month), epochMonth);
+                    assertEquals(message, year, DateMath.getYearOfEpochMonth(epochMonth));
+                    assertEquals(message, month, DateMath.getMonthOfEpochMonth(epochMonth));
+                    assertEquals(message, day, DateMath.getDayOfPackedDate(packedDate));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void getMonthsBetweenMatchesEpochMonths() {
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            for (int month = Calendar.JANUARY; month <= Calendar.DECEMBER; month++) {
+                assertEquals(DateMath.toEpochMonth(year, month)
+                                     - DateMath.toEpochMonth(MIN_YEAR, Calendar.JANUARY),
+                             DateMath.getMonthsBetween(MIN_YEAR, Calendar.JANUARY, year, month));
+                assertEquals(DateMath.toEpochMonth(MIN_YEAR, Calendar.JANUARY)
+                                     - DateMath.toEpochMonth(year, month),
+                             DateMath.getMonthsBetween(year, month, MIN_YEAR, Calendar.JANUARY));
+            }
+        }
+    }
+}
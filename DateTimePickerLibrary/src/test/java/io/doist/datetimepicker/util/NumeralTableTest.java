@@ -0,0 +1,53 @@
+package io.doist.datetimepicker.util;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Checks {@link NumeralTable} against {@link String#format(Locale, String, Object...)}, which the
+ * clock texts were formatted with before.
+ */
+public class NumeralTableTest {
+    private static final Locale[] LOCALES = {
+            Locale.US, Locale.GERMANY, Locale.JAPAN, new Locale("ar", "EG"), new Locale("fa", "IR"),
+            new Locale("hi", "IN"), Locale.forLanguageTag("th-TH-u-nu-thai")};
+
+    @Test
+    public void textsMatchStringFormat() {
+        for (Locale locale : LOCALES) {
+            final NumeralTable table = NumeralTable.get(locale);
+            for (int number = -1; number <= NumeralTable.SIZE; number++) {
+                final String message = locale + ", " + number;
+                assertEquals(message, String.format(locale, "%d", number),
+                             table.getUnpadded(number));
+                assertEquals(message, String.format(locale, "%02d", number),
+                             table.getPadded(number));
+            }
+        }
+    }
+
+    @Test
+    public void allHoursAreInTheTable() {
+        // 'k' formats midnight as 24.
+        for (Locale locale : LOCALES) {
+            final NumeralTable table = NumeralTable.get(locale);
+            for (int hour = 0; hour <= 24; hour++) {
+                final String message = locale + ", " + hour;
+                assertEquals(message, String.format(locale, "%d", hour), table.getUnpadded(hour));
+                assertEquals(message, String.format(locale, "%02d", hour), table.getPadded(hour));
+            }
+        }
+    }
+
+    @Test
+    public void tablesAreShared() {
+        for (Locale locale : LOCALES) {
+            assertSame(locale.toString(), NumeralTable.get(locale), NumeralTable.get(locale));
+        }
+        assertSame(NumeralTable.get(Locale.US), NumeralTable.get(new Locale("en", "US")));
+    }
+}